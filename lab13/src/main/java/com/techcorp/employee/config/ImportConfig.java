@@ -0,0 +1,39 @@
+package com.techcorp.employee.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Pula do parsowania i walidacji wierszy importu (praca CPU-bound).
+     * 0 oznacza liczbę dostępnych rdzeni.
+     */
+    @Bean(name = "importParseExecutor", destroyMethod = "shutdown")
+    public ExecutorService importParseExecutor(@Value("${app.import.parse-threads:0}") int parseThreads) {
+        int poolSize = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(poolSize,
+                Thread.ofPlatform().name("import-parse-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Pula asynchronicznych zadań importu. Kolejka jest ograniczona - po jej zapełnieniu
+     * kolejne zgłoszenia są odrzucane (RejectedExecutionException) zamiast się kumulować.
+     */
+    @Bean(name = "importJobExecutor", destroyMethod = "shutdown")
+    public ExecutorService importJobExecutor(@Value("${app.import.jobs.threads:2}") int threads,
+                                             @Value("${app.import.jobs.queue-capacity:10}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("import-job-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
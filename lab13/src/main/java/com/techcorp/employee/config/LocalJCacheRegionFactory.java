@@ -0,0 +1,33 @@
+package com.techcorp.employee.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Cache drugiego poziomu na lokalnym JCache (Caffeine) z własnym CacheManagerem dla każdej SessionFactory.
+ * Domyślny JCacheRegionFactory bierze menedżera z rejestru dostawcy, wspólnego dla wszystkich fabryk
+ * w JVM, i zamyka go przy zamknięciu fabryki - dwa konteksty (np. w testach) dzieliłyby wtedy encje
+ * z różnych baz, a zamknięcie jednego zamykałoby cache drugiego.
+ */
+public class LocalJCacheRegionFactory extends JCacheRegionFactory {
+
+    public static final String CONFIG_URI = "hibernate.javax.cache.uri";
+
+    private static final String DEFAULT_CONFIG = "classpath:caffeine.conf";
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        CachingProvider provider = getCachingProvider(properties);
+        // "classpath:" zostaje w URI - Caffeine czyta wtedy plik HOCON z zasobów, także z wnętrza jara
+        Object configUri = properties.getOrDefault(CONFIG_URI, DEFAULT_CONFIG);
+        return new CacheManagerImpl(provider, false, URI.create(configUri.toString()),
+                getClassLoader(provider), new Properties());
+    }
+}
@@ -133,18 +133,30 @@ public class EmployeeController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<EmployeeListView>> getEmployeesByStatus(
+    public ResponseEntity<?> getEmployeesByStatus(
             @PathVariable EmploymentStatus status,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(value = "keyset", defaultValue = "false") boolean keyset,
+            @RequestParam(value = "pageToken", required = false) String pageToken) {
+        if (keyset || pageToken != null) {
+            return ResponseEntity.ok(employeeService.getEmployeesByStatusKeyset(
+                    status, pageable.getSort(), pageable.getPageSize(), pageToken));
+        }
         Page<EmployeeListView> employees = employeeService.getEmployeesByStatusProjection(status, pageable);
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/company/{company}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<EmployeeListView>> getEmployeesByCompany(
+    public ResponseEntity<?> getEmployeesByCompany(
             @PathVariable @NotBlank(message = "Company name cannot be blank") String company,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(value = "keyset", defaultValue = "false") boolean keyset,
+            @RequestParam(value = "pageToken", required = false) String pageToken) {
+        if (keyset || pageToken != null) {
+            return ResponseEntity.ok(employeeService.getEmployeesByCompanyKeyset(
+                    company, pageable.getSort(), pageable.getPageSize(), pageToken));
+        }
         Page<EmployeeListView> employees = employeeService.getEmployeesByCompanyProjection(company, pageable);
         return ResponseEntity.ok(employees);
     }
@@ -2,6 +2,7 @@ package com.techcorp.employee.controller;
 
 import com.techcorp.employee.dto.EmployeeDTO;
 import com.techcorp.employee.dto.EmployeeListView;
+import com.techcorp.employee.dto.KeysetSlice;
 import com.techcorp.employee.exception.EmployeeNotFoundException;
 import com.techcorp.employee.model.*;
 import com.techcorp.employee.service.DepartmentService;
@@ -54,8 +55,19 @@ public class EmployeeViewController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "2") int size,
             @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String pageToken,
             Model model) {
 
+        if (keyset || pageToken != null) {
+            KeysetSlice<EmployeeListView> slice = employeeService.searchEmployeesKeyset(
+                    name, company, position, status, minSalary, maxSalary, departmentName,
+                    Sort.by(sort), size, pageToken);
+            populateKeysetModel(model, slice, size, sort, name, company, position,
+                    status, minSalary, maxSalary, departmentName);
+            return "employees/list";
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
 
         Page<EmployeeListView> employeesPage = employeeService.searchEmployeesAdvanced(
@@ -118,16 +130,27 @@ public class EmployeeViewController {
         return url.toString();
     }
 
-    private void populateModel(Model model, Page<EmployeeListView> employeesPage,
-                               int currentPage, int pageSize, String sortField,
-                               String searchName, String searchCompany, Position searchPosition,
-                               EmploymentStatus searchStatus, Double searchMinSalary,
-                               Double searchMaxSalary, String searchDepartmentName) {
+    private void populateKeysetModel(Model model, KeysetSlice<EmployeeListView> slice,
+                                     int pageSize, String sortField,
+                                     String searchName, String searchCompany, Position searchPosition,
+                                     EmploymentStatus searchStatus, Double searchMinSalary,
+                                     Double searchMaxSalary, String searchDepartmentName) {
+
+        model.addAttribute("employees", slice.content());
+        model.addAttribute("keyset", true);
+        model.addAttribute("hasNext", slice.hasNext());
+        model.addAttribute("hasPrevious", slice.hasPrevious());
+        model.addAttribute("nextToken", slice.nextToken());
+        model.addAttribute("prevToken", slice.prevToken());
+        populateSearchModel(model, pageSize, sortField, searchName, searchCompany, searchPosition,
+                searchStatus, searchMinSalary, searchMaxSalary, searchDepartmentName);
+    }
+
+    private void populateSearchModel(Model model, int pageSize, String sortField,
+                                     String searchName, String searchCompany, Position searchPosition,
+                                     EmploymentStatus searchStatus, Double searchMinSalary,
+                                     Double searchMaxSalary, String searchDepartmentName) {
 
-        model.addAttribute("employees", employeesPage.getContent());
-        model.addAttribute("currentPage", currentPage);
-        model.addAttribute("totalPages", employeesPage.getTotalPages());
-        model.addAttribute("totalItems", employeesPage.getTotalElements());
         model.addAttribute("pageSize", pageSize);
         model.addAttribute("sortField", sortField);
         model.addAttribute("pageTitle", "Lista Pracowników");
@@ -148,6 +171,20 @@ public class EmployeeViewController {
         model.addAttribute("departments", departmentService.getAllDepartmentNames());
     }
 
+    private void populateModel(Model model, Page<EmployeeListView> employeesPage,
+                               int currentPage, int pageSize, String sortField,
+                               String searchName, String searchCompany, Position searchPosition,
+                               EmploymentStatus searchStatus, Double searchMinSalary,
+                               Double searchMaxSalary, String searchDepartmentName) {
+
+        model.addAttribute("employees", employeesPage.getContent());
+        model.addAttribute("currentPage", currentPage);
+        model.addAttribute("totalPages", employeesPage.getTotalPages());
+        model.addAttribute("totalItems", employeesPage.getTotalElements());
+        populateSearchModel(model, pageSize, sortField, searchName, searchCompany, searchPosition,
+                searchStatus, searchMinSalary, searchMaxSalary, searchDepartmentName);
+    }
+
     @GetMapping("/add")
     @PreAuthorize("hasRole('ADMIN')")
     public String showAddForm(Model model) {
@@ -261,7 +298,7 @@ public class EmployeeViewController {
         }
 
         int importedCount = summary.getImportedCount();
-        int errorCount = summary.getErrors().size();
+        int errorCount = summary.getErrorCount();
 
         System.out.println("BLEDY IMPOTUW" + summary.getErrors());
 
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -42,24 +43,98 @@ public class FileUploadController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private ImportJobService importJobService;
+
     @PostMapping("/import/csv")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ImportSummary> importCsv(
-            @RequestParam("file") @NotNull(message = "File cannot be null") MultipartFile file) {
+    public ResponseEntity<?> importCsv(
+            @RequestParam("file") @NotNull(message = "File cannot be null") MultipartFile file,
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
+            @RequestParam(value = "delta", defaultValue = "false") boolean delta,
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
 
-        ImportSummary summary = importService.importCsvFile(file);
+        ImportOptions options = new ImportOptions(delta, dryRun);
+        if (async) {
+            return createJobResponse(importJobService.submitCsvImport(file, options));
+        }
+        ImportSummary summary = importService.importCsvFile(file, options);
         return createImportResponse(summary);
     }
 
     @PostMapping("/import/xml")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ImportSummary> importXml(
-            @RequestParam("file") @NotNull(message = "File cannot be null") MultipartFile file) {
+    public ResponseEntity<?> importXml(
+            @RequestParam("file") @NotNull(message = "File cannot be null") MultipartFile file,
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
+            @RequestParam(value = "delta", defaultValue = "false") boolean delta,
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
+
+        ImportOptions options = new ImportOptions(delta, dryRun);
+        if (async) {
+            return createJobResponse(importJobService.submitXmlImport(file, options));
+        }
+        ImportSummary summary = importService.importXmlFile(file, options);
+        return createImportResponse(summary);
+    }
 
-        ImportSummary summary = importService.importXmlFile(file);
+    @PostMapping("/import/csv/bulk-load")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportSummary> bulkLoadSeedCsv() {
+        ImportSummary summary = importService.bulkLoadSeedFile();
         return createImportResponse(summary);
     }
 
+    @GetMapping("/import/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJob> getImportJob(
+            @PathVariable @NotBlank(message = "Job ID cannot be blank") String jobId) {
+
+        return importJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/import/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJob> cancelImportJob(
+            @PathVariable @NotBlank(message = "Job ID cannot be blank") String jobId) {
+
+        return importJobService.cancelJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/import/errors/{fileName}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> downloadImportErrors(
+            @PathVariable @NotBlank(message = "File name cannot be blank") String fileName) {
+
+        Resource resource = importService.loadErrorFile(fileName);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(resource);
+    }
+
+    @GetMapping("/import/checkpoints/{storedFileName}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportCheckpoint> getImportCheckpoint(
+            @PathVariable @NotBlank(message = "File name cannot be blank") String storedFileName) {
+
+        return importJobService.getCheckpoint(storedFileName)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/import/checkpoints/{storedFileName}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJob> resumeImport(
+            @PathVariable @NotBlank(message = "File name cannot be blank") String storedFileName) {
+
+        return createJobResponse(importJobService.resumeImport(storedFileName));
+    }
+
     @GetMapping("/export/csv")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<org.springframework.core.io.Resource> exportCsv(
@@ -216,8 +291,15 @@ public class FileUploadController {
         }
     }
 
+    private ResponseEntity<ImportJob> createJobResponse(ImportJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/files/import/jobs/" + job.getId()))
+                .body(job);
+    }
+
     private ResponseEntity<ImportSummary> createImportResponse(ImportSummary summary) {
-        if (summary.hasErrors()) {
+        // odrzucone wiersze w próbie to prognoza, a nie nieudany import
+        if (summary.hasErrors() && !summary.isDryRun()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(summary);
         }
         return ResponseEntity.ok(summary);
@@ -0,0 +1,34 @@
+package com.techcorp.employee.controller;
+
+import com.techcorp.employee.dto.SalaryBatchResult;
+import com.techcorp.employee.dto.SalaryChangeRequest;
+import com.techcorp.employee.service.SalaryBatchService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/salaries")
+@Validated
+public class SalaryController {
+
+    @Autowired
+    private SalaryBatchService salaryBatchService;
+
+    // POST - paczka zmian pensji; wynik każdego wiersza w kolejności żądania
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SalaryBatchResult> updateSalaries(
+            @RequestBody @NotEmpty(message = "Batch cannot be empty") List<@Valid SalaryChangeRequest> changes) {
+        return ResponseEntity.ok(salaryBatchService.updateSalaries(changes));
+    }
+}
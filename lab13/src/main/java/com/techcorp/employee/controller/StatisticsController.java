@@ -6,6 +6,7 @@
 package com.techcorp.employee.controller;
 
 import com.techcorp.employee.dto.CompanyStatisticsDTO;
+import com.techcorp.employee.service.CacheStatisticsService;
 import com.techcorp.employee.service.StatisticsService;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,6 +27,9 @@ public class StatisticsController {
     @Autowired
     private StatisticsService statisticsService;
 
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
     // GET - średnie wynagrodzenie (ogólne lub dla firmy)
     @GetMapping("/salary/average")
     @PreAuthorize("isAuthenticated()")
@@ -59,4 +65,29 @@ public class StatisticsController {
         Map<String, Integer> response = statisticsService.getEmploymentStatusStatistics();
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    // GET - trafienia i chybienia cache drugiego poziomu (Department, Employee po emailu)
+    @GetMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+
+    // POST - przebudowa tabeli company_stats od zera
+    @PostMapping("/company-stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildCompanyStatistics() {
+        return ResponseEntity.ok(Map.of("companies", statisticsService.rebuildCompanyStatistics()));
+    }
+
+    // GET - zgodność company_stats z tabelą employees
+    @GetMapping("/company-stats/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> verifyCompanyStatistics() {
+        List<String> mismatched = statisticsService.verifyCompanyStatistics();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("consistent", mismatched.isEmpty());
+        response.put("mismatchedCompanies", mismatched);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,22 @@
+package com.techcorp.employee.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Wynik zbiorowej podwyżki dla firmy.
+ *
+ * @param rejectionReasons liczba odrzuconych pracowników według naruszonej reguły SalaryService
+ */
+public record CompanyRaiseSummary(
+        String company,
+        BigDecimal percentageIncrease,
+        int updatedCount,
+        int rejectedCount,
+        Map<String, Long> rejectionReasons,
+        long durationMillis
+) {
+    public int totalCount() {
+        return updatedCount + rejectedCount;
+    }
+}
@@ -20,6 +20,16 @@ public class CompanyStatisticsDTO {
         this.topEarnerName = topEarnerName != null ? topEarnerName : "";
     }
 
+    // Konstruktor dla JPQL: AVG zwraca Double, a MAX pensji BigDecimal
+    public CompanyStatisticsDTO(String companyName, Long employeeCount,
+                                Double averageSalary, BigDecimal maxSalary,
+                                String topEarnerName) {
+        this(companyName, employeeCount,
+                averageSalary != null ? BigDecimal.valueOf(averageSalary) : BigDecimal.ZERO,
+                maxSalary,
+                topEarnerName);
+    }
+
     // Konstruktor dla kompatybilności (Double)
     public CompanyStatisticsDTO(String companyName, Long employeeCount,
                                 Double averageSalary, Double maxSalary,
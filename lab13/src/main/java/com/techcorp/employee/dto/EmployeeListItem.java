@@ -0,0 +1,36 @@
+package com.techcorp.employee.dto;
+
+import com.techcorp.employee.model.Position;
+
+/**
+ * Wiersz listy pracowników budowany przez Criteria (cb.construct) - oprócz pól widoku niesie id,
+ * które razem z kluczem sortowania tworzy kursor stronicowania keyset.
+ */
+public record EmployeeListItem(
+        Long id,
+        String name,
+        String email,
+        String position,
+        String company,
+        String departmentName
+) implements EmployeeListView {
+
+    public EmployeeListItem(Long id, String name, String email, Position position, String company, String departmentName) {
+        this(id, name, email, position != null ? position.name() : null, company, departmentName);
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public String getEmail() { return email; }
+
+    @Override
+    public String getPosition() { return position; }
+
+    @Override
+    public String getCompany() { return company; }
+
+    @Override
+    public String getDepartmentName() { return departmentName; }
+}
@@ -0,0 +1,17 @@
+package com.techcorp.employee.dto;
+
+import java.util.List;
+
+/**
+ * Strona listy w trybie keyset - bez numeru strony i bez count(*).
+ * Kolejną/poprzednią stronę pobiera się przekazując nextToken/prevToken jako pageToken.
+ */
+public record KeysetSlice<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        boolean hasPrevious,
+        String nextToken,
+        String prevToken
+) {
+}
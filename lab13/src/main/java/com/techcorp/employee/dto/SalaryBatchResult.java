@@ -0,0 +1,35 @@
+package com.techcorp.employee.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Wynik paczki zmian pensji: wynik każdego wiersza w kolejności żądania oraz przepustowość.
+ */
+public record SalaryBatchResult(
+        List<RowResult> rows,
+        int updatedCount,
+        int rejectedCount,
+        int notFoundCount,
+        int failedCount,
+        long durationMillis,
+        double rowsPerSecond
+) {
+
+    /**
+     * @param row indeks zmiany w żądaniu (od 0)
+     * @param oldSalary pensja przed zmianą, null gdy pracownika nie znaleziono
+     */
+    public record RowResult(int row, String email, RowStatus status,
+                            BigDecimal oldSalary, BigDecimal newSalary, String message) {
+    }
+
+    public enum RowStatus {
+        UPDATED,
+        // naruszona reguła walidacji pensji
+        REJECTED,
+        NOT_FOUND,
+        // błąd bazy wycofał całą paczkę, w której był wiersz
+        FAILED
+    }
+}
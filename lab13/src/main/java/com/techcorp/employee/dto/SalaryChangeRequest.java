@@ -0,0 +1,15 @@
+package com.techcorp.employee.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * Jedna zmiana w paczce POST /api/salaries/batch.
+ */
+public record SalaryChangeRequest(
+        @NotBlank(message = "Email cannot be blank") String email,
+        @NotNull(message = "New salary is required") BigDecimal newSalary
+) {
+}
@@ -0,0 +1,25 @@
+package com.techcorp.employee.exception;
+
+import com.techcorp.employee.model.ImportErrorCode;
+
+/**
+ * Błąd danych w wierszu importu z informacją o polu i kodzie błędu.
+ */
+public class ImportRowException extends InvalidDataException {
+    private final String field;
+    private final ImportErrorCode code;
+
+    public ImportRowException(String field, ImportErrorCode code, String message) {
+        super(message);
+        this.field = field;
+        this.code = code;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public ImportErrorCode getCode() {
+        return code;
+    }
+}
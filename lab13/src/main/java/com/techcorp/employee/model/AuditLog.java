@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_log")
+@Table(name = "audit_log", indexes = {
+        // raporty od najnowszych (ORDER BY event_date DESC) i purgeOldLogs (DELETE ... WHERE event_date < ?);
+        // H2 nie czyta indeksu wstecz, więc kierunek musi zgadzać się z sortowaniem raportów
+        @Index(name = "idx_audit_log_event_date", columnList = "eventDate DESC")
+})
 public class AuditLog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
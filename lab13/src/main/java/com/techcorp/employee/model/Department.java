@@ -1,12 +1,21 @@
 package com.techcorp.employee.model;
 
+import com.techcorp.employee.repository.ReferenceDataListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "departments")
+@Table(name = "departments", indexes = {
+        // filtr departamentu bez rozróżniania wielkości liter (EmployeeSpecification.inDepartment)
+        @Index(name = "idx_departments_name_lower", columnList = "name_lower")
+})
+@EntityListeners(ReferenceDataListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees.department")
 public class Department {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,6 +26,11 @@ public class Department {
     @Column(nullable = false, unique = true, length = 50)
     private String name;
 
+    // LOWER(name) liczone przez bazę, żeby porównanie bez wielkości liter mogło użyć indeksu
+    @Column(name = "name_lower", length = 50, insertable = false, updatable = false,
+            columnDefinition = "varchar(50) generated always as (lower(name))")
+    private String nameLower;
+
     @NotBlank(message = "Lokalizacja jest wymagana")
     @Size(max = 100, message = "Lokalizacja nie może przekraczać 100 znaków")
     @Column(nullable = false, length = 100)
@@ -0,0 +1,44 @@
+package com.techcorp.employee.model;
+
+/**
+ * Wynik importu próbnego: prognoza zapisu bez dotykania tabeli employees
+ * i zmierzona przepustowość etapów. Szybkości parsowania i walidacji liczone są
+ * na wątek (suma czasu w wątkach parsujących), rowsPerSecond - dla całego przebiegu.
+ */
+public class DryRunReport {
+    private int rowsProcessed;
+    private int projectedInserts;
+    private int projectedUpdates;
+    private int projectedUnchanged;
+    private int projectedRejects;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private double parseRowsPerSecond;
+    private double validateRowsPerSecond;
+
+    public void projectInsert() { rowsProcessed++; projectedInserts++; }
+    public void projectUpdate() { rowsProcessed++; projectedUpdates++; }
+    public void projectUnchanged() { rowsProcessed++; projectedUnchanged++; }
+    public void projectReject() { rowsProcessed++; projectedRejects++; }
+
+    public void finish(long elapsedNanos, long parsedRows, long parseNanos, long validatedRows, long validateNanos) {
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = perSecond(rowsProcessed, elapsedNanos);
+        this.parseRowsPerSecond = perSecond(parsedRows, parseNanos);
+        this.validateRowsPerSecond = perSecond(validatedRows, validateNanos);
+    }
+
+    private static double perSecond(long rows, long nanos) {
+        return nanos > 0 ? rows * 1_000_000_000.0 / nanos : 0.0;
+    }
+
+    public int getRowsProcessed() { return rowsProcessed; }
+    public int getProjectedInserts() { return projectedInserts; }
+    public int getProjectedUpdates() { return projectedUpdates; }
+    public int getProjectedUnchanged() { return projectedUnchanged; }
+    public int getProjectedRejects() { return projectedRejects; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public double getParseRowsPerSecond() { return parseRowsPerSecond; }
+    public double getValidateRowsPerSecond() { return validateRowsPerSecond; }
+}
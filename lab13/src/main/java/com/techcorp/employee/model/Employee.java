@@ -1,14 +1,44 @@
 package com.techcorp.employee.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.techcorp.employee.repository.CompanyStatsListener;
+import com.techcorp.employee.repository.EmployeeNameIndexListener;
+import com.techcorp.employee.repository.ReferenceDataListener;
 import com.techcorp.employee.validation.TechCorpEmail;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Objects;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        // kursor stronicowania keyset: WHERE (name, id) > (?, ?) ORDER BY name, id
+        @Index(name = "idx_employees_name_id", columnList = "name, id"),
+        // findByCompany, statystyki firm (AVG/MAX/najlepiej opłacany) - salary czytane z indeksu
+        @Index(name = "idx_employees_company_salary", columnList = "company, salary DESC"),
+        // findByStatus i listy statusu sortowane po nazwisku, countEmployeesByStatus
+        @Index(name = "idx_employees_status_name", columnList = "status, name"),
+        @Index(name = "idx_employees_position", columnList = "position"),
+        @Index(name = "idx_employees_department", columnList = "department_id"),
+        // findTop10HighestPaidEmployees, MAX(salary), findHighestPaidEmployees
+        @Index(name = "idx_employees_salary", columnList = "salary DESC"),
+        // filtr firmy bez rozróżniania wielkości liter (EmployeeSpecification.fromCompany)
+        @Index(name = "idx_employees_company_lower", columnList = "company_lower")
+})
+@EntityListeners({EmployeeNameIndexListener.class, ReferenceDataListener.class, CompanyStatsListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees.employee")
+@NaturalIdCache(region = "employees.employee-by-email")
 public class Employee {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,6 +53,7 @@ public class Employee {
     @Email(message = "Nieprawidłowy format email")
     @Column(nullable = false, unique = true, length = 100)
     @TechCorpEmail
+    @NaturalId(mutable = true)
     private String email;
 
     @NotBlank(message = "Firma jest wymagana")
@@ -43,6 +74,11 @@ public class Employee {
     @Column(nullable = false, length = 20)
     private EmploymentStatus status;
 
+    // LOWER(company) liczone przez bazę - porównanie po tej kolumnie korzysta z indeksu, LOWER(company) = ? nie
+    @Column(name = "company_lower", length = 100, insertable = false, updatable = false,
+            columnDefinition = "varchar(100) generated always as (lower(company))")
+    private String companyLower;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
@@ -50,6 +86,24 @@ public class Employee {
     @Column(name = "photo_file_name")
     private String photoFileName;
 
+    // Skrót pól porównywanych przy imporcie różnicowym - odświeżany przy każdym zapisie przez JPA
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Wersja dla optymistycznej zmiany pensji; zapisy JDBC też ją zwiększają, a wiersze wstawione przez JDBC zaczynają od 0
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Firma z bazy (po odczycie lub ostatnim zapisie) - ReferenceDataListener sprawdza nią, czy zmiana dotyczy listy firm
+    private transient String persistedCompany;
+
+    // Pensja z bazy - CompanyStatsListener liczy z niej przyrost sumy pensji firmy
+    private transient BigDecimal persistedSalary;
+
     // Konstruktory
     public Employee() {}
 
@@ -145,6 +199,59 @@ public class Employee {
     public String getPhotoFileName() { return photoFileName; }
     public void setPhotoFileName(String photoFileName) { this.photoFileName = photoFileName; }
 
+    public String getContentHash() { return contentHash; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    /**
+     * SHA-256 z name, company, position, salary i status. Pensja jest normalizowana
+     * (5000 i 5000.00 dają ten sam skrót), email nie wchodzi - to klucz porównania.
+     */
+    public String calculateContentHash() {
+        String content = String.join("\u001F",
+                String.valueOf(name),
+                String.valueOf(company),
+                String.valueOf(position),
+                salary != null ? salary.stripTrailingZeros().toPlainString() : "null",
+                String.valueOf(status));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    void refreshContentHash() {
+        this.contentHash = calculateContentHash();
+    }
+
+    // Listenery z @EntityListeners są wołane przed tą metodą, więc w @PostUpdate widzą jeszcze starą firmę i pensję
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        this.persistedCompany = company;
+        this.persistedSalary = salary;
+    }
+
+    public boolean companyChangedSinceLoad() {
+        return !Objects.equals(persistedCompany, company);
+    }
+
+    @JsonIgnore
+    public String getPersistedCompany() {
+        return persistedCompany;
+    }
+
+    @JsonIgnore
+    public BigDecimal getPersistedSalary() {
+        return persistedSalary;
+    }
+
     // Metody pomocnicze do podziału name
     public String getFirstName() {
         if (name == null || name.trim().isEmpty()) return "";
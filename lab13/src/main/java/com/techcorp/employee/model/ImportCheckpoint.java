@@ -0,0 +1,69 @@
+package com.techcorp.employee.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punkt kontrolny importu zapisanego pliku: ostatnia zatwierdzona linia
+ * (dla XML numer elementu employee) i łączne liczniki ze wszystkich przebiegów.
+ */
+public class ImportCheckpoint {
+    private final String storedFileName;
+    private final String type;
+    private final String fileName;
+    private final int lastCommittedLine;
+    private final int rowsProcessed;
+    private final int importedCount;
+    private final int errorCount;
+    private final boolean delta;
+    private final LocalDateTime updatedAt;
+
+    public ImportCheckpoint(String storedFileName, String type, String fileName, int lastCommittedLine,
+                            int rowsProcessed, int importedCount, int errorCount, LocalDateTime updatedAt) {
+        this(storedFileName, type, fileName, lastCommittedLine, rowsProcessed, importedCount, errorCount, false, updatedAt);
+    }
+
+    /**
+     * @param delta czy import jest różnicowy - wznowienie musi użyć tego samego trybu
+     */
+    public ImportCheckpoint(String storedFileName, String type, String fileName, int lastCommittedLine,
+                            int rowsProcessed, int importedCount, int errorCount, boolean delta,
+                            LocalDateTime updatedAt) {
+        this.storedFileName = storedFileName;
+        this.type = type;
+        this.fileName = fileName;
+        this.lastCommittedLine = lastCommittedLine;
+        this.rowsProcessed = rowsProcessed;
+        this.importedCount = importedCount;
+        this.errorCount = errorCount;
+        this.delta = delta;
+        this.updatedAt = updatedAt;
+    }
+
+    public static ImportCheckpoint start(String storedFileName, String type, String fileName) {
+        return start(storedFileName, type, fileName, false);
+    }
+
+    public static ImportCheckpoint start(String storedFileName, String type, String fileName, boolean delta) {
+        return new ImportCheckpoint(storedFileName, type, fileName, 0, 0, 0, 0, delta, LocalDateTime.now());
+    }
+
+    /**
+     * Checkpoint po kolejnej zatwierdzonej paczce - liczniki przebiegu są dodawane
+     * do stanu, od którego przebieg wystartował (this).
+     */
+    public ImportCheckpoint next(int lastCommittedLine, int runRowsProcessed, int runImportedCount, int runErrorCount) {
+        return new ImportCheckpoint(storedFileName, type, fileName, lastCommittedLine,
+                rowsProcessed + runRowsProcessed, importedCount + runImportedCount,
+                errorCount + runErrorCount, delta, LocalDateTime.now());
+    }
+
+    public String getStoredFileName() { return storedFileName; }
+    public String getType() { return type; }
+    public String getFileName() { return fileName; }
+    public int getLastCommittedLine() { return lastCommittedLine; }
+    public int getRowsProcessed() { return rowsProcessed; }
+    public int getImportedCount() { return importedCount; }
+    public int getErrorCount() { return errorCount; }
+    public boolean isDelta() { return delta; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
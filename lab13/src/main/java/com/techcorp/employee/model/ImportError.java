@@ -0,0 +1,38 @@
+package com.techcorp.employee.model;
+
+/**
+ * Pojedynczy błąd importu. Dla błędów całego pliku lineNumber = 0, a location i field są puste.
+ */
+public class ImportError {
+    private final int lineNumber;
+    private final String location;
+    private final String field;
+    private final ImportErrorCode code;
+    private final String message;
+
+    /**
+     * @param location etykieta wiersza w komunikacie, np. "Line 3", "Employee element 2", "Line 3-4"
+     */
+    public ImportError(int lineNumber, String location, String field, ImportErrorCode code, String message) {
+        this.lineNumber = lineNumber;
+        this.location = location;
+        this.field = field;
+        this.code = code;
+        this.message = message;
+    }
+
+    public static ImportError fileError(String message) {
+        return new ImportError(0, null, null, ImportErrorCode.FILE_ERROR, message);
+    }
+
+    public int getLineNumber() { return lineNumber; }
+    public String getLocation() { return location; }
+    public String getField() { return field; }
+    public ImportErrorCode getCode() { return code; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return location == null ? message : location + ": " + message;
+    }
+}
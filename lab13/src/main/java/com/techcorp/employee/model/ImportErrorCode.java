@@ -0,0 +1,14 @@
+package com.techcorp.employee.model;
+
+public enum ImportErrorCode {
+    INVALID_FIELD_COUNT,
+    MISSING_FIELD,
+    INVALID_EMAIL,
+    INVALID_POSITION,
+    INVALID_SALARY,
+    VALIDATION_ERROR,
+    DUPLICATE_EMAIL,
+    CHUNK_ROLLED_BACK,
+    FILE_ERROR,
+    UNEXPECTED_ERROR
+}
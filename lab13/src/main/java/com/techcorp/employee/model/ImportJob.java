@@ -0,0 +1,152 @@
+package com.techcorp.employee.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Stan asynchronicznego zadania importu. Liczniki aktualizuje wątek importu,
+ * odczytuje je endpoint statusu - stąd pola volatile i synchronizowane przejścia statusu.
+ */
+public class ImportJob {
+    private final String id;
+    private final String type;
+    private final String fileName;
+    private final String storedFileName;
+    private final int resumedFromLine;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile int rowsProcessed;
+    private volatile int importedCount;
+    private volatile int errorCount;
+    private volatile ImportSummary summary;
+    private volatile String message;
+    private volatile boolean cancelRequested;
+
+    public ImportJob(String id, String type, String fileName, String storedFileName) {
+        this(id, type, fileName, storedFileName, 0);
+    }
+
+    /**
+     * @param resumedFromLine linia checkpointu, od której wznowiono import (0 - od początku pliku)
+     */
+    public ImportJob(String id, String type, String fileName, String storedFileName, int resumedFromLine) {
+        this.id = id;
+        this.type = type;
+        this.fileName = fileName;
+        this.storedFileName = storedFileName;
+        this.resumedFromLine = resumedFromLine;
+    }
+
+    // ===== PRZEJŚCIA STATUSU =====
+
+    /**
+     * @return false jeśli zadanie anulowano zanim trafiło do wątku
+     */
+    public synchronized boolean markRunning() {
+        if (status != ImportJobStatus.QUEUED) {
+            return false;
+        }
+        status = ImportJobStatus.RUNNING;
+        startedAt = LocalDateTime.now();
+        return true;
+    }
+
+    public void updateProgress(int rowsProcessed, int importedCount, int errorCount) {
+        this.rowsProcessed = rowsProcessed;
+        this.importedCount = importedCount;
+        this.errorCount = errorCount;
+    }
+
+    public synchronized void complete(ImportSummary summary) {
+        this.summary = summary;
+        this.importedCount = summary.getImportedCount();
+        this.errorCount = summary.getErrorCount();
+        if (cancelRequested) {
+            status = ImportJobStatus.CANCELLED;
+            message = "Cancelled after " + rowsProcessed + " rows";
+        } else if (summary.getImportedCount() == 0 && summary.hasErrors()) {
+            status = ImportJobStatus.FAILED;
+        } else {
+            status = ImportJobStatus.COMPLETED;
+        }
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized void fail(String message) {
+        fail(message, null);
+    }
+
+    /**
+     * Import przerwany błędem - podsumowanie (jeśli jest) obejmuje paczki zatwierdzone przed błędem.
+     */
+    public synchronized void fail(String message, ImportSummary summary) {
+        if (summary != null) {
+            this.summary = summary;
+            this.importedCount = summary.getImportedCount();
+            this.errorCount = summary.getErrorCount();
+        }
+        this.message = message;
+        status = ImportJobStatus.FAILED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Zadanie w kolejce jest anulowane od razu, uruchomione kończy się po bieżącej paczce.
+     *
+     * @return false jeśli zadanie już się zakończyło
+     */
+    public synchronized boolean cancel() {
+        if (status == ImportJobStatus.QUEUED) {
+            cancelRequested = true;
+            status = ImportJobStatus.CANCELLED;
+            message = "Cancelled before start";
+            finishedAt = LocalDateTime.now();
+            return true;
+        }
+        if (status == ImportJobStatus.RUNNING) {
+            cancelRequested = true;
+            return true;
+        }
+        return false;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    /**
+     * Średnia szybkość od startu zadania (do zakończenia albo do teraz).
+     */
+    public double getRowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Duration.between(startedAt, end).toMillis();
+        return millis > 0 ? rowsProcessed * 1000.0 / millis : 0;
+    }
+
+    // ===== GETTERY =====
+
+    public String getId() { return id; }
+    public String getType() { return type; }
+    public String getFileName() { return fileName; }
+    public String getStoredFileName() { return storedFileName; }
+    public int getResumedFromLine() { return resumedFromLine; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public ImportJobStatus getStatus() { return status; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public int getRowsProcessed() { return rowsProcessed; }
+    public int getImportedCount() { return importedCount; }
+    public int getErrorCount() { return errorCount; }
+    public ImportSummary getSummary() { return summary; }
+    public String getMessage() { return message; }
+    public boolean isCancelRequested() { return cancelRequested; }
+}
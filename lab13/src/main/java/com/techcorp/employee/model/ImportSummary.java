@@ -4,28 +4,103 @@
 //
 package com.techcorp.employee.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Wynik importu. W pamięci trzymana jest tylko próbka pierwszych błędów i liczniki per kod,
+ * więc koszt pamięci nie zależy od liczby błędnych wierszy. Błędy ponad próbkę trafiają
+ * do errorOverflowHandler (pełna lista w pliku CSV wskazanym przez errorFile).
+ */
 public class ImportSummary {
+    public static final int DEFAULT_MAX_SAMPLE_ERRORS = 100;
+
     private int importedCount;
-    private List<String> errors = new ArrayList<>();
+    private int updatedCount;
+    private int unchangedCount;
+    private int errorCount;
+    private final int maxSampleErrors;
+    private final List<ImportError> errorDetails = new ArrayList<>();
+    private final Map<ImportErrorCode, Integer> errorCounts = new EnumMap<>(ImportErrorCode.class);
+    private String errorFile;
+    private DryRunReport dryRunReport;
+    private Consumer<ImportError> errorOverflowHandler;
+
+    public ImportSummary() {
+        this(DEFAULT_MAX_SAMPLE_ERRORS);
+    }
 
-    public ImportSummary() {}
+    public ImportSummary(int maxSampleErrors) {
+        this.maxSampleErrors = Math.max(maxSampleErrors, 0);
+    }
 
     public void incrementImported() { importedCount++; }
-    public void addError(String error) { errors.add(error); }
+    public void addImported(int count) { importedCount += count; }
+
+    // Import różnicowy: importedCount obejmuje wszystkie przyjęte wiersze (nowe, zmienione i niezmienione)
+    public void incrementUpdated() { importedCount++; updatedCount++; }
+    public void incrementUnchanged() { importedCount++; unchangedCount++; }
+
+    public void addError(String error) { addError(ImportError.fileError(error)); }
+
+    public void addError(ImportError error) {
+        errorCount++;
+        errorCounts.merge(error.getCode(), 1, Integer::sum);
+        if (errorDetails.size() < maxSampleErrors) {
+            errorDetails.add(error);
+        } else if (errorOverflowHandler != null) {
+            errorOverflowHandler.accept(error);
+        }
+    }
 
     public int getImportedCount() { return importedCount; }
-    public List<String> getErrors() { return errors; }
+    public int getInsertedCount() { return importedCount - updatedCount - unchangedCount; }
+    public int getUpdatedCount() { return updatedCount; }
+    public int getUnchangedCount() { return unchangedCount; }
+    public int getErrorCount() { return errorCount; }
+
+    /**
+     * Komunikaty błędów z próbki w formacie "Line N: opis".
+     */
+    public List<String> getErrors() {
+        return errorDetails.stream().map(ImportError::toString).toList();
+    }
+
+    public List<ImportError> getErrorDetails() { return Collections.unmodifiableList(errorDetails); }
+    public Map<ImportErrorCode, Integer> getErrorCounts() { return Collections.unmodifiableMap(errorCounts); }
+    public boolean isErrorsTruncated() { return errorCount > errorDetails.size(); }
+
+    public String getErrorFile() { return errorFile; }
+    public void setErrorFile(String errorFile) { this.errorFile = errorFile; }
+
+    // Tylko dla importu próbnego - wtedy importedCount pozostaje 0, a prognoza jest w raporcie
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public DryRunReport getDryRunReport() { return dryRunReport; }
+    public void setDryRunReport(DryRunReport dryRunReport) { this.dryRunReport = dryRunReport; }
+    @JsonIgnore
+    public boolean isDryRun() { return dryRunReport != null; }
+
+    @JsonIgnore
+    public Consumer<ImportError> getErrorOverflowHandler() { return errorOverflowHandler; }
+    public void setErrorOverflowHandler(Consumer<ImportError> errorOverflowHandler) {
+        this.errorOverflowHandler = errorOverflowHandler;
+    }
 
     @Override
     public String toString() {
-        return "Imported: " + importedCount + ", Errors: " + errors;
+        return "Imported: " + importedCount + ", Errors: " + errorCount +
+                (isErrorsTruncated() ? " (first " + errorDetails.size() + "): " : ": ") + getErrors();
     }
 
     public boolean hasErrors() {
-        return !getErrors().isEmpty();
+        return errorCount > 0;
     }
 
 
@@ -0,0 +1,23 @@
+package com.techcorp.employee.repository;
+
+/**
+ * Instrukcje ładowania pliku CSV do tabeli employees po stronie bazy danych.
+ * Każda baza ma własną funkcję czytania plików (H2: CSVREAD), więc SQL dostarcza dialekt.
+ * Oczekiwany nagłówek pliku: firstName,lastName,email,company,position,salary.
+ */
+public interface BulkLoadDialect {
+
+    boolean supports(String databaseProductName);
+
+    /**
+     * SELECT wierszy niespełniających warunków ładowania.
+     * Kolumny: line_number, field, code (nazwa ImportErrorCode), message.
+     */
+    String rejectedRowsSql(String csvFile);
+
+    /**
+     * Jedna instrukcja scalająca poprawne wiersze pliku z employees po kluczu email
+     * (nowi pracownicy są wstawiani, istniejący aktualizowani).
+     */
+    String mergeSql(String csvFile);
+}
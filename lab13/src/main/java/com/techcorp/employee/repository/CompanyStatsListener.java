@@ -0,0 +1,67 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+/**
+ * Nanosi zapisy JPA pracowników na tabelę company_stats. Hibernate woła listener podczas flush,
+ * więc zmiana statystyk idzie tym samym połączeniem i w tej samej transakcji co zapis pracownika.
+ * Przeniesienie do innej firmy to usunięcie ze starej i dodanie do nowej. Firmy, którym zapis mógł
+ * unieważnić skrajne pensje, są przeliczane przed commitem.
+ * W testach wycinkowych (@DataJpaTest) repozytorium nie ma w kontekście i listener nic nie robi.
+ */
+public class CompanyStatsListener {
+
+    private CompanyStatsRepository companyStatsRepository;
+
+    @Autowired(required = false)
+    public void setCompanyStatsRepository(CompanyStatsRepository companyStatsRepository) {
+        this.companyStatsRepository = companyStatsRepository;
+    }
+
+    @PostPersist
+    void employeeAdded(Employee employee) {
+        if (companyStatsRepository != null) {
+            companyStatsRepository.employeeAdded(employee.getCompany(), employee.getId(), employee.getSalary());
+        }
+    }
+
+    // Wołany przed Employee.rememberPersistedState - getPersisted* to jeszcze wartości sprzed zapisu
+    @PostUpdate
+    void employeeUpdated(Employee employee) {
+        if (companyStatsRepository == null) {
+            return;
+        }
+        String oldCompany = persistedCompany(employee);
+        BigDecimal oldSalary = persistedSalary(employee);
+        if (employee.companyChangedSinceLoad()) {
+            companyStatsRepository.employeeRemoved(oldCompany, employee.getId(), oldSalary);
+            companyStatsRepository.employeeAdded(employee.getCompany(), employee.getId(), employee.getSalary());
+        } else {
+            companyStatsRepository.salaryChanged(oldCompany, employee.getId(), oldSalary, employee.getSalary());
+        }
+        companyStatsRepository.refreshStaleExtremesBeforeCommit(oldCompany);
+    }
+
+    @PostRemove
+    void employeeRemoved(Employee employee) {
+        if (companyStatsRepository != null) {
+            String company = persistedCompany(employee);
+            companyStatsRepository.employeeRemoved(company, employee.getId(), persistedSalary(employee));
+            companyStatsRepository.refreshStaleExtremesBeforeCommit(company);
+        }
+    }
+
+    private static String persistedCompany(Employee employee) {
+        return employee.getPersistedCompany() != null ? employee.getPersistedCompany() : employee.getCompany();
+    }
+
+    private static BigDecimal persistedSalary(Employee employee) {
+        return employee.getPersistedSalary() != null ? employee.getPersistedSalary() : employee.getSalary();
+    }
+}
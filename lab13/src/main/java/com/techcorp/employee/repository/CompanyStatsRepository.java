@@ -0,0 +1,402 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.dto.CompanyStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Tabela company_stats - statystyki firm aktualizowane w transakcji każdego zapisu pracownika,
+ * więc odczyt to jeden wiersz na firmę zamiast przejścia po całej tabeli employees.
+ * <p>
+ * Liczba pracowników i suma pensji zmieniają się o dokładne przyrosty. MIN/MAX i najlepiej opłacanego
+ * nie da się cofnąć przy usunięciu lub obniżce skrajnej pensji - wtedy wiersz dostaje extremes_stale,
+ * a odczyt w tej samej transakcji bierze te wartości z indeksu (company, salary DESC). Przed commitem
+ * przelicza je zapis JDBC ({@link #apply}) albo {@link #refreshStaleExtremesBeforeCommit}, więc po commicie
+ * oznaczenie nie zostaje. Zapisy JPA aktualizuje {@link CompanyStatsListener},
+ * zapisy JDBC przekazują {@link Delta} w swojej transakcji.
+ */
+@Repository
+public class CompanyStatsRepository implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompanyStatsRepository.class);
+
+    private static final String COLUMNS =
+            "company, employee_count, salary_sum, min_salary, max_salary, top_earner_id, extremes_stale";
+
+    // Najlepiej opłacany jak w EmployeeRepository.getCompanyStatisticsDTO - remis pensji rozstrzyga niższe id
+    private static final String AGGREGATE_SQL =
+            "SELECT company, COUNT(*), SUM(salary), MIN(salary), MAX(salary), " +
+                    "MIN(CASE WHEN salary_rank = 1 THEN id END), FALSE " +
+                    "FROM (SELECT company, id, salary, " +
+                    "ROW_NUMBER() OVER (PARTITION BY company ORDER BY salary DESC, id) AS salary_rank " +
+                    "FROM employees) ranked ";
+
+    private static final String TOP_EARNER_SEEK =
+            "(SELECT e.%s FROM employees e WHERE e.company = s.company ORDER BY e.salary DESC, e.id FETCH FIRST 1 ROW ONLY)";
+
+    private static final String REFRESH_EXTREMES_SQL =
+            "UPDATE company_stats s SET " +
+                    "min_salary = (SELECT MIN(e.salary) FROM employees e WHERE e.company = s.company), " +
+                    "max_salary = (SELECT MAX(e.salary) FROM employees e WHERE e.company = s.company), " +
+                    "top_earner_id = " + TOP_EARNER_SEEK.formatted("id") + ", " +
+                    "extremes_stale = FALSE ";
+
+    private static final String SELECT_STATISTICS_SQL =
+            "SELECT s.company, s.employee_count, s.salary_sum, " +
+                    "CASE WHEN s.extremes_stale " +
+                    "THEN (SELECT MAX(e.salary) FROM employees e WHERE e.company = s.company) " +
+                    "ELSE s.max_salary END, " +
+                    "COALESCE(CASE WHEN s.extremes_stale THEN " + TOP_EARNER_SEEK.formatted("name") +
+                    " ELSE t.name END, 'Brak') " +
+                    "FROM company_stats s LEFT JOIN employees t ON t.id = s.top_earner_id ";
+
+    // Nowa pensja lepsza od najwyższej (albo równa przy niższym id) przejmuje najlepiej opłacanego;
+    // prawe strony SET widzą wartości sprzed UPDATE, więc max_salary porównywane jest ze starym maksimum
+    private static final String TOP_EARNER_IF_BETTER =
+            "top_earner_id = CASE WHEN ? > max_salary OR (? = max_salary AND ? < top_earner_id) " +
+                    "THEN ? ELSE top_earner_id END";
+
+    private static final String ADD_SQL =
+            "UPDATE company_stats SET employee_count = employee_count + 1, salary_sum = salary_sum + ?, " +
+                    "min_salary = LEAST(min_salary, ?), " + TOP_EARNER_IF_BETTER + ", " +
+                    "max_salary = GREATEST(max_salary, ?) WHERE company = ?";
+
+    private static final String REMOVE_SQL =
+            "UPDATE company_stats SET employee_count = employee_count - 1, salary_sum = salary_sum - ?, " +
+                    "extremes_stale = CASE WHEN ? <= min_salary OR ? >= max_salary OR top_earner_id = ? " +
+                    "THEN TRUE ELSE extremes_stale END WHERE company = ?";
+
+    private static final String SALARY_CHANGE_SQL =
+            "UPDATE company_stats SET salary_sum = salary_sum + ?, " +
+                    "extremes_stale = CASE WHEN (? AND ? <= min_salary) OR (? AND (? >= max_salary OR top_earner_id = ?)) " +
+                    "THEN TRUE ELSE extremes_stale END, " +
+                    "min_salary = LEAST(min_salary, ?), " + TOP_EARNER_IF_BETTER + ", " +
+                    "max_salary = GREATEST(max_salary, ?) WHERE company = ?";
+
+    private static final String DELETE_EMPTY_SQL = "DELETE FROM company_stats WHERE company = ? AND employee_count <= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Pobierana leniwie - listener tego repozytorium powstaje w trakcie tworzenia samej fabryki
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final RowMapper<CompanyStatisticsDTO> statisticsRowMapper = (resultSet, rowNum) -> {
+        long employeeCount = resultSet.getLong(2);
+        BigDecimal salarySum = resultSet.getBigDecimal(3);
+        // średnia jako Double, tak jak w EmployeeRepository.getCompanyStatisticsDTO
+        return new CompanyStatisticsDTO(
+                resultSet.getString(1),
+                employeeCount,
+                BigDecimal.valueOf(salarySum.doubleValue() / employeeCount),
+                resultSet.getBigDecimal(4),
+                resultSet.getString(5));
+    };
+
+    public CompanyStatsRepository(JdbcTemplate jdbcTemplate, ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        rebuild();
+    }
+
+    // ===== ODCZYT =====
+
+    public List<CompanyStatisticsDTO> findAll() {
+        return jdbcTemplate.query(SELECT_STATISTICS_SQL + "ORDER BY s.company", statisticsRowMapper);
+    }
+
+    public Optional<CompanyStatisticsDTO> findByCompany(String company) {
+        return jdbcTemplate.query(SELECT_STATISTICS_SQL + "WHERE s.company = ?", statisticsRowMapper, company)
+                .stream()
+                .findFirst();
+    }
+
+    // ===== ZAPISY POJEDYNCZYCH PRACOWNIKÓW (CompanyStatsListener) =====
+
+    public void employeeAdded(String company, long id, BigDecimal salary) {
+        Object[] args = {salary, salary, salary, salary, id, id, salary, company};
+        if (jdbcTemplate.update(ADD_SQL, args) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO company_stats (" + COLUMNS + ") VALUES (?, 1, ?, ?, ?, ?, FALSE)",
+                    company, salary, salary, salary, id);
+        } catch (DuplicateKeyException e) {
+            // równoległa transakcja wstawiła wiersz tej firmy pierwsza
+            jdbcTemplate.update(ADD_SQL, args);
+        }
+    }
+
+    public void employeeRemoved(String company, long id, BigDecimal salary) {
+        jdbcTemplate.update(REMOVE_SQL, salary, salary, salary, id, company);
+        jdbcTemplate.update(DELETE_EMPTY_SQL, company);
+    }
+
+    public void salaryChanged(String company, long id, BigDecimal oldSalary, BigDecimal newSalary) {
+        int comparison = newSalary.compareTo(oldSalary);
+        if (comparison == 0) {
+            return;
+        }
+        boolean raised = comparison > 0;
+        jdbcTemplate.update(SALARY_CHANGE_SQL,
+                newSalary.subtract(oldSalary),
+                raised, oldSalary, !raised, oldSalary, id,
+                newSalary, newSalary, newSalary, id, id, newSalary,
+                company);
+    }
+
+    // ===== ZAPISY ZBIOROWE (JDBC) =====
+
+    /**
+     * Nanosi przyrosty liczby pracowników i sum pensji paczki JDBC, a skrajne pensje dotkniętych firm
+     * przelicza z indeksu - zapis JDBC nie zostawia oczekujących zmian, więc employees jest już aktualne.
+     */
+    public void apply(Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>(delta.changes.size());
+        List<String> companies = new ArrayList<>(delta.changes.size());
+        delta.changes.forEach((company, change) -> {
+            updates.add(new Object[]{change.employees, change.salarySum, company});
+            companies.add(company);
+        });
+
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE company_stats SET employee_count = employee_count + ?, salary_sum = salary_sum + ? " +
+                        "WHERE company = ?", updates);
+        for (int i = 0; i < updated.length; i++) {
+            Change change = delta.changes.get(companies.get(i));
+            if (updated[i] == 0 && change.employees > 0) {
+                insertPlaceholder(companies.get(i), change);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, companies.stream().map(company -> new Object[]{company}).toList());
+        refreshExtremes(companies);
+    }
+
+    public void refreshExtremes(Collection<String> companies) {
+        if (companies.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(companies.size(), "?"));
+        jdbcTemplate.update(REFRESH_EXTREMES_SQL + "WHERE s.company IN (" + placeholders + ")", companies.toArray());
+    }
+
+    /**
+     * Przelicza skrajne pensje firmy, jeśli zapis JPA oznaczył je extremes_stale, tuż przed commitem bieżącej
+     * transakcji. Hibernate woła to po ostatnim flush, więc employees zawiera już wszystkie zapisy z batcha;
+     * firmy z jednej transakcji przeliczane są jednym UPDATE.
+     */
+    public void refreshStaleExtremesBeforeCommit(String company) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshStaleExtremes(List.of(company));
+            return;
+        }
+        StaleCompanies staleCompanies = (StaleCompanies) TransactionSynchronizationManager.getResource(this);
+        if (staleCompanies == null) {
+            staleCompanies = new StaleCompanies();
+            TransactionSynchronizationManager.bindResource(this, staleCompanies);
+            TransactionSynchronizationManager.registerSynchronization(staleCompanies);
+            EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory.getObject())
+                    .unwrap(SessionImplementor.class).getActionQueue().registerProcess(staleCompanies);
+        }
+        staleCompanies.companies.add(company);
+    }
+
+    private void refreshStaleExtremes(Collection<String> companies) {
+        String placeholders = String.join(",", Collections.nCopies(companies.size(), "?"));
+        jdbcTemplate.update(REFRESH_EXTREMES_SQL + "WHERE s.extremes_stale AND s.company IN (" + placeholders + ")",
+                companies.toArray());
+    }
+
+    // Skrajne pensje zostają puste i oznaczone - refreshExtremes w apply uzupełnia je zaraz potem
+    private void insertPlaceholder(String company, Change change) {
+        String insert = "INSERT INTO company_stats (" + COLUMNS + ") VALUES (?, ?, ?, NULL, NULL, NULL, TRUE)";
+        try {
+            jdbcTemplate.update(insert, company, change.employees, change.salarySum);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update("UPDATE company_stats SET employee_count = employee_count + ?, " +
+                    "salary_sum = salary_sum + ? WHERE company = ?", change.employees, change.salarySum, company);
+        }
+    }
+
+    // ===== PRZEBUDOWA I WERYFIKACJA =====
+
+    /**
+     * Buduje tabelę od zera jednym przejściem po employees - przy starcie, po ładowaniu masowym
+     * i na żądanie administratora.
+     *
+     * @return liczba firm
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.nanoTime();
+        jdbcTemplate.update("DELETE FROM company_stats");
+        int companies = jdbcTemplate.update(
+                "INSERT INTO company_stats (" + COLUMNS + ") " + AGGREGATE_SQL + "GROUP BY company");
+        logger.info("Company statistics rebuilt: {} companies in {} ms",
+                companies, (System.nanoTime() - start) / 1_000_000);
+        return companies;
+    }
+
+    /**
+     * Porównuje tabelę z agregatami policzonymi od nowa z employees. Skrajne pensje wierszy
+     * oznaczonych extremes_stale nie są porównywane - odczyt i tak ich nie używa.
+     *
+     * @return firmy, których wiersz jest niezgodny, brakuje go lub jest zbędny - posortowane
+     */
+    @Transactional(readOnly = true)
+    public List<String> verify() {
+        Map<String, Object[]> expected = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE_SQL + "GROUP BY company", resultSet -> {
+            expected.put(resultSet.getString(1), readRow(resultSet));
+        });
+        Map<String, Object[]> actual = new HashMap<>();
+        jdbcTemplate.query("SELECT " + COLUMNS + " FROM company_stats", resultSet -> {
+            actual.put(resultSet.getString(1), readRow(resultSet));
+        });
+
+        TreeSet<String> mismatched = new TreeSet<>();
+        for (String company : union(expected.keySet(), actual.keySet())) {
+            if (!matches(expected.get(company), actual.get(company))) {
+                mismatched.add(company);
+            }
+        }
+        if (!mismatched.isEmpty()) {
+            logger.warn("Company statistics out of sync for {} companies: {}", mismatched.size(), mismatched);
+        }
+        return new ArrayList<>(mismatched);
+    }
+
+    private static Object[] readRow(ResultSet resultSet) throws SQLException {
+        return new Object[]{
+                resultSet.getLong(2),
+                resultSet.getBigDecimal(3),
+                resultSet.getBigDecimal(4),
+                resultSet.getBigDecimal(5),
+                resultSet.getObject(6) != null ? resultSet.getLong(6) : null,
+                resultSet.getBoolean(7)};
+    }
+
+    private static boolean matches(Object[] expected, Object[] actual) {
+        if (expected == null || actual == null) {
+            return false;
+        }
+        boolean totalsMatch = expected[0].equals(actual[0]) && sameAmount(expected[1], actual[1]);
+        if (!totalsMatch || (Boolean) actual[5]) {
+            return totalsMatch;
+        }
+        return sameAmount(expected[2], actual[2]) && sameAmount(expected[3], actual[3])
+                && Objects.equals(expected[4], actual[4]);
+    }
+
+    private static boolean sameAmount(Object expected, Object actual) {
+        return expected != null && actual != null && ((BigDecimal) expected).compareTo((BigDecimal) actual) == 0;
+    }
+
+    private static TreeSet<String> union(Collection<String> first, Collection<String> second) {
+        TreeSet<String> union = new TreeSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+
+    /**
+     * Firmy do przeliczenia w jednej transakcji. Po rollbacku nie ma czego przeliczać - wycofane są też
+     * oznaczenia extremes_stale.
+     */
+    private final class StaleCompanies implements TransactionSynchronization, BeforeTransactionCompletionProcess {
+
+        private final Set<String> companies = new TreeSet<>();
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            refreshStaleExtremes(companies);
+        }
+
+        // REQUIRES_NEW wewnątrz transakcji zbiera własne firmy
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CompanyStatsRepository.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CompanyStatsRepository.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CompanyStatsRepository.this);
+        }
+    }
+
+    /**
+     * Przyrosty statystyk firm zebrane z paczki zapisów JDBC. Przeniesienie pracownika to
+     * {@link #removed} ze starej firmy i {@link #added} do nowej.
+     */
+    public static final class Delta {
+
+        private final Map<String, Change> changes = new LinkedHashMap<>();
+
+        public Delta added(String company, BigDecimal salary) {
+            return add(company, 1, salary);
+        }
+
+        public Delta removed(String company, BigDecimal salary) {
+            return add(company, -1, salary.negate());
+        }
+
+        public Delta salaryChanged(String company, BigDecimal salaryDelta) {
+            return add(company, 0, salaryDelta);
+        }
+
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        private Delta add(String company, long employees, BigDecimal salarySum) {
+            Change change = changes.computeIfAbsent(company, key -> new Change());
+            change.employees += employees;
+            change.salarySum = change.salarySum.add(salarySum);
+            return this;
+        }
+    }
+
+    private static final class Change {
+        private long employees;
+        private BigDecimal salarySum = BigDecimal.ZERO;
+    }
+}
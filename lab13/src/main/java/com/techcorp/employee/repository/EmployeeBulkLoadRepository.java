@@ -0,0 +1,78 @@
+package com.techcorp.employee.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Ładowanie całego pliku CSV instrukcjami po stronie bazy - bez encji JPA i bez parsowania w aplikacji.
+ * Dialekt wybierany jest według bazy z DataSource.
+ */
+@Repository
+public class EmployeeBulkLoadRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkLoadRepository.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<BulkLoadDialect> dialects;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final CompanyStatsRepository companyStatsRepository;
+    private volatile BulkLoadDialect dialect;
+
+    public EmployeeBulkLoadRepository(JdbcTemplate jdbcTemplate, List<BulkLoadDialect> dialects,
+                                      SecondLevelCacheEvictor cacheEvictor,
+                                      CompanyStatsRepository companyStatsRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialects = dialects;
+        this.cacheEvictor = cacheEvictor;
+        this.companyStatsRepository = companyStatsRepository;
+    }
+
+    /**
+     * Odrzucone wiersze i scalanie w jednej transakcji - plik czytany jest przez bazę dwa razy,
+     * ale każdy przebieg to jedna instrukcja dla całego pliku.
+     */
+    @Transactional
+    public BulkLoadResult loadCsv(Path csvFile) {
+        BulkLoadDialect bulkLoadDialect = resolveDialect();
+        String file = csvFile.toAbsolutePath().toString();
+
+        List<RejectedRow> rejectedRows = jdbcTemplate.query(bulkLoadDialect.rejectedRowsSql(file),
+                (rs, rowNum) -> new RejectedRow(
+                        rs.getInt("line_number"),
+                        rs.getString("field"),
+                        rs.getString("code"),
+                        rs.getString("message")));
+        int mergedCount = jdbcTemplate.update(bulkLoadDialect.mergeSql(file));
+        cacheEvictor.evictEmployees();
+        // MERGE nie mówi, które firmy zmienił - jedno przejście po employees w tej samej transakcji
+        companyStatsRepository.rebuild();
+
+        logger.info("Bulk loaded {}: {} rows merged, {} rejected", file, mergedCount, rejectedRows.size());
+        return new BulkLoadResult(mergedCount, rejectedRows);
+    }
+
+    private BulkLoadDialect resolveDialect() {
+        if (dialect == null) {
+            String productName = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            dialect = dialects.stream()
+                    .filter(candidate -> candidate.supports(productName))
+                    .findFirst()
+                    .orElseThrow(() -> new UnsupportedOperationException("Bulk load is not supported for database: " + productName));
+        }
+        return dialect;
+    }
+
+    public record RejectedRow(int lineNumber, String field, String code, String message) {
+    }
+
+    public record BulkLoadResult(int mergedCount, List<RejectedRow> rejectedRows) {
+    }
+}
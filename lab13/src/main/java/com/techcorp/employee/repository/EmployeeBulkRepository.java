@@ -0,0 +1,171 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operacje masowe na tabeli employees wykonywane bezpośrednio przez JDBC.
+ * Encja Employee używa GenerationType.IDENTITY, więc Hibernate nie grupuje
+ * INSERT-ów - tutaj cała paczka idzie jednym batchUpdate.
+ */
+@Repository
+public class EmployeeBulkRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkRepository.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO employees (name, email, company, position, salary, status, department_id, photo_file_name, content_hash) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE employees SET name = ?, company = ?, position = ?, salary = ?, status = ?, content_hash = ?, " +
+                    "version = version + 1 " +
+                    "WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final CompanyStatsRepository companyStatsRepository;
+
+    public EmployeeBulkRepository(JdbcTemplate jdbcTemplate, SecondLevelCacheEvictor cacheEvictor,
+                                  CompanyStatsRepository companyStatsRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.companyStatsRepository = companyStatsRepository;
+    }
+
+    /**
+     * Zwraca te adresy z podanej kolekcji, które już istnieją w bazie - jedno zapytanie IN zamiast existsByEmail per wiersz.
+     */
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(emails.size(), "?"));
+        String sql = "SELECT email FROM employees WHERE email IN (" + placeholders + ")";
+
+        logger.debug("Checking {} emails for existing employees", emails.size());
+        return new HashSet<>(jdbcTemplate.queryForList(sql, String.class, emails.toArray()));
+    }
+
+    /**
+     * Skróty treści istniejących pracowników dla podanych emaili (email -> content_hash) - jedno zapytanie IN.
+     * Wiersz bez skrótu (zapisany poza JPA) ma wartość null i jest traktowany jako zmieniony.
+     */
+    public Map<String, String> findContentHashes(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(emails.size(), "?"));
+        String sql = "SELECT email, content_hash FROM employees WHERE email IN (" + placeholders + ")";
+
+        logger.debug("Loading content hashes for {} emails", emails.size());
+        Map<String, String> hashes = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            hashes.put(rs.getString("email"), rs.getString("content_hash"));
+        }, emails.toArray());
+        return hashes;
+    }
+
+    public int[] insertAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return new int[0];
+        }
+
+        logger.debug("Batch inserting {} employees", employees.size());
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Employee employee = employees.get(i);
+                ps.setString(1, employee.getName());
+                ps.setString(2, employee.getEmail());
+                ps.setString(3, employee.getCompany());
+                ps.setString(4, employee.getPosition().name());
+                ps.setBigDecimal(5, employee.getSalary());
+                ps.setString(6, employee.getStatus().name());
+                if (employee.getDepartment() != null && employee.getDepartment().getId() != null) {
+                    ps.setLong(7, employee.getDepartment().getId());
+                } else {
+                    ps.setNull(7, Types.BIGINT);
+                }
+                ps.setString(8, employee.getPhotoFileName());
+                ps.setString(9, employee.calculateContentHash());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return employees.size();
+            }
+        });
+
+        CompanyStatsRepository.Delta delta = new CompanyStatsRepository.Delta();
+        for (Employee employee : employees) {
+            delta.added(employee.getCompany(), employee.getSalary());
+        }
+        companyStatsRepository.apply(delta);
+        return inserted;
+    }
+
+    /**
+     * Aktualizuje pola importowane (bez działu i zdjęcia) istniejących pracowników, dopasowując po emailu.
+     */
+    public int[] updateAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return new int[0];
+        }
+
+        // firma i pensja sprzed zmiany (wiersze zablokowane do końca transakcji) - pracownik może przejść do innej firmy
+        CompanyStatsRepository.Delta delta = new CompanyStatsRepository.Delta();
+        String placeholders = String.join(",", Collections.nCopies(employees.size(), "?"));
+        jdbcTemplate.query("SELECT company, salary FROM employees WHERE email IN (" + placeholders + ") FOR UPDATE",
+                resultSet -> {
+                    delta.removed(resultSet.getString(1), resultSet.getBigDecimal(2));
+                }, employees.stream().map(Employee::getEmail).toArray());
+
+        logger.debug("Batch updating {} employees", employees.size());
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Employee employee = employees.get(i);
+                ps.setString(1, employee.getName());
+                ps.setString(2, employee.getCompany());
+                ps.setString(3, employee.getPosition().name());
+                ps.setBigDecimal(4, employee.getSalary());
+                ps.setString(5, employee.getStatus().name());
+                ps.setString(6, employee.calculateContentHash());
+                ps.setString(7, employee.getEmail());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return employees.size();
+            }
+        });
+        // zmienione wiersze mogą siedzieć w cache drugiego poziomu
+        cacheEvictor.evictEmployees();
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != 0) {
+                delta.added(employees.get(i).getCompany(), employees.get(i).getSalary());
+            }
+        }
+        companyStatsRepository.apply(delta);
+        return updated;
+    }
+}
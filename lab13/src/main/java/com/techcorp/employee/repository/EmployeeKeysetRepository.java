@@ -0,0 +1,131 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.dto.EmployeeListItem;
+import com.techcorp.employee.dto.EmployeeListView;
+import com.techcorp.employee.dto.KeysetSlice;
+import com.techcorp.employee.model.Department;
+import com.techcorp.employee.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Stronicowanie keyset (seek) listy pracowników. Zamiast OFFSET zapytanie zaczyna od pozycji
+ * zapisanej w kursorze: WHERE (klucz, id) > (:klucz, :id) ORDER BY klucz, id LIMIT size + 1,
+ * więc przy indeksie (klucz, id) głęboka strona kosztuje tyle co pierwsza. Nie ma też count(*) -
+ * dodatkowy, (size + 1)-szy wiersz mówi tylko, czy istnieje kolejna strona.
+ */
+@Repository
+public class EmployeeKeysetRepository {
+
+    public static final String DEFAULT_SORT_FIELD = "name";
+
+    // Tylko kolumny NOT NULL z widoku listy - klucz ostatniego wiersza musi dać się zapisać w tokenie
+    private static final Map<String, Function<EmployeeListItem, String>> SORT_KEYS = Map.of(
+            "name", EmployeeListItem::name,
+            "email", EmployeeListItem::email,
+            "company", EmployeeListItem::company
+    );
+
+    public static final Set<String> SORT_FIELDS = SORT_KEYS.keySet();
+
+    private final EntityManager entityManager;
+
+    public EmployeeKeysetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param filter filtry listy (EmployeeSpecification), może być null
+     * @param order  sortowanie - pole z SORT_FIELDS
+     * @param cursor pozycja z tokenu poprzedniej odpowiedzi lub null dla pierwszej strony
+     */
+    public KeysetSlice<EmployeeListView> findSlice(Specification<Employee> filter, Sort.Order order, int size,
+                                                   KeysetCursor cursor) {
+        String sortField = order.getProperty();
+        Function<EmployeeListItem, String> sortKey = SORT_KEYS.get(sortField);
+        boolean backward = cursor != null && cursor.backward();
+        // strona wstecz to odczyt w odwrotnej kolejności od kursora, potem odwrócenie wyniku
+        boolean scanAscending = order.isAscending() != backward;
+
+        List<EmployeeListItem> rows = entityManager
+                .createQuery(buildQuery(filter, sortField, scanAscending, cursor))
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean more = rows.size() > size;
+        List<EmployeeListItem> content = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (backward) {
+            Collections.reverse(content);
+        }
+
+        boolean hasNext = backward || more;
+        boolean hasPrevious = backward ? more : cursor != null;
+        String nextToken = hasNext && !content.isEmpty()
+                ? token(sortField, order, false, content.get(content.size() - 1), sortKey) : null;
+        String prevToken = hasPrevious && !content.isEmpty()
+                ? token(sortField, order, true, content.get(0), sortKey) : null;
+
+        return new KeysetSlice<>(List.copyOf(content), size, hasNext, hasPrevious, nextToken, prevToken);
+    }
+
+    private CriteriaQuery<EmployeeListItem> buildQuery(Specification<Employee> filter, String sortField,
+                                                       boolean ascending, KeysetCursor cursor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeListItem> query = cb.createQuery(EmployeeListItem.class);
+        Root<Employee> root = query.from(Employee.class);
+        Join<Employee, Department> department = root.join("department", JoinType.LEFT);
+
+        query.select(cb.construct(EmployeeListItem.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("email"),
+                root.get("position"),
+                root.get("company"),
+                cb.coalesce(department.<String>get("name"), "Brak departamentu")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate filterPredicate = filter.toPredicate(root, query, cb);
+            if (filterPredicate != null) {
+                predicates.add(filterPredicate);
+            }
+        }
+
+        Path<String> key = root.get(sortField);
+        Path<Long> id = root.get("id");
+        if (cursor != null) {
+            predicates.add(ascending
+                    ? cb.or(cb.greaterThan(key, cursor.key()),
+                            cb.and(cb.equal(key, cursor.key()), cb.greaterThan(id, cursor.id())))
+                    : cb.or(cb.lessThan(key, cursor.key()),
+                            cb.and(cb.equal(key, cursor.key()), cb.lessThan(id, cursor.id()))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(ascending
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id)));
+        return query;
+    }
+
+    private static String token(String sortField, Sort.Order order, boolean backward,
+                                EmployeeListItem row, Function<EmployeeListItem, String> sortKey) {
+        return new KeysetCursor(sortField, order.isAscending(), backward, row.id(), sortKey.apply(row)).encode();
+    }
+}
@@ -0,0 +1,363 @@
+package com.techcorp.employee.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Odwrócony indeks trigramów nazw pracowników trzymany w pamięci. LIKE '%x%' nie korzysta z B-drzewa,
+ * więc wyszukiwanie fragmentu nazwy zaczyna się tutaj: przecięcie list id dla trigramów szukanego tekstu
+ * daje kandydatów, których baza sprawdza już dokładnie (id IN (...) AND LOWER(name) LIKE ...).
+ * <p>
+ * Indeks jest nadzbiorem - wpis po zmianie nazwy czy wycofanej transakcji tylko dokłada kandydata,
+ * którego odrzuci weryfikacja. Brakować nie może żaden zapis nazwy: JPA aktualizuje go przez
+ * {@link EmployeeNameIndexListener}, zapis JDBC przez {@link #refreshEmails}, a MERGE ładowania masowego przez {@link #rebuild}.
+ * Dlatego usunięcia czekają na commit, a przebudowa nie gubi zapisów wykonanych w jej trakcie.
+ */
+@Component
+public class EmployeeNameIndex implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    static final int GRAM_LENGTH = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private Map<Long, PostingList> postings = new HashMap<>();
+    // pod lock: licznik rozpoczętych przebudów i zapisy wykonane w trakcie trwającej (null, gdy żadna nie trwa)
+    private long rebuildsStarted;
+    private List<Write> writesDuringRebuild;
+
+    // Powyżej tej liczby kandydatów fragment jest mało selektywny - skan z LIKE wychodzi taniej niż id IN (...)
+    @Value("${app.search.name-index.max-candidates:2000}")
+    private int maxCandidates = 2000;
+
+    public EmployeeNameIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        rebuild();
+    }
+
+    /**
+     * Buduje indeks od zera jednym przejściem po tabeli employees. Zapisy wykonane w trakcie odczytu
+     * są zapamiętywane i nanoszone na nowy indeks przed podmianą - SELECT mógł ich nie widzieć.
+     */
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            lock.writeLock().lock();
+            try {
+                rebuildsStarted++;
+                writesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Map<Long, PostingList> rebuilt = new HashMap<>();
+            long start = System.nanoTime();
+            int[] rows = {0};
+            try {
+                jdbcTemplate.query("SELECT id, name FROM employees ORDER BY id", resultSet -> {
+                    addAll(rebuilt, resultSet.getLong(1), grams(resultSet.getString(2)));
+                    rows[0]++;
+                });
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    writesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (Write write : writesDuringRebuild) {
+                    write.applyTo(rebuilt);
+                }
+                writesDuringRebuild = null;
+                postings = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Employee name index rebuilt: {} names, {} trigrams in {} ms",
+                    rows[0], rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Dodaje nazwę od razu, żeby była widoczna także w transakcji zapisu. Jeśli przed commitem ruszyła
+     * przebudowa, której SELECT nie widział jeszcze wiersza, wpis jest nanoszony ponownie po commicie.
+     */
+    public void index(long id, String name) {
+        Write write = new Write(id, grams(name), true);
+        // licznik przebudów odczytany przed zapisem - przebudowa ruszająca pomiędzy zostanie wykryta po commicie
+        TransactionWrites transactionWrites = transactionWrites();
+        if (transactionWrites != null) {
+            transactionWrites.indexed.add(write);
+        }
+        apply(write);
+    }
+
+    /**
+     * Usuwa nazwę dopiero po commicie - po wycofanym DELETE wiersz nadal istnieje i musi być wyszukiwalny.
+     */
+    public void remove(long id, String name) {
+        Write write = new Write(id, grams(name), false);
+        TransactionWrites transactionWrites = transactionWrites();
+        if (transactionWrites != null) {
+            transactionWrites.removed.add(write);
+        } else {
+            apply(write);
+        }
+    }
+
+    /**
+     * Indeksuje pracowników zapisanych z pominięciem JPA (batch JDBC) - jedno zapytanie IN po emailach.
+     * Wołane w transakcji zapisu, więc widzi też jeszcze niezatwierdzone wiersze.
+     */
+    public void refreshEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(emails.size(), "?"));
+        jdbcTemplate.query("SELECT id, name FROM employees WHERE email IN (" + placeholders + ")",
+                resultSet -> {
+                    index(resultSet.getLong(1), resultSet.getString(2));
+                }, emails.toArray());
+    }
+
+    /**
+     * Kandydaci dla LOWER(name) LIKE '%fragment%'.
+     *
+     * @return posortowane id (nadzbiór trafień, może być pusty) albo Optional.empty(), gdy indeks nie pomoże:
+     * fragment krótszy niż trigram, ze znakami wzorca LIKE lub więcej kandydatów niż app.search.name-index.max-candidates
+     */
+    public Optional<List<Long>> findCandidates(String fragment) {
+        // % i _ to wzorce LIKE, a nie znaki do znalezienia w nazwie
+        if (fragment == null || fragment.length() < GRAM_LENGTH
+                || fragment.indexOf('%') >= 0 || fragment.indexOf('_') >= 0) {
+            return Optional.empty();
+        }
+        Set<Long> grams = grams(fragment);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(grams.size());
+            for (long gram : grams) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(List.of());
+                }
+                lists.add(list);
+            }
+            // przecięcie zaczynamy od najrzadszego trigramu
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            PostingList rarest = lists.get(0);
+            List<Long> candidates = new ArrayList<>();
+            for (int i = 0; i < rarest.size; i++) {
+                long id = rarest.ids[i];
+                if (containsInAll(lists, id)) {
+                    if (candidates.size() == maxCandidates) {
+                        return Optional.empty();
+                    }
+                    candidates.add(id);
+                }
+            }
+            return Optional.of(candidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Write write) {
+        lock.writeLock().lock();
+        try {
+            write.applyTo(postings);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long rebuildsStarted() {
+        lock.readLock().lock();
+        try {
+            return rebuildsStarted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Zapisy bieżącej transakcji zbierane w jednym obiekcie, zamiast synchronizacji na każdy wiersz
+    private TransactionWrites transactionWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        TransactionWrites transactionWrites = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        if (transactionWrites == null) {
+            transactionWrites = new TransactionWrites(rebuildsStarted());
+            TransactionSynchronizationManager.bindResource(this, transactionWrites);
+            TransactionSynchronizationManager.registerSynchronization(transactionWrites);
+        }
+        return transactionWrites;
+    }
+
+    private static void addAll(Map<Long, PostingList> postings, long id, Set<Long> grams) {
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private static void removeAll(Map<Long, PostingList> postings, long id, Set<Long> grams) {
+        for (long gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trigramy małymi literami, każdy zakodowany w jednym long (3 znaki po 16 bitów).
+     */
+    static Set<Long> grams(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            grams.add(((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private record Write(long id, Set<Long> grams, boolean add) {
+
+        void applyTo(Map<Long, PostingList> postings) {
+            if (add) {
+                addAll(postings, id, grams);
+            } else {
+                removeAll(postings, id, grams);
+            }
+        }
+    }
+
+    /**
+     * Zapisy jednej transakcji. Po commicie usuwa nazwy i - jeśli od pierwszego zapisu ruszyła przebudowa -
+     * ponownie nanosi dodane; po rollbacku nic nie robi, bo nadmiarowe id odrzuci weryfikacja LIKE.
+     */
+    private final class TransactionWrites implements TransactionSynchronization {
+
+        private final long rebuildsStartedAtFirstWrite;
+        private final List<Write> indexed = new ArrayList<>();
+        private final List<Write> removed = new ArrayList<>();
+
+        TransactionWrites(long rebuildsStartedAtFirstWrite) {
+            this.rebuildsStartedAtFirstWrite = rebuildsStartedAtFirstWrite;
+        }
+
+        @Override
+        public void afterCommit() {
+            if (rebuildsStarted() != rebuildsStartedAtFirstWrite) {
+                indexed.forEach(EmployeeNameIndex.this::apply);
+            }
+            removed.forEach(EmployeeNameIndex.this::apply);
+        }
+
+        // REQUIRES_NEW wewnątrz transakcji zbiera własne zapisy
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(EmployeeNameIndex.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(EmployeeNameIndex.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeNameIndex.this);
+        }
+    }
+
+    /**
+     * Posortowana lista id bez powtórzeń - nowe id zwykle są największe, więc dopisanie to zwykle append.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insertAt(-position - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+    }
+}
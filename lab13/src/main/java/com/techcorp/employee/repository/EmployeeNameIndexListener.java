@@ -0,0 +1,38 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Utrzymuje {@link EmployeeNameIndex} przy zapisach przez JPA. Hibernate tworzy listener przez kontener Springa;
+ * w testach wycinkowych (@DataJpaTest) indeksu nie ma w kontekście i listener nic nie robi.
+ */
+public class EmployeeNameIndexListener {
+
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Autowired(required = false)
+    public void setEmployeeNameIndex(EmployeeNameIndex employeeNameIndex) {
+        this.employeeNameIndex = employeeNameIndex;
+    }
+
+    // Stara nazwa zostaje w listach trigramów - to tylko nadmiarowy kandydat, odrzucany przez LIKE
+    @PostPersist
+    @PostUpdate
+    void indexName(Employee employee) {
+        if (employeeNameIndex != null) {
+            employeeNameIndex.index(employee.getId(), employee.getName());
+        }
+    }
+
+    // @PostRemove działa przy flush - indeks usuwa nazwę dopiero po commicie
+    @PostRemove
+    void removeName(Employee employee) {
+        if (employeeNameIndex != null) {
+            employeeNameIndex.remove(employee.getId(), employee.getName());
+        }
+    }
+}
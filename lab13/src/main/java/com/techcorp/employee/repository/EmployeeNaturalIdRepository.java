@@ -0,0 +1,16 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+
+import java.util.Optional;
+
+/**
+ * Wyszukiwanie pracownika po emailu przez naturalny klucz Hibernate zamiast zapytania pochodnego -
+ * rozwiązanie email -> id i sama encja są brane z cache drugiego poziomu.
+ */
+public interface EmployeeNaturalIdRepository {
+
+    Optional<Employee> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+}
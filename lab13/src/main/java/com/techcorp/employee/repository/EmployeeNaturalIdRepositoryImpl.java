@@ -0,0 +1,38 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Jak SimpleJpaRepository: poza transakcją serwisu sesja żyje tylko na czas jednego wywołania
+@Transactional(readOnly = true)
+public class EmployeeNaturalIdRepositoryImpl implements EmployeeNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Employee> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .loadOptional(email);
+    }
+
+    // getReference rozwiązuje tylko email -> id (z cache lub jednym SELECT id) i nie ładuje encji
+    @Override
+    public boolean existsByEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .getReference(email) != null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.dto.EmployeeListItem;
+import com.techcorp.employee.dto.EmployeeListView;
+import com.techcorp.employee.model.Department;
+import com.techcorp.employee.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strona listy pracowników z filtrami jako projekcja EmployeeListItem. WHERE zawiera tylko predykaty
+ * przekazanych filtrów (EmployeeSpecification), więc każda kombinacja filtrów to osobne zapytanie
+ * z własnym planem - zamiast jednego "(:x IS NULL OR ...)", które baza planuje raz i skanuje tabelę.
+ */
+@Repository
+public class EmployeeProjectionRepository {
+
+    private static final String NO_DEPARTMENT = "Brak departamentu";
+
+    private final EntityManager entityManager;
+
+    public EmployeeProjectionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param filter filtry listy (EmployeeSpecification), może być null
+     * @param pageable strona i sortowanie - pola encji lub "departmentName"; bez sortowania po nazwisku
+     */
+    public Page<EmployeeListView> findPage(Specification<Employee> filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeListItem> query = cb.createQuery(EmployeeListItem.class);
+        Root<Employee> root = query.from(Employee.class);
+        Join<Employee, Department> department = root.join("department", JoinType.LEFT);
+        Expression<String> departmentName = cb.coalesce(department.<String>get("name"), NO_DEPARTMENT);
+
+        query.select(cb.construct(EmployeeListItem.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("email"),
+                root.get("position"),
+                root.get("company"),
+                departmentName));
+        query.where(toPredicates(filter, root, query, cb));
+        query.orderBy(toOrders(pageable.getSortOr(Sort.by("name")), root, departmentName, cb));
+
+        TypedQuery<EmployeeListItem> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<EmployeeListView> content = List.copyOf(typedQuery.getResultList());
+
+        // count(*) tylko gdy strona nie wystarcza do ustalenia liczby wierszy
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    private long count(Specification<Employee> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(cb.count(root));
+        query.where(toPredicates(filter, root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate[] toPredicates(Specification<Employee> filter, Root<Employee> root,
+                                            CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (filter == null) {
+            return new Predicate[0];
+        }
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        return predicate != null ? new Predicate[]{predicate} : new Predicate[0];
+    }
+
+    private static List<Order> toOrders(Sort sort, Root<Employee> root, Expression<String> departmentName,
+                                        CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<?> key = "departmentName".equals(order.getProperty())
+                    ? departmentName
+                    : root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(key) : cb.desc(key));
+        }
+        // id rozstrzyga remisy - bez niego stronicowanie po OFFSET może gubić lub dublować wiersze
+        orders.add(cb.asc(root.get("id")));
+        return orders;
+    }
+}
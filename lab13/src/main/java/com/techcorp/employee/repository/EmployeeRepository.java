@@ -17,15 +17,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
-
-    Optional<Employee> findByEmail(String email);
-
-    boolean existsByEmail(String email);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeNaturalIdRepository {
 
     void deleteByEmail(String email);
 
@@ -128,6 +126,8 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSp
 //    List<CompanyStatisticsDTO> getCompanyStatisticsDTO();
 //
 
+    // Najlepiej opłacany ze skorelowanego podzapytania - przy indeksie (company, salary) to jedno wyszukiwanie
+    // w indeksie na firmę; remis pensji rozstrzyga niższe id, więc wynik jest zawsze jeden
     @Query("""
     SELECT NEW com.techcorp.employee.dto.CompanyStatisticsDTO(
         e.company,
@@ -137,21 +137,22 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSp
         COALESCE(
             (SELECT e2.name FROM Employee e2 
              WHERE e2.company = e.company 
-             ORDER BY e2.salary DESC LIMIT 1),
+             ORDER BY e2.salary DESC, e2.id LIMIT 1),
             'Brak'
         )
     )
     FROM Employee e
     GROUP BY e.company
+    ORDER BY e.company
 """)
     List<CompanyStatisticsDTO> getCompanyStatisticsDTO();
 
     @Query("SELECT NEW com.techcorp.employee.dto.CompanyStatisticsDTO(" +
-            ":company, " +
+            "e.company, " +
             "COUNT(e), " +
             "AVG(e.salary), " +
             "MAX(e.salary), " +
-            "(SELECT e2.name FROM Employee e2 WHERE e2.company = :company AND e2.salary = (SELECT MAX(e3.salary) FROM Employee e3 WHERE e3.company = :company))" +
+            "(SELECT e2.name FROM Employee e2 WHERE e2.company = e.company ORDER BY e2.salary DESC, e2.id LIMIT 1)" +
             ") " +
             "FROM Employee e WHERE e.company = :company GROUP BY e.company")
     Optional<CompanyStatisticsDTO> getCompanyStatisticsDTO(@Param("company") String company);
@@ -218,48 +219,14 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSp
 
 
 
-    @Query("""
-        SELECT 
-            e.name as name, 
-            e.position as position, 
-            e.company as company,
-            COALESCE(e.department.name, 'Brak departamentu') as departmentName
-        FROM Employee e 
-        LEFT JOIN e.department d
-        WHERE 
-            (:name IS NULL OR :name = '' OR LOWER(e.name) LIKE LOWER(CONCAT('%', :name, '%')))
-            AND (:company IS NULL OR :company = '' OR LOWER(e.company) = LOWER(:company))
-            AND (:position IS NULL OR e.position = :position)
-            AND (:status IS NULL OR e.status = :status)
-            AND (:minSalary IS NULL OR e.salary >= :minSalary)
-            AND (:maxSalary IS NULL OR e.salary <= :maxSalary)
-            AND (
-                :departmentName IS NULL 
-                OR :departmentName = ''
-                OR (
-                    LOWER(:departmentName) = 'brak departamentu' 
-                    AND e.department IS NULL
-                )
-                OR (
-                    LOWER(:departmentName) != 'brak departamentu' 
-                    AND LOWER(e.department.name) = LOWER(:departmentName)
-                )
-            )
-        ORDER BY e.name ASC
-    """)
-    Page<EmployeeListView> findWithFiltersProjection(
-            @Param("name") String name,
-            @Param("company") String company,
-            @Param("position") Position position,
-            @Param("status") EmploymentStatus status,
-            @Param("minSalary") Double minSalary,
-            @Param("maxSalary") Double maxSalary,
-            @Param("departmentName") String departmentName,
-            Pageable pageable);
-
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT e FROM Employee e WHERE e.id = :id")
     Optional<Employee> findByIdWithLock(@Param("id") Long id);
+
+    // Jedna blokada na paczkę; kolejność id sprawia, że równoległe paczki blokują wiersze w tym samym porządku
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.email IN :emails ORDER BY e.id")
+    List<Employee> findAllByEmailInWithLock(@Param("emails") Collection<String> emails);
 }
 
 
@@ -0,0 +1,115 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Position;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * H2: plik czytany przez CSVREAD (nagłówek wyznacza nazwy kolumn), zapis przez MERGE ... KEY(email).
+ * Warunki odpowiadają walidacji parsera ImportService i są liczone w SQL - pierwszy
+ * niespełniony warunek wyznacza błąd wiersza, a MERGE bierze tylko wiersze bez błędu.
+ * CSVREAD pomija puste linie, więc numer linii w błędach liczy tylko linie z danymi.
+ */
+@Component
+public class H2BulkLoadDialect implements BulkLoadDialect {
+
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+    private static final String SALARY_REGEX = "^[0-9]+(\\.[0-9]+)?$";
+    private static final String MAX_SALARY = "1000000.00";
+    private static final String EMAIL_DOMAIN = "@techcorp.com";
+
+    private static final String POSITIONS = Arrays.stream(Position.values())
+            .map(position -> "'" + position.name() + "'")
+            .collect(Collectors.joining(", "));
+
+    // Wiersz z samymi separatorami (,,,,,) - pomijany jak pusta linia w parserze, ani zapisany, ani odrzucony
+    private static final String BLANK_ROW = Arrays.stream(new String[]{"FIRSTNAME", "LASTNAME", "EMAIL", "COMPANY", "POSITION", "SALARY"})
+            .map(H2BulkLoadDialect::blank)
+            .collect(Collectors.joining(" AND "));
+
+    private static final List<RowCheck> CHECKS = List.of(
+            new RowCheck("firstName", "MISSING_FIELD", "First name cannot be empty", blank("FIRSTNAME")),
+            new RowCheck("lastName", "MISSING_FIELD", "Last name cannot be empty", blank("LASTNAME")),
+            new RowCheck("email", "MISSING_FIELD", "Email cannot be empty", blank("EMAIL")),
+            new RowCheck("company", "MISSING_FIELD", "Company cannot be empty", blank("COMPANY")),
+            new RowCheck("email", "INVALID_EMAIL", "Invalid email format",
+                    "NOT REGEXP_LIKE(" + trimmed("EMAIL") + ", '" + EMAIL_REGEX + "')"),
+            new RowCheck("email", "VALIDATION_ERROR", "Email must be in domain " + EMAIL_DOMAIN,
+                    normalizedEmail() + " NOT LIKE '%" + EMAIL_DOMAIN + "'"),
+            new RowCheck("position", "MISSING_FIELD", "Position cannot be empty", blank("POSITION")),
+            new RowCheck("position", "INVALID_POSITION", "Invalid position. Valid values: " + Arrays.toString(Position.values()),
+                    "UPPER(" + trimmed("POSITION") + ") NOT IN (" + POSITIONS + ")"),
+            new RowCheck("salary", "MISSING_FIELD", "Salary cannot be empty", blank("SALARY")),
+            new RowCheck("salary", "INVALID_SALARY", "Salary must be a non-negative number",
+                    "NOT REGEXP_LIKE(" + trimmed("SALARY") + ", '" + SALARY_REGEX + "')"),
+            new RowCheck("salary", "INVALID_SALARY", "Salary exceeds maximum of " + MAX_SALARY,
+                    "CAST(" + trimmed("SALARY") + " AS DECIMAL(20, 2)) > " + MAX_SALARY),
+            new RowCheck("name", "VALIDATION_ERROR", "Name must be at most 100 characters",
+                    "CHAR_LENGTH(" + trimmed("FIRSTNAME") + ") + CHAR_LENGTH(" + trimmed("LASTNAME") + ") + 1 > 100")
+    );
+
+    @Override
+    public boolean supports(String databaseProductName) {
+        return "H2".equalsIgnoreCase(databaseProductName);
+    }
+
+    @Override
+    public String rejectedRowsSql(String csvFile) {
+        return "SELECT line_number, field, code, message FROM (" +
+                "SELECT ROWNUM() + 1 AS line_number, " +
+                caseOf(RowCheck::field) + " AS field, " +
+                caseOf(RowCheck::code) + " AS code, " +
+                caseOf(RowCheck::message) + " AS message, " +
+                "CASE WHEN " + BLANK_ROW + " THEN TRUE ELSE FALSE END AS blank_row " +
+                "FROM " + csvRead(csvFile) + ") " +
+                "WHERE code IS NOT NULL AND NOT blank_row ORDER BY line_number";
+    }
+
+    @Override
+    public String mergeSql(String csvFile) {
+        // version + 1 dla nadpisywanych wierszy, żeby optymistyczna zmiana pensji wykryła zapis z importu
+        return "MERGE INTO employees (name, email, company, position, salary, status, content_hash, version) KEY (email) " +
+                "SELECT " + trimmed("FIRSTNAME") + " || ' ' || " + trimmed("LASTNAME") + ", " +
+                normalizedEmail() + ", " +
+                trimmed("COMPANY") + ", " +
+                "UPPER(" + trimmed("POSITION") + "), " +
+                "CAST(" + trimmed("SALARY") + " AS DECIMAL(10, 2)), " +
+                "'ACTIVE', NULL, " +
+                "COALESCE((SELECT e.version + 1 FROM employees e WHERE e.email = " + normalizedEmail() + "), 0) " +
+                "FROM " + csvRead(csvFile) + " " +
+                "WHERE NOT (" + BLANK_ROW + ") AND " + caseOf(RowCheck::code) + " IS NULL";
+    }
+
+    // ===== METODY POMOCNICZE =====
+
+    private static String csvRead(String csvFile) {
+        // Funkcja tabelowa musi znać plik już przy przygotowaniu zapytania - ścieżka jako literał
+        return "CSVREAD('" + csvFile.replace("'", "''") + "', NULL, 'charset=UTF-8')";
+    }
+
+    private static String caseOf(Function<RowCheck, String> value) {
+        return CHECKS.stream()
+                .map(check -> "WHEN " + check.invalidCondition() + " THEN '" + value.apply(check).replace("'", "''") + "'")
+                .collect(Collectors.joining(" ", "CASE ", " END"));
+    }
+
+    private static String trimmed(String column) {
+        return "COALESCE(TRIM(" + column + "), '')";
+    }
+
+    // Jak Employee.setEmail - klucz MERGE i natural id muszą się zgadzać z zapisami przez JPA
+    private static String normalizedEmail() {
+        return "LOWER(" + trimmed("EMAIL") + ")";
+    }
+
+    private static String blank(String column) {
+        return trimmed(column) + " = ''";
+    }
+
+    private record RowCheck(String field, String code, String message, String invalidCondition) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.techcorp.employee.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Pozycja w liście posortowanej po (klucz sortowania, id). Klient dostaje ją jako nieprzezroczysty token -
+ * Base64 z polem i kierunkiem sortowania, więc tokenu nie da się użyć z innym sortowaniem.
+ *
+ * @param backward token poprzedniej strony - wiersze przed pozycją zamiast po niej
+ */
+public record KeysetCursor(String sortField, boolean ascending, boolean backward, long id, String key) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortField, ascending ? "A" : "D", backward ? "P" : "N",
+                Long.toString(id), key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        String[] parts;
+        try {
+            // klucz jest ostatni, więc może zawierać separator
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 5);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+        if (parts.length != 5 || !parts[3].matches("\\d+")) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
+        return new KeysetCursor(parts[0], "A".equals(parts[1]), "P".equals(parts[2]),
+                Long.parseLong(parts[3]), parts[4]);
+    }
+}
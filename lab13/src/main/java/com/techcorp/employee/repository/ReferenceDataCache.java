@@ -0,0 +1,96 @@
+package com.techcorp.employee.repository;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Słowniki list rozwijanych (firmy, nazwy departamentów) trzymane w pamięci - bez nich każdy widok
+ * listy pracowników robi dwa dodatkowe zapytania DISTINCT. Zapisy JPA unieważniają je przez
+ * {@link ReferenceDataListener}, zapisy JDBC wywołują {@link #invalidateCompanies} same.
+ * <p>
+ * Jak {@link SecondLevelCacheEvictor}: lista jest czyszczona od razu i drugi raz po zakończeniu transakcji,
+ * żeby nie została w niej wartość odczytana przed commitem albo z wycofanej transakcji.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final CachedList companies;
+    private final CachedList departmentNames;
+
+    // @Lazy: listener encji dostaje ten bean już przy budowie EntityManagerFactory, zanim powstaną repozytoria
+    public ReferenceDataCache(@Lazy EmployeeRepository employeeRepository, @Lazy DepartmentRepository departmentRepository) {
+        this.companies = new CachedList(employeeRepository::findDistinctCompanies);
+        this.departmentNames = new CachedList(departmentRepository::findAllDepartmentNames);
+    }
+
+    public List<String> getCompanies() {
+        return companies.get();
+    }
+
+    public List<String> getDepartmentNames() {
+        return departmentNames.get();
+    }
+
+    public void invalidateCompanies() {
+        invalidate(companies);
+    }
+
+    public void invalidateDepartmentNames() {
+        invalidate(departmentNames);
+    }
+
+    private static void invalidate(CachedList list) {
+        list.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    list.invalidate();
+                }
+            });
+        }
+    }
+
+    /**
+     * Lista ładowana leniwie. Wersja chroni przed odczytem, który zaczął się przed unieważnieniem,
+     * a skończył po nim - jego wynik nie trafia już do cache.
+     */
+    private static final class CachedList {
+
+        private final Supplier<List<String>> loader;
+        private long version;
+        private volatile List<String> values;
+
+        CachedList(Supplier<List<String>> loader) {
+            this.loader = loader;
+        }
+
+        List<String> get() {
+            List<String> cached = values;
+            if (cached != null) {
+                return cached;
+            }
+            long loadedVersion;
+            synchronized (this) {
+                loadedVersion = version;
+            }
+            List<String> loaded = List.copyOf(loader.get());
+            synchronized (this) {
+                if (version == loadedVersion) {
+                    values = loaded;
+                }
+            }
+            return loaded;
+        }
+
+        synchronized void invalidate() {
+            version++;
+            values = null;
+        }
+    }
+}
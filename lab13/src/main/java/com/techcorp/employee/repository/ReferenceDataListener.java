@@ -0,0 +1,45 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Department;
+import com.techcorp.employee.model.Employee;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Unieważnia {@link ReferenceDataCache} przy zapisach JPA pracowników i departamentów.
+ * Zmiana pensji czy stanowiska nie rusza listy firm - tylko nowy, usunięty lub przeniesiony pracownik.
+ * W testach wycinkowych (@DataJpaTest) cache nie ma w kontekście i listener nic nie robi.
+ */
+public class ReferenceDataListener {
+
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired(required = false)
+    public void setReferenceDataCache(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @PostPersist
+    @PostRemove
+    void entityAddedOrRemoved(Object entity) {
+        invalidate(entity, true);
+    }
+
+    @PostUpdate
+    void entityUpdated(Object entity) {
+        invalidate(entity, !(entity instanceof Employee employee) || employee.companyChangedSinceLoad());
+    }
+
+    private void invalidate(Object entity, boolean changed) {
+        if (referenceDataCache == null || !changed) {
+            return;
+        }
+        if (entity instanceof Employee) {
+            referenceDataCache.invalidateCompanies();
+        } else if (entity instanceof Department) {
+            referenceDataCache.invalidateDepartmentNames();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.techcorp.employee.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Podwyżka procentowa dla całej firmy wykonywana zbiorowo przez JDBC: na paczkę id jedno sprawdzenie reguł,
+ * jeden INSERT ... SELECT wpisów audytu i jeden UPDATE - zamiast blokady, transakcji i dwóch wpisów
+ * audytu REQUIRES_NEW na każdego pracownika.
+ * <p>
+ * Reguły walidacji są wyrażeniem CASE zwracającym komunikat odrzucenia albo NULL; nowa pensja liczona
+ * jest tak jak w SalaryFacade (mnożnik o skali 4, wynik zaokrąglony do groszy).
+ */
+@Repository
+public class SalaryBulkRepository {
+
+    private static final String RANGE = "company = ? AND id > ? AND id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final CompanyStatsRepository companyStatsRepository;
+
+    public SalaryBulkRepository(JdbcTemplate jdbcTemplate, SecondLevelCacheEvictor cacheEvictor,
+                                CompanyStatsRepository companyStatsRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.companyStatsRepository = companyStatsRepository;
+    }
+
+    /**
+     * Górna granica kolejnej paczki: największe id wśród {@code chunkSize} pracowników firmy o id &gt; afterId.
+     *
+     * @return id albo null, gdy pracowników już nie ma
+     */
+    public Long findChunkUpperBound(String company, long afterId, int chunkSize) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM (SELECT id FROM employees WHERE company = ? AND id > ? ORDER BY id LIMIT ?)",
+                Long.class, company, afterId, chunkSize);
+    }
+
+    /**
+     * Podwyżka dla pracowników firmy z przedziału id (afterId, upToId] w jednej transakcji.
+     * Wiersze przedziału są najpierw blokowane, więc audyt i UPDATE widzą te same pensje.
+     */
+    @Transactional
+    public ChunkResult raiseChunk(String company, long afterId, long upToId, BigDecimal multiplier, SalaryLimits limits) {
+        Object[] range = {company, afterId, upToId};
+        String newSalary = "ROUND(salary * " + multiplier.toPlainString() + ", 2)";
+        String reason = rejectionReason(newSalary, limits, false);
+        String auditReason = rejectionReason(newSalary, limits, true);
+
+        jdbcTemplate.queryForList("SELECT id FROM employees WHERE " + RANGE + " FOR UPDATE", Long.class, range);
+
+        Map<String, Long> rejections = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT reason, COUNT(*) FROM (SELECT " + reason + " AS reason FROM employees WHERE " + RANGE + ") " +
+                        "WHERE reason IS NOT NULL GROUP BY reason ORDER BY reason",
+                resultSet -> {
+                    rejections.put(resultSet.getString(1), resultSet.getLong(2));
+                }, range);
+
+        // Te same komunikaty i typy zdarzeń co AuditService.logSalaryUpdateFailure/Success
+        jdbcTemplate.update(
+                "INSERT INTO audit_log (message, event_date, event_type, affected_entity, entity_id) " +
+                        "SELECT LEFT('Salary update failed - Employee: ' || name || ' (ID: ' || id || '), Error: ' || reason, 255), " +
+                        "LOCALTIMESTAMP, 'SALARY_UPDATE_FAILURE', 'Employee', id " +
+                        "FROM (SELECT id, name, " + auditReason + " AS reason FROM employees WHERE " + RANGE + ") " +
+                        "WHERE reason IS NOT NULL", range);
+        jdbcTemplate.update(
+                "INSERT INTO audit_log (message, event_date, event_type, affected_entity, entity_id) " +
+                        "SELECT LEFT('Salary updated successfully - Employee: ' || name || ' (ID: ' || id || '), Old: ' || " +
+                        "CAST(salary AS DECIMAL(12, 2)) || ', New: ' || CAST(" + newSalary + " AS DECIMAL(12, 2)), 255), " +
+                        "LOCALTIMESTAMP, 'SALARY_UPDATE_SUCCESS', 'Employee', id " +
+                        "FROM employees WHERE " + RANGE + " AND " + reason + " IS NULL", range);
+
+        BigDecimal salaryDelta = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(" + newSalary + " - salary), 0) FROM employees WHERE " + RANGE + " AND " + reason + " IS NULL",
+                BigDecimal.class, range);
+
+        // content_hash zależy od pensji - NULL wymusza zapis przy następnym imporcie różnicowym
+        int updated = jdbcTemplate.update(
+                "UPDATE employees SET salary = " + newSalary + ", content_hash = NULL, version = version + 1 " +
+                        "WHERE " + RANGE + " AND " + reason + " IS NULL", range);
+        cacheEvictor.evictEmployees();
+        if (updated > 0) {
+            companyStatsRepository.apply(new CompanyStatsRepository.Delta().salaryChanged(company, salaryDelta));
+        }
+
+        return new ChunkResult(updated, rejections);
+    }
+
+    /**
+     * Odpowiednik SalaryService.validateSalary; zerowa pensja po przemnożeniu zostaje zerem, więc jej reguła nie występuje.
+     *
+     * @param withValues true - komunikat jak w SalaryService, z pensją starą i nową (audyt);
+     *                   false - sam komunikat reguły, żeby podsumowanie grupowało odrzucenia według reguły
+     */
+    private static String rejectionReason(String newSalary, SalaryLimits limits, boolean withValues) {
+        String changePercent = "ROUND((" + newSalary + " - salary) / salary, 4) * 100";
+        String values = withValues
+                ? " (' || CAST(salary AS DECIMAL(12, 2)) || ' -> ' || CAST(" + newSalary + " AS DECIMAL(12, 2)) || ')"
+                : "";
+        return "CASE" +
+                " WHEN " + newSalary + " < 0 THEN 'Salary must be a positive number'" +
+                " WHEN " + newSalary + " > " + limits.maxSalary().toPlainString() +
+                " THEN 'Salary exceeds maximum allowed limit (" + limits.maxSalary().toPlainString() + ")'" +
+                " WHEN salary <> 0 AND " + changePercent + " > " + limits.maxIncreasePercent().toPlainString() +
+                " THEN 'Salary increase too large" + values + ". Max " + limits.maxIncreasePercent().toPlainString() + "% increase allowed.'" +
+                " WHEN salary <> 0 AND " + changePercent + " < -" + limits.maxDecreasePercent().toPlainString() +
+                " THEN 'Salary decrease too large" + values + ". Max " + limits.maxDecreasePercent().toPlainString() + "% decrease allowed.'" +
+                " END";
+    }
+
+    public record SalaryLimits(BigDecimal maxSalary, BigDecimal maxIncreasePercent, BigDecimal maxDecreasePercent) {
+    }
+
+    /**
+     * @param rejections liczba odrzuconych pracowników według komunikatu reguły
+     */
+    public record ChunkResult(int updatedCount, Map<String, Long> rejections) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unieważnia cache drugiego poziomu po zapisach przez JdbcTemplate, których Hibernate nie widzi.
+ * Region jest czyszczony od razu i drugi raz po zakończeniu transakcji - inaczej równoległy odczyt
+ * mógłby między zapisem a commitem włożyć do cache jeszcze starą wersję wiersza.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictEmployees() {
+        evictEmployeeRegions();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictEmployeeRegions();
+                }
+            });
+        }
+    }
+
+    private void evictEmployeeRegions() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Employee.class);
+        cache.evictNaturalIdData(Employee.class);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class AuditService {
@@ -41,35 +42,57 @@ public class AuditService {
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSalaryUpdateAttempt(Long employeeId, String employeeName,
                                        Double oldSalary, Double newSalary) {
+        AuditLog log = salaryUpdateAttemptEntry(employeeId, employeeName, oldSalary, newSalary);
+        logEvent(log.getMessage(), log.getEventType(), log.getAffectedEntity(), employeeId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void logSalaryUpdateSuccess(Long employeeId, String employeeName,
+                                       Double oldSalary, Double newSalary) {
+        AuditLog log = salaryUpdateSuccessEntry(employeeId, employeeName, oldSalary, newSalary);
+        logEvent(log.getMessage(), log.getEventType(), log.getAffectedEntity(), employeeId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void logSalaryUpdateFailure(Long employeeId, String employeeName,
+                                       String errorMessage) {
+        AuditLog log = salaryUpdateFailureEntry(employeeId, employeeName, errorMessage);
+        logEvent(log.getMessage(), log.getEventType(), log.getAffectedEntity(), employeeId);
+    }
+
+    /**
+     * Zapisuje wpisy w bieżącej transakcji - audyt paczki zmian jest zatwierdzany razem z nią.
+     */
+    @Transactional
+    public void logEvents(List<AuditLog> logs) {
+        auditLogRepository.saveAll(logs);
+    }
+
+    public static AuditLog salaryUpdateAttemptEntry(Long employeeId, String employeeName,
+                                                    Double oldSalary, Double newSalary) {
         String message = String.format(
                 "Salary update attempt - Employee: %s (ID: %d), Old: %.2f, New: %.2f, Change: %.2f%%",
                 employeeName, employeeId, oldSalary, newSalary,
                 ((newSalary - oldSalary) / oldSalary * 100)
         );
-
-        logEvent(message, "SALARY_UPDATE_ATTEMPT", "Employee", employeeId);
+        return new AuditLog(message, "SALARY_UPDATE_ATTEMPT", "Employee", employeeId);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void logSalaryUpdateSuccess(Long employeeId, String employeeName,
-                                       Double oldSalary, Double newSalary) {
+    public static AuditLog salaryUpdateSuccessEntry(Long employeeId, String employeeName,
+                                                    Double oldSalary, Double newSalary) {
         String message = String.format(
                 "Salary updated successfully - Employee: %s (ID: %d), Old: %.2f, New: %.2f",
                 employeeName, employeeId, oldSalary, newSalary
         );
-
-        logEvent(message, "SALARY_UPDATE_SUCCESS", "Employee", employeeId);
+        return new AuditLog(message, "SALARY_UPDATE_SUCCESS", "Employee", employeeId);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void logSalaryUpdateFailure(Long employeeId, String employeeName,
-                                       String errorMessage) {
+    public static AuditLog salaryUpdateFailureEntry(Long employeeId, String employeeName, String errorMessage) {
         String message = String.format(
                 "Salary update failed - Employee: %s (ID: %d), Error: %s",
                 employeeName, employeeId, errorMessage
         );
-
-        logEvent(message, "SALARY_UPDATE_FAILURE", "Employee", employeeId);
+        return new AuditLog(message, "SALARY_UPDATE_FAILURE", "Employee", employeeId);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.techcorp.employee.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Liczniki regionów cache drugiego poziomu ze statystyk Hibernate (hibernate.generate_statistics).
+ */
+@Service
+public class CacheStatisticsService {
+
+    public static final List<String> REGIONS = List.of(
+            "employees.department", "employees.employee", "employees.employee-by-email");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @return dla każdego regionu: hits, misses, puts, hitRatio (w procentach) i entries
+     */
+    public Map<String, Map<String, Object>> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("hits", hits);
+            counters.put("misses", misses);
+            counters.put("puts", regionStatistics.getPutCount());
+            counters.put("hitRatio", hits + misses == 0 ? 0.0 : Math.round(hits * 1000.0 / (hits + misses)) / 10.0);
+            counters.put("entries", regionStatistics.getElementCountInMemory());
+            regions.put(region, counters);
+        }
+        return regions;
+    }
+}
@@ -4,6 +4,7 @@ import com.techcorp.employee.dto.DepartmentDTO;
 import com.techcorp.employee.model.Department;
 import com.techcorp.employee.model.Employee;
 import com.techcorp.employee.repository.DepartmentRepository;
+import com.techcorp.employee.repository.ReferenceDataCache;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -21,11 +22,14 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final EmployeeService employeeService;
+    private final ReferenceDataCache referenceDataCache;
 
     public DepartmentService(DepartmentRepository departmentRepository,
-                             EmployeeService employeeService) {
+                             EmployeeService employeeService,
+                             ReferenceDataCache referenceDataCache) {
         this.departmentRepository = departmentRepository;
         this.employeeService = employeeService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     public List<Department> getAllDepartments() {
@@ -148,6 +152,6 @@ public class DepartmentService {
     }
 
     public List<String> getAllDepartmentNames() {
-        return departmentRepository.findAllDepartmentNames();
+        return referenceDataCache.getDepartmentNames();
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.repository.EmployeeBulkRepository;
+import com.techcorp.employee.repository.EmployeeNameIndex;
+import com.techcorp.employee.repository.ReferenceDataCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Zapis paczki importowanych pracowników w jednej transakcji:
+ * jedno zapytanie o istniejące emaile i jeden batch INSERT na paczkę.
+ */
+@Service
+public class EmployeeBulkWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkWriter.class);
+
+    private final EmployeeBulkRepository employeeBulkRepository;
+    private final EmployeeNameIndex employeeNameIndex;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public EmployeeBulkWriter(EmployeeBulkRepository employeeBulkRepository, EmployeeNameIndex employeeNameIndex,
+                              ReferenceDataCache referenceDataCache) {
+        this.employeeBulkRepository = employeeBulkRepository;
+        this.employeeNameIndex = employeeNameIndex;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    /**
+     * Wstawia nowych pracowników z paczki. Wiersze z emailem już istniejącym w bazie
+     * (lub powtórzonym w tej samej paczce) są odrzucane tak jak w createEmployee.
+     * Błąd samego batcha wycofuje całą paczkę i jest rzucany dalej.
+     *
+     * @return liczba wstawionych wierszy i błędy według indeksu w przekazanej liście
+     */
+    @Transactional
+    public ChunkResult insertChunk(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : employees) {
+            emails.add(employee.getEmail());
+        }
+        Set<String> existingEmails = employeeBulkRepository.findExistingEmails(emails);
+
+        Map<Integer, String> rowErrors = new HashMap<>();
+        Set<String> seenInChunk = new HashSet<>();
+        List<Employee> toInsert = new ArrayList<>(employees.size());
+
+        for (int i = 0; i < employees.size(); i++) {
+            String email = employees.get(i).getEmail();
+            if (existingEmails.contains(email) || !seenInChunk.add(email)) {
+                rowErrors.put(i, "Employee with email " + email + " already exists");
+            } else {
+                toInsert.add(employees.get(i));
+            }
+        }
+
+        employeeBulkRepository.insertAll(toInsert);
+        employeeNameIndex.refreshEmails(emailsOf(toInsert));
+        if (!toInsert.isEmpty()) {
+            referenceDataCache.invalidateCompanies();
+        }
+        logger.debug("Chunk written: {} inserted, {} rejected", toInsert.size(), rowErrors.size());
+
+        return new ChunkResult(toInsert.size(), rowErrors);
+    }
+
+    /**
+     * Import różnicowy paczki: skróty istniejących pracowników są pobierane jednym zapytaniem,
+     * nowi są wstawiani, zmienieni aktualizowani batchem, a niezmienieni pomijani bez zapisu.
+     *
+     * @return liczniki oraz status każdego wiersza według indeksu w przekazanej liście
+     */
+    @Transactional
+    public DeltaChunkResult mergeChunk(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : employees) {
+            emails.add(employee.getEmail());
+        }
+        Map<String, String> existingHashes = employeeBulkRepository.findContentHashes(emails);
+
+        Map<Integer, String> rowErrors = new HashMap<>();
+        Map<Integer, RowOutcome> outcomes = new HashMap<>();
+        Set<String> seenInChunk = new HashSet<>();
+        List<Employee> toInsert = new ArrayList<>();
+        List<Employee> toUpdate = new ArrayList<>();
+
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            String email = employee.getEmail();
+            if (!seenInChunk.add(email)) {
+                rowErrors.put(i, "Employee with email " + email + " appears more than once in the file");
+            } else if (!existingHashes.containsKey(email)) {
+                toInsert.add(employee);
+                outcomes.put(i, RowOutcome.INSERTED);
+            } else if (employee.calculateContentHash().equals(existingHashes.get(email))) {
+                outcomes.put(i, RowOutcome.UNCHANGED);
+            } else {
+                toUpdate.add(employee);
+                outcomes.put(i, RowOutcome.UPDATED);
+            }
+        }
+
+        employeeBulkRepository.insertAll(toInsert);
+        employeeBulkRepository.updateAll(toUpdate);
+        List<Employee> written = new ArrayList<>(toInsert);
+        written.addAll(toUpdate);
+        employeeNameIndex.refreshEmails(emailsOf(written));
+        if (!written.isEmpty()) {
+            referenceDataCache.invalidateCompanies();
+        }
+        logger.debug("Delta chunk written: {} inserted, {} updated, {} unchanged, {} rejected",
+                toInsert.size(), toUpdate.size(), outcomes.size() - toInsert.size() - toUpdate.size(), rowErrors.size());
+
+        return new DeltaChunkResult(outcomes, rowErrors);
+    }
+
+    private static Set<String> emailsOf(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : employees) {
+            emails.add(employee.getEmail());
+        }
+        return emails;
+    }
+
+    public record ChunkResult(int insertedCount, Map<Integer, String> rowErrors) {
+    }
+
+    public enum RowOutcome {
+        INSERTED,
+        UPDATED,
+        UNCHANGED
+    }
+
+    public record DeltaChunkResult(Map<Integer, RowOutcome> outcomes, Map<Integer, String> rowErrors) {
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +19,12 @@ import java.util.Optional;
 @Validated
 public class EmployeeFormService {
 
+    // Stanowiska i statusy to enumy - jedna niezmienna instancja zamiast nowych list przy każdym widoku
+    private static final EmployeeFormData FORM_DATA = new EmployeeFormData(
+            List.of(Position.values()),
+            List.of(EmploymentStatus.values())
+    );
+
     private final EmployeeService employeeService;
     private final DepartmentRepository departmentRepository; // ✅ DODAJ
 
@@ -30,10 +35,7 @@ public class EmployeeFormService {
     }
 
     public EmployeeFormData getFormData() {
-        return new EmployeeFormData(
-                Arrays.asList(Position.values()),
-                Arrays.asList(EmploymentStatus.values())
-        );
+        return FORM_DATA;
     }
 
     public Employee convertToEntity(
@@ -2,16 +2,24 @@ package com.techcorp.employee.service;
 
 import com.techcorp.employee.dto.EmployeeListView;
 import com.techcorp.employee.dto.CompanyStatisticsDTO;
+import com.techcorp.employee.dto.KeysetSlice;
 import com.techcorp.employee.exception.*;
 import com.techcorp.employee.model.*;
+import com.techcorp.employee.repository.CompanyStatsRepository;
+import com.techcorp.employee.repository.EmployeeKeysetRepository;
+import com.techcorp.employee.repository.EmployeeNameIndex;
+import com.techcorp.employee.repository.EmployeeProjectionRepository;
 import com.techcorp.employee.repository.EmployeeRepository;
+import com.techcorp.employee.repository.KeysetCursor;
 import com.techcorp.employee.repository.DepartmentRepository;
+import com.techcorp.employee.repository.ReferenceDataCache;
 import com.techcorp.employee.specification.EmployeeSpecification;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -35,14 +43,29 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final FileStorageService fileStorageService;
+    private final EmployeeKeysetRepository employeeKeysetRepository;
+    private final EmployeeNameIndex employeeNameIndex;
+    private final EmployeeProjectionRepository employeeProjectionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final CompanyStatsRepository companyStatsRepository;
 
     @Autowired
     public EmployeeService(EmployeeRepository employeeRepository,
                            DepartmentRepository departmentRepository,
-                           FileStorageService fileStorageService) {
+                           FileStorageService fileStorageService,
+                           EmployeeKeysetRepository employeeKeysetRepository,
+                           EmployeeNameIndex employeeNameIndex,
+                           EmployeeProjectionRepository employeeProjectionRepository,
+                           ReferenceDataCache referenceDataCache,
+                           CompanyStatsRepository companyStatsRepository) {
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
         this.fileStorageService = fileStorageService;
+        this.employeeKeysetRepository = employeeKeysetRepository;
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeProjectionRepository = employeeProjectionRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.companyStatsRepository = companyStatsRepository;
     }
 
     // ===== OPERACJE MATEMATYCZNE PRZEZ SQL =====
@@ -107,18 +130,18 @@ public class EmployeeService {
 
 
     public List<CompanyStatisticsDTO> getAllCompanyStatisticsDTO() {
-        return employeeRepository.getCompanyStatisticsDTO();
+        return companyStatsRepository.findAll();
     }
 
 
     public Optional<CompanyStatisticsDTO> getCompanyStatisticsDTO(String company) {
         validateCompany(company);
-        return employeeRepository.getCompanyStatisticsDTO(company);
+        return companyStatsRepository.findByCompany(company);
     }
 
     public CompanyStatistics getCompanyStatistics(String company) {
         validateCompany(company);
-        Optional<CompanyStatisticsDTO> dtoOpt = employeeRepository.getCompanyStatisticsDTO(company);
+        Optional<CompanyStatisticsDTO> dtoOpt = companyStatsRepository.findByCompany(company);
 
         if (dtoOpt.isPresent()) {
             CompanyStatisticsDTO dto = dtoOpt.get();
@@ -137,7 +160,7 @@ public class EmployeeService {
 
 
     public List<CompanyStatistics> getAllCompanyStatistics() {
-        List<CompanyStatisticsDTO> dtos = employeeRepository.getCompanyStatisticsDTO();
+        List<CompanyStatisticsDTO> dtos = companyStatsRepository.findAll();
         return dtos.stream()
                 .map(dto -> {
                     CompanyStatistics stats = new CompanyStatistics(
@@ -154,7 +177,7 @@ public class EmployeeService {
 
 
     public Map<String, CompanyStatistics> getCompanyStatisticsMap() {
-        List<CompanyStatisticsDTO> dtos = employeeRepository.getCompanyStatisticsDTO();
+        List<CompanyStatisticsDTO> dtos = companyStatsRepository.findAll();
         return dtos.stream()
                 .collect(Collectors.toMap(
                         CompanyStatisticsDTO::getCompanyName,
@@ -255,6 +278,54 @@ public class EmployeeService {
         return employeeRepository.findByCompanyProjection(company, pageable);
     }
 
+    // ===== STRONICOWANIE KEYSET (BEZ OFFSET I COUNT) =====
+
+    public KeysetSlice<EmployeeListView> getEmployeesByStatusKeyset(EmploymentStatus status, Sort sort,
+                                                                    int size, String pageToken) {
+        return findKeysetSlice(EmployeeSpecification.withStatus(status), sort, size, pageToken);
+    }
+
+    public KeysetSlice<EmployeeListView> getEmployeesByCompanyKeyset(String company, Sort sort,
+                                                                     int size, String pageToken) {
+        validateCompany(company);
+        return findKeysetSlice((root, query, cb) -> cb.equal(root.get("company"), company), sort, size, pageToken);
+    }
+
+    public KeysetSlice<EmployeeListView> searchEmployeesKeyset(
+            String name, String company, Position position, EmploymentStatus status,
+            Double minSalary, Double maxSalary, String departmentName,
+            Sort sort, int size, String pageToken) {
+
+        if ("null".equalsIgnoreCase(departmentName)) {
+            departmentName = null;
+        }
+        Specification<Employee> spec = buildSearchSpecification(name, company, position, status,
+                minSalary, maxSalary, departmentName);
+        return findKeysetSlice(spec, sort, size, pageToken);
+    }
+
+    private KeysetSlice<EmployeeListView> findKeysetSlice(Specification<Employee> filter, Sort sort,
+                                                          int size, String pageToken) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Sort.Order order = sort.stream().findFirst()
+                .orElse(Sort.Order.asc(EmployeeKeysetRepository.DEFAULT_SORT_FIELD));
+        if (!EmployeeKeysetRepository.SORT_FIELDS.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Keyset pagination supports sorting by: "
+                    + EmployeeKeysetRepository.SORT_FIELDS);
+        }
+
+        KeysetCursor cursor = null;
+        if (pageToken != null && !pageToken.isBlank()) {
+            cursor = KeysetCursor.decode(pageToken);
+            if (!cursor.sortField().equals(order.getProperty()) || cursor.ascending() != order.isAscending()) {
+                throw new IllegalArgumentException("Page token does not match requested sort");
+            }
+        }
+        return employeeKeysetRepository.findSlice(filter, order, size, cursor);
+    }
+
     public Page<Employee> getEmployeesByStatus(EmploymentStatus status, Pageable pageable) {
         return employeeRepository.findByStatus(status, pageable);
     }
@@ -482,9 +553,14 @@ public class EmployeeService {
                 if (!employeeRepository.existsByEmail(employee.getEmail())) {
                     employeeRepository.save(employee);
                 } else {
-                    // Aktualizuj istniejącego pracownika
+                    // Aktualizuj istniejącego pracownika - tylko gdy dane się zmieniły
                     Employee existing = employeeRepository.findByEmail(employee.getEmail()).get();
+                    if (existing.calculateContentHash().equals(employee.calculateContentHash())) {
+                        continue;
+                    }
                     employee.setId(existing.getId());
+                    // bez wersji Spring Data uznałby encję za nową i próbował INSERT
+                    employee.setVersion(existing.getVersion());
                     employeeRepository.save(employee);
                 }
             } catch (Exception e) {
@@ -608,7 +684,7 @@ public class EmployeeService {
     }
 
     public List<String> getAllUniqueCompanies() {
-        return employeeRepository.findDistinctCompanies();
+        return referenceDataCache.getCompanies();
     }
 
 
@@ -616,10 +692,23 @@ public class EmployeeService {
             String name, String company, Position position, EmploymentStatus status,
             Double minSalary, Double maxSalary, String departmentName, Pageable pageable) {
 
+        Specification<Employee> spec = buildSearchSpecification(name, company, position, status,
+                minSalary, maxSalary, departmentName);
+        return employeeRepository.findAll(spec, pageable);
+    }
+
+    private Specification<Employee> buildSearchSpecification(
+            String name, String company, Position position, EmploymentStatus status,
+            Double minSalary, Double maxSalary, String departmentName) {
+
         Specification<Employee> spec = Specification.where(null);
 
         if (name != null && !name.trim().isEmpty()) {
-            spec = spec.and(EmployeeSpecification.hasName(name));
+            // indeks trigramów zawęża LIKE '%x%' do kandydatów; bez niego (krótki lub mało selektywny fragment) - skan
+            Specification<Employee> nameSpec = employeeNameIndex.findCandidates(name)
+                    .map(candidateIds -> EmployeeSpecification.hasNameIn(name, candidateIds))
+                    .orElseGet(() -> EmployeeSpecification.hasName(name));
+            spec = spec.and(nameSpec);
         }
 
         if (company != null && !company.trim().isEmpty()) {
@@ -646,7 +735,7 @@ public class EmployeeService {
             spec = spec.and(EmployeeSpecification.inDepartment(departmentName));
         }
 
-        return employeeRepository.findAll(spec, pageable);
+        return spec;
     }
 
 
@@ -704,9 +793,10 @@ public class EmployeeService {
                 minSalary, maxSalary, departmentName)) {
             return employeeRepository.findAllProjection(pageable);
         } else {
-            return employeeRepository.findWithFiltersProjection(
-                    name, company, position, status, minSalary, maxSalary,
-                    departmentName, pageable);
+            // tylko podane filtry trafiają do WHERE - każda kombinacja dostaje własny plan
+            Specification<Employee> spec = buildSearchSpecification(name, company, position, status,
+                    minSalary, maxSalary, departmentName);
+            return employeeProjectionRepository.findPage(spec, pageable);
         }
     }
 
@@ -106,6 +106,21 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Zapis strumieniowy pod wygenerowaną nazwą - treść trafia do pliku tymczasowego
+     * i jest widoczna w podkatalogu dopiero po StagedFile.commit().
+     */
+    public StagedFile createStagedFile(MultipartFile file, String subdirectory) {
+        validateFile(file);
+
+        String fileName = generateFileName(file, false);
+        try {
+            return new StagedFile(resolvePath(subdirectory), fileName);
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not store file " + file.getOriginalFilename(), ex);
+        }
+    }
+
     public String storeFileWithCustomName(
             @NotNull MultipartFile file,
             @NotBlank String subdirectory,
@@ -302,7 +317,10 @@ public class FileStorageService {
 
         boolean isValid = false;
         for (String extension : allowedExtensions) {
-            if (fileExtension.equals(extension.toLowerCase())) {
+            // Rozszerzenia złożone (np. .csv.gz) porównywane są z końcówką nazwy
+            boolean compound = extension.lastIndexOf('.') > 0;
+            if (compound ? fileName != null && fileName.toLowerCase().endsWith(extension.toLowerCase())
+                    : fileExtension.equals(extension.toLowerCase())) {
                 isValid = true;
                 break;
             }
@@ -0,0 +1,108 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.exception.FileStorageException;
+import com.techcorp.employee.exception.InvalidFileException;
+import com.techcorp.employee.model.ImportCheckpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Checkpointy importu trzymane jako pliki properties obok zapisanego uploadu
+ * (uploads/uploads/checkpoints), więc przetrwają restart aplikacji razem z samym plikiem.
+ * Zapis idzie przez plik tymczasowy i atomowe przeniesienie - przerwany zapis nie psuje checkpointu.
+ */
+@Service
+public class ImportCheckpointService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportCheckpointService.class);
+
+    private static final Pattern STORED_FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final FileStorageService fileStorageService;
+
+    public ImportCheckpointService(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+    }
+
+    public void save(ImportCheckpoint checkpoint) {
+        Properties properties = new Properties();
+        properties.setProperty("storedFileName", checkpoint.getStoredFileName());
+        properties.setProperty("type", checkpoint.getType());
+        properties.setProperty("fileName", checkpoint.getFileName() != null ? checkpoint.getFileName() : "");
+        properties.setProperty("lastCommittedLine", String.valueOf(checkpoint.getLastCommittedLine()));
+        properties.setProperty("rowsProcessed", String.valueOf(checkpoint.getRowsProcessed()));
+        properties.setProperty("importedCount", String.valueOf(checkpoint.getImportedCount()));
+        properties.setProperty("errorCount", String.valueOf(checkpoint.getErrorCount()));
+        properties.setProperty("delta", String.valueOf(checkpoint.isDelta()));
+        properties.setProperty("updatedAt", checkpoint.getUpdatedAt().toString());
+
+        Path target = resolve(checkpoint.getStoredFileName());
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), checkpoint.getStoredFileName(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Import checkpoint");
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not save import checkpoint for " + checkpoint.getStoredFileName(), e);
+        }
+        logger.debug("Checkpoint {} at line {}", checkpoint.getStoredFileName(), checkpoint.getLastCommittedLine());
+    }
+
+    public Optional<ImportCheckpoint> load(String storedFileName) {
+        Path path = resolve(storedFileName);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not read import checkpoint for " + storedFileName, e);
+        }
+
+        return Optional.of(new ImportCheckpoint(
+                properties.getProperty("storedFileName"),
+                properties.getProperty("type"),
+                properties.getProperty("fileName"),
+                Integer.parseInt(properties.getProperty("lastCommittedLine")),
+                Integer.parseInt(properties.getProperty("rowsProcessed")),
+                Integer.parseInt(properties.getProperty("importedCount")),
+                Integer.parseInt(properties.getProperty("errorCount")),
+                Boolean.parseBoolean(properties.getProperty("delta", "false")),
+                LocalDateTime.parse(properties.getProperty("updatedAt"))
+        ));
+    }
+
+    public void delete(String storedFileName) {
+        try {
+            Files.deleteIfExists(resolve(storedFileName));
+        } catch (IOException e) {
+            throw new FileStorageException("Could not delete import checkpoint for " + storedFileName, e);
+        }
+    }
+
+    private Path resolve(String storedFileName) {
+        // Nazwa przychodzi z URL przy wznawianiu - bez separatorów ścieżki
+        if (storedFileName == null || !STORED_FILE_NAME.matcher(storedFileName).matches()) {
+            throw new InvalidFileException("Invalid stored file name: " + storedFileName);
+        }
+        return fileStorageService.getFileStorageLocation()
+                .resolve("uploads").resolve("checkpoints")
+                .resolve(storedFileName + ".checkpoint");
+    }
+}
@@ -0,0 +1,122 @@
+package com.techcorp.employee.service;
+
+import com.opencsv.CSVWriter;
+import com.techcorp.employee.model.ImportError;
+import com.techcorp.employee.model.ImportSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Pełna lista błędów importu w pliku CSV w katalogu raportów. Plik powstaje dopiero
+ * przy pierwszym błędzie, który nie mieści się w próbce ImportSummary - zapisuje wtedy
+ * całą próbkę i dalej dopisuje każdy kolejny błąd. Obsługa tylko z wątku importu.
+ * Przy tworzeniu nowego pliku usuwane są pliki błędów starsze niż retencja - katalog raportów
+ * trzyma więc tylko listy z importów z okna retencji.
+ */
+class ImportErrorFile implements Consumer<ImportError>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportErrorFile.class);
+
+    static final Pattern FILE_NAME_PATTERN = Pattern.compile("import-errors-[0-9a-f-]{36}\\.csv");
+    private static final String[] HEADER = {"line", "location", "field", "code", "message"};
+
+    private final ImportSummary summary;
+    private final Path reportsDirectory;
+    private final Duration retention;
+    private CSVWriter writer;
+    private String fileName;
+    private boolean failed;
+
+    private ImportErrorFile(ImportSummary summary, Path reportsDirectory, Duration retention) {
+        this.summary = summary;
+        this.reportsDirectory = reportsDirectory;
+        this.retention = retention;
+    }
+
+    static ImportErrorFile attachTo(ImportSummary summary, Path reportsDirectory, Duration retention) {
+        ImportErrorFile errorFile = new ImportErrorFile(summary, reportsDirectory, retention);
+        summary.setErrorOverflowHandler(errorFile);
+        return errorFile;
+    }
+
+    @Override
+    public void accept(ImportError error) {
+        if (failed) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                open();
+            }
+            writeRow(error);
+        } catch (IOException | RuntimeException e) {
+            // Brak pliku nie może przerwać importu - liczniki i próbka w podsumowaniu zostają
+            logger.warn("Could not write import error file {}, further errors are only counted", fileName, e);
+            failed = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        summary.setErrorOverflowHandler(null);
+        if (writer == null) {
+            return;
+        }
+        try {
+            // CSVWriter nie rzuca wyjątków przy zapisie - błąd I/O widać dopiero tutaj
+            failed |= writer.checkError();
+            writer.close();
+            if (!failed) {
+                summary.setErrorFile(fileName);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not close import error file {}", fileName, e);
+        }
+    }
+
+    private void open() throws IOException {
+        deleteExpired();
+        fileName = "import-errors-" + UUID.randomUUID() + ".csv";
+        writer = new CSVWriter(Files.newBufferedWriter(reportsDirectory.resolve(fileName), StandardCharsets.UTF_8));
+        writer.writeNext(HEADER);
+        for (ImportError sampled : summary.getErrorDetails()) {
+            writeRow(sampled);
+        }
+    }
+
+    private void deleteExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(reportsDirectory, "import-errors-*.csv")) {
+            for (Path file : files) {
+                if (FILE_NAME_PATTERN.matcher(file.getFileName().toString()).matches()
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            // Nieusunięte pliki zostaną do następnej próby - nowy plik błędów i tak powstaje
+            logger.warn("Could not delete expired import error files in {}", reportsDirectory, e);
+        }
+    }
+
+    private void writeRow(ImportError error) {
+        writer.writeNext(new String[]{
+                String.valueOf(error.getLineNumber()),
+                error.getLocation(),
+                error.getField(),
+                error.getCode().name(),
+                error.getMessage()
+        });
+    }
+}
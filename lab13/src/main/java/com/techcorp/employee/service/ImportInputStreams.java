@@ -0,0 +1,104 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.exception.InvalidFileException;
+import org.apache.commons.io.input.ProxyInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Rozpakowanie plików importu w locie: .gz przez GZIPInputStream, .zip z jednym wpisem
+ * przez ZipInputStream. Parser czyta dane strumieniowo - plik nigdy nie jest rozpakowywany
+ * w całości na dysk ani do pamięci, a limit rozmiaru po rozpakowaniu chroni przed bombą kompresji.
+ */
+final class ImportInputStreams {
+
+    static final String GZIP_SUFFIX = ".gz";
+    static final String ZIP_SUFFIX = ".zip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ImportInputStreams() {
+    }
+
+    /**
+     * Rozszerzenia przyjmowane dla importu danego formatu, np. .csv, .csv.gz i .zip.
+     */
+    static String[] allowedExtensions(String dataExtension) {
+        return new String[]{dataExtension, dataExtension + GZIP_SUFFIX, ZIP_SUFFIX};
+    }
+
+    /**
+     * @param fileName      nazwa pliku (oryginalna lub zapisana w uploads) - decyduje o sposobie rozpakowania
+     * @param dataExtension rozszerzenie danych wewnątrz archiwum ZIP, np. .csv
+     */
+    static InputStream open(InputStream raw, String fileName, String dataExtension, long maxUncompressedBytes)
+            throws IOException {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(GZIP_SUFFIX)) {
+            return new LimitedInputStream(new GZIPInputStream(raw, BUFFER_SIZE), maxUncompressedBytes);
+        }
+        if (name.endsWith(ZIP_SUFFIX)) {
+            return new LimitedInputStream(openSingleEntry(new ZipInputStream(raw), dataExtension), maxUncompressedBytes);
+        }
+        return raw;
+    }
+
+    private static InputStream openSingleEntry(ZipInputStream zip, String dataExtension) throws IOException {
+        ZipEntry entry = zip.getNextEntry();
+        while (entry != null && entry.isDirectory()) {
+            entry = zip.getNextEntry();
+        }
+        if (entry == null) {
+            throw new InvalidFileException("ZIP archive is empty");
+        }
+        if (!entry.getName().toLowerCase(Locale.ROOT).endsWith(dataExtension)) {
+            throw new InvalidFileException("ZIP archive must contain a " + dataExtension + " file, found: " + entry.getName());
+        }
+        return new SingleEntryInputStream(zip);
+    }
+
+    /**
+     * ZipInputStream zwraca -1 na końcu wpisu - kolejny wpis oznacza archiwum z wieloma plikami.
+     * Central directory jest na końcu archiwum, więc przy strumieniu sprawdzamy to dopiero po pierwszym wpisie.
+     */
+    private static class SingleEntryInputStream extends ProxyInputStream {
+        private final ZipInputStream zip;
+
+        SingleEntryInputStream(ZipInputStream zip) {
+            super(zip);
+            this.zip = zip;
+        }
+
+        @Override
+        protected void afterRead(int n) throws IOException {
+            if (n == -1 && zip.getNextEntry() != null) {
+                throw new InvalidFileException("ZIP archive must contain a single file");
+            }
+        }
+    }
+
+    private static class LimitedInputStream extends ProxyInputStream {
+        private final long maxBytes;
+        private long bytesRead;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        protected void afterRead(int n) {
+            if (n > 0) {
+                bytesRead += n;
+                if (bytesRead > maxBytes) {
+                    throw new InvalidFileException("Uncompressed import exceeds limit of " + maxBytes + " bytes");
+                }
+            }
+        }
+    }
+}
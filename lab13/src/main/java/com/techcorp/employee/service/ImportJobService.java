@@ -0,0 +1,263 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.exception.FileNotFoundException;
+import com.techcorp.employee.model.ImportCheckpoint;
+import com.techcorp.employee.model.ImportJob;
+import com.techcorp.employee.model.ImportJobStatus;
+import com.techcorp.employee.model.ImportSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchroniczne zadania importu: plik jest walidowany i zapisywany w uploads w wątku żądania,
+ * a sam import wykonuje ograniczona pula importJobExecutor. Stan zadań trzymany jest w pamięci.
+ * Po każdej zatwierdzonej paczce zapisywany jest checkpoint, więc przerwany import
+ * (restart, wycofana paczka, anulowanie) można wznowić od ostatniej zatwierdzonej linii.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    private static final long MAX_FILE_SIZE = 10L * 1024 * 1024; // 10MB
+
+    private final ImportService importService;
+    private final FileStorageService fileStorageService;
+    private final ImportCheckpointService checkpointService;
+    private final Executor importJobExecutor;
+    private final int retainedJobs;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Object resumeLock = new Object();
+
+    public ImportJobService(ImportService importService,
+                            FileStorageService fileStorageService,
+                            ImportCheckpointService checkpointService,
+                            @Qualifier("importJobExecutor") Executor importJobExecutor,
+                            @Value("${app.import.jobs.retained:100}") int retainedJobs) {
+        this.importService = importService;
+        this.fileStorageService = fileStorageService;
+        this.checkpointService = checkpointService;
+        this.importJobExecutor = importJobExecutor;
+        this.retainedJobs = retainedJobs;
+    }
+
+    public ImportJob submitCsvImport(MultipartFile file) {
+        return submitCsvImport(file, ImportOptions.DEFAULT);
+    }
+
+    public ImportJob submitCsvImport(MultipartFile file, ImportOptions options) {
+        return submit(file, "CSV", ".csv", options);
+    }
+
+    public ImportJob submitXmlImport(MultipartFile file) {
+        return submitXmlImport(file, ImportOptions.DEFAULT);
+    }
+
+    public ImportJob submitXmlImport(MultipartFile file, ImportOptions options) {
+        return submit(file, "XML", ".xml", options);
+    }
+
+    /**
+     * Wznawia import zapisanego pliku od ostatniego checkpointu jako nowe zadanie.
+     */
+    public ImportJob resumeImport(String storedFileName) {
+        ImportCheckpoint checkpoint = getCheckpoint(storedFileName)
+                .orElseThrow(() -> new FileNotFoundException("No import checkpoint for file: " + storedFileName));
+
+        ImportJob job;
+        // Sprawdzenie i rejestracja razem - dwa równoległe wznowienia nie mogą obu przejść sprawdzenia
+        synchronized (resumeLock) {
+            boolean alreadyRunning = jobs.values().stream()
+                    .anyMatch(existing -> storedFileName.equals(existing.getStoredFileName()) && !existing.isFinished());
+            if (alreadyRunning) {
+                throw new IllegalArgumentException("Import of " + storedFileName + " is already in progress");
+            }
+
+            job = new ImportJob(UUID.randomUUID().toString(), checkpoint.getType(), checkpoint.getFileName(),
+                    storedFileName, checkpoint.getLastCommittedLine());
+            enqueue(job, checkpoint);
+        }
+
+        logger.info("Resuming import of {} from line {} as job {}", storedFileName,
+                checkpoint.getLastCommittedLine(), job.getId());
+        return job;
+    }
+
+    public Optional<ImportCheckpoint> getCheckpoint(String storedFileName) {
+        return checkpointService.load(storedFileName);
+    }
+
+    public Optional<ImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * @return zadanie po zgłoszeniu anulowania albo pusty wynik gdy nie istnieje
+     */
+    public Optional<ImportJob> cancelJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.cancel() && job.isFinished() && job.getResumedFromLine() == 0) {
+            // Nowe zadanie anulowane w kolejce - nie ma czego wznawiać
+            discardUpload(job.getStoredFileName());
+        }
+        return Optional.of(job);
+    }
+
+    // ===== PRYWATNE METODY =====
+
+    private ImportJob submit(MultipartFile file, String type, String extension, ImportOptions options) {
+        if (options.dryRun()) {
+            // próba nie zapisuje danych ani checkpointów - raport zwracany jest od razu w odpowiedzi
+            throw new IllegalArgumentException("Dry run is not supported for asynchronous imports");
+        }
+        fileStorageService.validateFile(file);
+        fileStorageService.validateFileType(file, ImportInputStreams.allowedExtensions(extension));
+        fileStorageService.validateFileSize(file, MAX_FILE_SIZE);
+
+        // MultipartFile jest ważny tylko do końca żądania - import czyta kopię z uploads
+        String storedFileName = fileStorageService.storeFile(file, "uploads");
+        ImportCheckpoint checkpoint = ImportCheckpoint.start(storedFileName, type, file.getOriginalFilename(), options.delta());
+        checkpointService.save(checkpoint);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), type, file.getOriginalFilename(), storedFileName);
+        try {
+            enqueue(job, checkpoint);
+        } catch (RejectedExecutionException e) {
+            discardUpload(storedFileName);
+            logger.warn("Import job queue is full, rejected {}", file.getOriginalFilename());
+            throw e;
+        }
+
+        logger.info("Queued {} import job {} for {}", type, job.getId(), file.getOriginalFilename());
+        return job;
+    }
+
+    private void enqueue(ImportJob job, ImportCheckpoint checkpoint) {
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        try {
+            importJobExecutor.execute(() -> runJob(job, checkpoint));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+    }
+
+    private void runJob(ImportJob job, ImportCheckpoint start) {
+        if (!job.markRunning()) {
+            return;
+        }
+
+        CheckpointingListener listener = new CheckpointingListener(job, start);
+        ImportOptions options = new ImportOptions(start.isDelta(), false);
+        boolean resumable;
+        try {
+            ImportSummary summary = "XML".equals(job.getType())
+                    ? importService.importStoredXmlFile(job.getStoredFileName(), start.getLastCommittedLine(), options, listener)
+                    : importService.importStoredCsvFile(job.getStoredFileName(), start.getLastCommittedLine(), options, listener);
+            if (listener.stopReason != null) {
+                job.fail(listener.stopReason + " - resume from line " + listener.checkpoint.getLastCommittedLine(), summary);
+                resumable = true;
+            } else {
+                job.complete(summary);
+                resumable = job.getStatus() == ImportJobStatus.CANCELLED;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Import job {} failed", job.getId(), e);
+            job.fail("Import failed: " + e.getMessage());
+            resumable = true;
+        }
+
+        ImportCheckpoint last = listener.checkpoint;
+        if (resumable && last.getRowsProcessed() > 0) {
+            logger.info("Import job {} stopped at line {}, upload {} kept for resume",
+                    job.getId(), last.getLastCommittedLine(), job.getStoredFileName());
+        } else if (last.getImportedCount() > 0) {
+            // Plik doczytany do końca - checkpoint nie jest już potrzebny, plik zostaje jak przy imporcie synchronicznym
+            checkpointService.delete(job.getStoredFileName());
+        } else {
+            discardUpload(job.getStoredFileName());
+        }
+        logger.info("Import job {} finished with status {}", job.getId(), job.getStatus());
+    }
+
+    private void discardUpload(String storedFileName) {
+        checkpointService.delete(storedFileName);
+        fileStorageService.deleteFile(storedFileName, "uploads");
+    }
+
+    /**
+     * Usuwa najstarsze zakończone zadania ponad limit, żeby mapa nie rosła bez końca.
+     */
+    private void evictFinishedJobs() {
+        long finished = jobs.values().stream().filter(ImportJob::isFinished).count();
+        if (finished < retainedJobs) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparing(ImportJob::getFinishedAt))
+                .limit(finished - retainedJobs + 1)
+                .map(ImportJob::getId)
+                .toList()
+                .forEach(jobs::remove);
+    }
+
+    /**
+     * Aktualizuje postęp zadania i zapisuje checkpoint po każdej zatwierdzonej paczce.
+     * Wycofana paczka lub błąd zapisu checkpointu zatrzymuje import, żeby checkpoint
+     * nie przeskoczył niezapisanych wierszy.
+     */
+    private class CheckpointingListener implements ImportProgressListener {
+        private final ImportJob job;
+        private final ImportCheckpoint start;
+        private volatile ImportCheckpoint checkpoint;
+        private volatile String stopReason;
+
+        CheckpointingListener(ImportJob job, ImportCheckpoint start) {
+            this.job = job;
+            this.start = start;
+            this.checkpoint = start;
+        }
+
+        @Override
+        public void onChunkPersisted(int lastLineNumber, int rowsProcessed, ImportSummary summary) {
+            job.updateProgress(rowsProcessed, summary.getImportedCount(), summary.getErrorCount());
+            ImportCheckpoint next = start.next(lastLineNumber, rowsProcessed,
+                    summary.getImportedCount(), summary.getErrorCount());
+            try {
+                checkpointService.save(next);
+                checkpoint = next;
+            } catch (RuntimeException e) {
+                logger.error("Could not save checkpoint for {}", job.getStoredFileName(), e);
+                stopReason = "Checkpoint save failed at line " + lastLineNumber;
+            }
+        }
+
+        @Override
+        public void onChunkRolledBack(int firstLineNumber, String reason) {
+            stopReason = "Chunk starting at line " + firstLineNumber + " rolled back: " + reason;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return stopReason != null || job.isCancelRequested();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.techcorp.employee.service;
+
+/**
+ * Opcje przebiegu importu.
+ *
+ * @param delta  import różnicowy - nowi pracownicy są wstawiani, zmienieni aktualizowani,
+ *               a niezmienieni (ten sam skrót treści) pomijani bez zapisu
+ * @param dryRun import próbny - parsowanie, walidacja i sprawdzenie emaili w bazie bez żadnego zapisu;
+ *               wynik to prognoza liczników i zmierzona przepustowość (ImportSummary.dryRunReport)
+ */
+public record ImportOptions(boolean delta, boolean dryRun) {
+
+    public static final ImportOptions DEFAULT = new ImportOptions(false, false);
+    public static final ImportOptions DELTA = new ImportOptions(true, false);
+}
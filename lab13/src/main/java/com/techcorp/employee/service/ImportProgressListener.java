@@ -0,0 +1,33 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.model.ImportSummary;
+
+/**
+ * Obserwator postępu importu. Wywoływany w wątku importu po zapisaniu każdej paczki.
+ */
+public interface ImportProgressListener {
+
+    ImportProgressListener NONE = new ImportProgressListener() {
+    };
+
+    /**
+     * @param lastLineNumber numer ostatniej linii (elementu XML) zatwierdzonej paczki
+     * @param rowsProcessed  liczba wierszy z zatwierdzonych paczek w tym przebiegu
+     */
+    default void onChunkPersisted(int lastLineNumber, int rowsProcessed, ImportSummary summary) {
+    }
+
+    /**
+     * Paczka zaczynająca się od {@code firstLineNumber} została wycofana w całości.
+     */
+    default void onChunkRolledBack(int firstLineNumber, String reason) {
+    }
+
+    /**
+     * Sprawdzane przed każdym kolejnym wierszem i paczką - true kończy import,
+     * a wiersze jeszcze niezapisane są porzucane.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
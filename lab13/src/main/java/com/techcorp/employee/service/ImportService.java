@@ -3,38 +3,68 @@
 
 package com.techcorp.employee.service;
 
+import com.techcorp.employee.exception.DuplicateEmailException;
+import com.techcorp.employee.exception.FileNotFoundException;
+import com.techcorp.employee.exception.ImportRowException;
 import com.techcorp.employee.exception.InvalidDataException;
 import com.techcorp.employee.exception.InvalidFileException;
+import com.techcorp.employee.model.DryRunReport;
 import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.ImportError;
+import com.techcorp.employee.model.ImportErrorCode;
 import com.techcorp.employee.model.ImportSummary;
 import com.techcorp.employee.model.Position;
+import com.techcorp.employee.repository.EmployeeBulkLoadRepository;
+import com.techcorp.employee.repository.EmployeeBulkRepository;
+import com.techcorp.employee.repository.EmployeeNameIndex;
+import com.techcorp.employee.repository.ReferenceDataCache;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.TeeInputStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import jakarta.validation.Validator;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartFile;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -43,6 +73,9 @@ import java.util.stream.Collectors;
 public class ImportService {
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
     private static final int EXPECTED_CSV_FIELDS = 6; // 6 pól: firstName,lastName,email,company,position,salary
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final String CSV_ROW_LABEL = "Line ";
+    private static final String XML_ROW_LABEL = "Employee element ";
 
     private final EmployeeService employeeService;
 
@@ -52,6 +85,43 @@ public class ImportService {
     @Autowired
     private Validator validator;
 
+    @Autowired
+    private EmployeeBulkWriter employeeBulkWriter;
+
+    @Autowired
+    private EmployeeBulkRepository employeeBulkRepository;
+
+    @Value("${app.import.bulk-insert:false}")
+    private boolean bulkInsert;
+
+    @Autowired(required = false)
+    @Qualifier("importParseExecutor")
+    private Executor parseExecutor;
+
+    @Value("${app.import.chunk-size:" + DEFAULT_CHUNK_SIZE + "}")
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    @Value("${app.import.max-sample-errors:" + ImportSummary.DEFAULT_MAX_SAMPLE_ERRORS + "}")
+    private int maxSampleErrors = ImportSummary.DEFAULT_MAX_SAMPLE_ERRORS;
+
+    @Value("${app.import.max-uncompressed-size:200MB}")
+    private DataSize maxUncompressedSize = DataSize.ofMegabytes(200);
+
+    @Value("${app.import.error-file-retention:24h}")
+    private Duration errorFileRetention = Duration.ofHours(24);
+
+    @Autowired
+    private EmployeeBulkLoadRepository employeeBulkLoadRepository;
+
+    @Autowired
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Value("${app.import.csv-file:employees.csv}")
+    private String seedCsvFile;
+
     public ImportService(EmployeeService employeeService) {
         this.employeeService = employeeService;
     }
@@ -59,142 +129,572 @@ public class ImportService {
     // ===== METODY DO OBSŁUGI MULTIPART FILE =====
 
     public ImportSummary importCsvFile(
-            @NotNull MultipartFile file) {        ImportSummary summary = new ImportSummary();
-        String savedFileName = null;
+            @NotNull MultipartFile file) {
+        return importCsvFile(file, ImportOptions.DEFAULT);
+    }
+
+    public ImportSummary importCsvFile(
+            @NotNull MultipartFile file, @NotNull ImportOptions options) {
+        ImportSummary summary = new ImportSummary(maxSampleErrors);
+        ImportErrorFile errorFile = ImportErrorFile.attachTo(summary, fileStorageService.getReportsStorageLocation(), errorFileRetention);
 
         try {
             // Walidacja pliku
             fileStorageService.validateFile(file);
-            fileStorageService.validateFileType(file, new String[]{".csv"});
+            fileStorageService.validateFileType(file, ImportInputStreams.allowedExtensions(".csv"));
             fileStorageService.validateFileSize(file, 10L * 1024 * 1024); // 10MB
 
-            List<String[]> allRows = readCsvFromMultipartFile(file);
-            processCsvRows(allRows, summary);
-
-            if (summary.getImportedCount() > 0) {
-                savedFileName = fileStorageService.storeFile(file, "uploads");
+            // Kopia do uploads powstaje w tym samym przebiegu co parsowanie - plik jest czytany raz
+            try (StagedFile stagedUpload = fileStorageService.createStagedFile(file, "uploads");
+                 InputStream inputStream = new TeeInputStream(file.getInputStream(), stagedUpload.getOutputStream())) {
+                readCsv(decompress(CloseShieldInputStream.wrap(inputStream), file.getOriginalFilename(), ".csv"),
+                        summary, 0, options, ImportProgressListener.NONE);
+                // Parser nie musi doczytać pliku do końca, a kopia ma być pełna
+                inputStream.transferTo(OutputStream.nullOutputStream());
+
+                if (summary.getImportedCount() > 0) {
+                    stagedUpload.commit();
+                }
             }
 
         } catch (InvalidFileException e) {
             summary.addError("Invalid file: " + e.getMessage());
-            if (savedFileName != null) {
-                fileStorageService.deleteFile(savedFileName, "uploads");
-            }
         } catch (Exception e) {
             summary.addError("CSV import failed: " + e.getMessage());
-            if (savedFileName != null) {
-                fileStorageService.deleteFile(savedFileName, "uploads");
-            }
+        } finally {
+            errorFile.close();
         }
 
         return summary;
     }
     public ImportSummary importXmlFile(
-            @NotNull MultipartFile file) {        ImportSummary summary = new ImportSummary();
-        String savedFileName = null;
+            @NotNull MultipartFile file) {
+        return importXmlFile(file, ImportOptions.DEFAULT);
+    }
+
+    public ImportSummary importXmlFile(
+            @NotNull MultipartFile file, @NotNull ImportOptions options) {
+        ImportSummary summary = new ImportSummary(maxSampleErrors);
+        ImportErrorFile errorFile = ImportErrorFile.attachTo(summary, fileStorageService.getReportsStorageLocation(), errorFileRetention);
 
         try {
             // Walidacja pliku
             fileStorageService.validateFile(file);
-            fileStorageService.validateFileType(file, new String[]{".xml"});
+            fileStorageService.validateFileType(file, ImportInputStreams.allowedExtensions(".xml"));
             fileStorageService.validateFileSize(file, 10L * 1024 * 1024); // 10MB
 
-            Document document = parseXmlFromMultipartFile(file);
-            processXmlEmployees(document, summary);
-
-            if (summary.getImportedCount() > 0) {
-                savedFileName = fileStorageService.storeFile(file, "uploads");
+            // Kopia do uploads powstaje w tym samym przebiegu co parsowanie - plik jest czytany raz
+            try (StagedFile stagedUpload = fileStorageService.createStagedFile(file, "uploads");
+                 InputStream inputStream = new TeeInputStream(file.getInputStream(), stagedUpload.getOutputStream())) {
+                readXml(decompress(CloseShieldInputStream.wrap(inputStream), file.getOriginalFilename(), ".xml"),
+                        summary, 0, options, ImportProgressListener.NONE);
+                // Parser nie musi doczytać pliku do końca, a kopia ma być pełna
+                inputStream.transferTo(OutputStream.nullOutputStream());
+
+                if (summary.getImportedCount() > 0) {
+                    stagedUpload.commit();
+                }
             }
 
         } catch (InvalidFileException e) {
             summary.addError("Invalid file: " + e.getMessage());
-            // Usuń plik jeśli został zapisany (choć nie powinien być)
-            if (savedFileName != null) {
-                fileStorageService.deleteFile(savedFileName, "uploads");
-            }
         } catch (Exception e) {
             summary.addError("XML import failed: " + e.getMessage());
-            // Usuń plik jeśli został zapisany (choć nie powinien być)
-            if (savedFileName != null) {
-                fileStorageService.deleteFile(savedFileName, "uploads");
-            }
+        } finally {
+            errorFile.close();
+        }
+
+        return summary;
+    }
+
+    // ===== IMPORT PLIKÓW ZAPISANYCH W KATALOGU UPLOADS =====
+
+    /**
+     * Import pliku CSV zapisanego wcześniej w katalogu uploads (np. przez zadanie asynchroniczne).
+     * Wiersze do {@code startAfterLine} włącznie są pomijane (wznowienie od checkpointu).
+     * Postęp po każdej paczce trafia do listenera, który może też przerwać import.
+     */
+    public ImportSummary importStoredCsvFile(@NotNull String storedFileName, @Min(0) int startAfterLine,
+                                             @NotNull ImportOptions options, @NotNull ImportProgressListener listener) {
+        ImportSummary summary = new ImportSummary(maxSampleErrors);
+        ImportErrorFile errorFile = ImportErrorFile.attachTo(summary, fileStorageService.getReportsStorageLocation(), errorFileRetention);
+        try (InputStream inputStream = decompress(
+                fileStorageService.loadFileAsResource(storedFileName, "uploads").getInputStream(), storedFileName, ".csv")) {
+            readCsv(inputStream, summary, startAfterLine, options, listener);
+        } catch (Exception e) {
+            summary.addError("CSV import failed: " + e.getMessage());
+        } finally {
+            errorFile.close();
+        }
+        return summary;
+    }
+
+    /**
+     * Jak {@link #importStoredCsvFile}, pozycją jest numer elementu employee.
+     */
+    public ImportSummary importStoredXmlFile(@NotNull String storedFileName, @Min(0) int startAfterLine,
+                                             @NotNull ImportOptions options, @NotNull ImportProgressListener listener) {
+        ImportSummary summary = new ImportSummary(maxSampleErrors);
+        ImportErrorFile errorFile = ImportErrorFile.attachTo(summary, fileStorageService.getReportsStorageLocation(), errorFileRetention);
+        try (InputStream inputStream = decompress(
+                fileStorageService.loadFileAsResource(storedFileName, "uploads").getInputStream(), storedFileName, ".xml")) {
+            readXml(inputStream, summary, startAfterLine, options, listener);
+        } catch (Exception e) {
+            summary.addError("XML import failed: " + e.getMessage());
+        } finally {
+            errorFile.close();
         }
+        return summary;
+    }
+
+    private InputStream decompress(InputStream inputStream, String fileName, String dataExtension) throws IOException {
+        return ImportInputStreams.open(inputStream, fileName, dataExtension, maxUncompressedSize.toBytes());
+    }
+
+    // ===== ŁADOWANIE MASOWE PO STRONIE BAZY =====
 
+    /**
+     * Szybka ścieżka dla zaufanych plików CSV z serwera: plik czyta bezpośrednio baza,
+     * a walidacja i zapis to instrukcje SQL na cały plik. Istniejący pracownicy
+     * są aktualizowani (MERGE po emailu), a nie odrzucani jak w zwykłym imporcie.
+     */
+    public ImportSummary bulkLoadCsvFile(@NotNull Path csvFile) {
+        ImportSummary summary = new ImportSummary(maxSampleErrors);
+        ImportErrorFile errorFile = ImportErrorFile.attachTo(summary, fileStorageService.getReportsStorageLocation(), errorFileRetention);
+        try {
+            if (!Files.isRegularFile(csvFile)) {
+                throw new FileNotFoundException("CSV file not found: " + csvFile);
+            }
+
+            EmployeeBulkLoadRepository.BulkLoadResult result = employeeBulkLoadRepository.loadCsv(csvFile);
+            for (EmployeeBulkLoadRepository.RejectedRow row : result.rejectedRows()) {
+                summary.addError(new ImportError(row.lineNumber(), CSV_ROW_LABEL + row.lineNumber(), row.field(),
+                        ImportErrorCode.valueOf(row.code()), row.message()));
+            }
+            summary.addImported(result.mergedCount());
+            // MERGE po stronie bazy omija JPA i nie mówi, które nazwy zmienił
+            employeeNameIndex.rebuild();
+            referenceDataCache.invalidateCompanies();
+        } catch (Exception e) {
+            summary.addError("CSV bulk load failed: " + e.getMessage());
+        } finally {
+            errorFile.close();
+        }
         return summary;
     }
 
+    /**
+     * Ładowanie masowe pliku wskazanego przez app.import.csv-file.
+     */
+    public ImportSummary bulkLoadSeedFile() {
+        return bulkLoadCsvFile(Path.of(seedCsvFile));
+    }
+
+    /**
+     * Plik z pełną listą błędów importu (ImportSummary.errorFile) z katalogu raportów.
+     */
+    public Resource loadErrorFile(@NotBlank String fileName) {
+        if (!ImportErrorFile.FILE_NAME_PATTERN.matcher(fileName).matches()) {
+            throw new InvalidFileException("Invalid import error file name: " + fileName);
+        }
+        Path path = fileStorageService.getReportsStorageLocation().resolve(fileName);
+        if (!Files.isReadable(path)) {
+            throw new FileNotFoundException("Import error file not found: " + fileName);
+        }
+        return new FileSystemResource(path);
+    }
+
     // ===== PRYWATNE METODY PRZETWARZANIA CSV =====
 
-    private List<String[]> readCsvFromMultipartFile(MultipartFile file) throws IOException, CsvException {
-        try (InputStream inputStream = file.getInputStream();
-             CSVReader reader = new CSVReader(new InputStreamReader(inputStream))) {
-            return reader.readAll();
+    private void readCsv(InputStream inputStream, ImportSummary summary, int startAfterLine,
+                         ImportOptions options, ImportProgressListener listener) throws IOException, CsvException {
+        try (CSVReader reader = new CSVReader(new InputStreamReader(inputStream))) {
+            processCsvRows(reader, summary, startAfterLine, options, listener);
         }
     }
 
-    private void processCsvRows(List<String[]> allRows, ImportSummary summary) {
-        if (allRows.isEmpty()) {
+    /**
+     * Czyta CSV rekord po rekordzie (readNext zamiast readAll) i przekazuje
+     * wiersze do zapisu w paczkach po {@code chunkSize}, więc zużycie pamięci
+     * nie zależy od rozmiaru pliku. Numeracja linii jest taka sama jak wcześniej.
+     */
+    private void processCsvRows(CSVReader reader, ImportSummary summary, int startAfterLine,
+                                ImportOptions options, ImportProgressListener listener) throws IOException, CsvException {
+        String[] fields = reader.readNext();
+        if (fields == null) {
             summary.addError("File is empty");
             return;
         }
 
         // Sprawdź czy pierwszy wiersz to nagłówek
-        boolean hasHeader = hasHeaderRow(allRows.get(0));
-        int startIndex = hasHeader ? 1 : 0;
-
-        if (startIndex >= allRows.size()) {
-            summary.addError("No data rows found after header");
-            return;
+        int lineNumber = 1;
+        if (hasHeaderRow(fields)) {
+            fields = reader.readNext();
+            lineNumber++;
+            if (fields == null) {
+                summary.addError("No data rows found after header");
+                return;
+            }
         }
 
-        for (int i = startIndex; i < allRows.size(); i++) {
-            String[] fields = allRows.get(i);
-
-            if (isEmptyLine(fields)) {
-                continue;
+        RowPipeline pipeline = new RowPipeline(CSV_ROW_LABEL, summary, options, listener);
+        try {
+            while (fields != null && !listener.isCancelled()) {
+                // Linie do checkpointu są tylko przewijane - bez parsowania i zapisu
+                if (lineNumber > startAfterLine && !isEmptyLine(fields)) {
+                    String[] record = fields;
+                    int recordLine = lineNumber;
+                    pipeline.submit(() -> parseCsvRecord(record, recordLine, pipeline.timings));
+                }
+                fields = reader.readNext();
+                lineNumber++;
             }
-
-            processSingleCsvRecord(fields, i + 1, summary);
+        } finally {
+            // Wiersze sparsowane przed ewentualnym błędem odczytu też trafiają do zapisu
+            pipeline.drain();
         }
     }
 
-//    private void processSingleCsvRecord(String[] fields, int lineNumber, ImportSummary summary) {
-//        try {
-//            Employee employee = parseEmployeeFromCsv(fields, lineNumber);
-//            employeeService.addEmployee(employee);
-//            summary.incrementImported();
-//        } catch (InvalidDataException e) {
-//            summary.addError("Line " + lineNumber + ": " + e.getMessage());
-//        } catch (IllegalArgumentException e) {
-//            summary.addError("Line " + lineNumber + ": " + e.getMessage());
-//        } catch (Exception e) {
-//            summary.addError("Line " + lineNumber + ": Unexpected error - " + e.getMessage());
-//        }
-//    }
-
-    private void processSingleCsvRecord(String[] fields, int lineNumber, ImportSummary summary) {
+    private ParsedRow parseCsvRecord(String[] fields, int lineNumber, StageTimings timings) {
         try {
+            long parseStart = System.nanoTime();
             Employee employee = parseEmployeeFromCsv(fields, lineNumber);
+            long validateStart = timings.parsed(parseStart);
 
             // Walidacja Bean Validation
             validateEmployee(employee);
+            timings.validated(validateStart);
+
+            return ParsedRow.valid(lineNumber, employee);
+        } catch (Exception e) {
+            return ParsedRow.rejected(lineNumber, rowError(CSV_ROW_LABEL, lineNumber, e));
+        }
+    }
+
+    /**
+     * Zapisuje paczkę wierszy w kolejności linii i dopisuje błędy do podsumowania.
+     *
+     * @return powód wycofania paczki albo null, gdy paczka została zatwierdzona
+     */
+    private String persistChunk(List<ParsedRow> chunk, String rowLabel, ImportOptions options, ImportSummary summary) {
+        if (options.delta()) {
+            return persistChunkDelta(chunk, rowLabel, summary);
+        }
+        if (bulkInsert) {
+            return persistChunkInBatch(chunk, rowLabel, summary);
+        }
+        persistChunkRowByRow(chunk, rowLabel, summary);
+        return null;
+    }
+
+    private void persistChunkRowByRow(List<ParsedRow> chunk, String rowLabel, ImportSummary summary) {
+        for (ParsedRow row : chunk) {
+            if (row.error() != null) {
+                summary.addError(row.error());
+                continue;
+            }
+            try {
+                // Zapisz przez serwis (który również ma walidację)
+                employeeService.addEmployee(row.employee());
+                summary.incrementImported();
+            } catch (Exception e) {
+                summary.addError(rowError(rowLabel, row.lineNumber(), e));
+            }
+        }
+    }
+
+    /**
+     * Cała paczka w jednej transakcji przez JDBC batch. Gdy batch się nie powiedzie,
+     * paczka jest wycofywana i raportowana jednym błędem z zakresem linii.
+     */
+    private String persistChunkInBatch(List<ParsedRow> chunk, String rowLabel, ImportSummary summary) {
+        List<Employee> employees = chunk.stream()
+                .filter(row -> row.error() == null)
+                .map(ParsedRow::employee)
+                .toList();
+
+        EmployeeBulkWriter.ChunkResult result = null;
+        String chunkFailure = null;
+        if (!employees.isEmpty()) {
+            try {
+                result = employeeBulkWriter.insertChunk(employees);
+            } catch (Exception e) {
+                chunkFailure = e.getMessage();
+            }
+        }
 
-            // Zapisz przez serwis (który również ma walidację)
-            employeeService.addEmployee(employee);
-            summary.incrementImported();
+        int validIndex = 0;
+        for (ParsedRow row : chunk) {
+            if (row.error() != null) {
+                summary.addError(row.error());
+                continue;
+            }
+            int index = validIndex++;
+            if (result == null) {
+                continue;
+            }
+            String rowError = result.rowErrors().get(index);
+            if (rowError != null) {
+                summary.addError(new ImportError(row.lineNumber(), rowLabel + row.lineNumber(), "email",
+                        ImportErrorCode.DUPLICATE_EMAIL, rowError));
+            } else {
+                summary.incrementImported();
+            }
+        }
+
+        if (chunkFailure != null) {
+            int firstLine = chunk.get(0).lineNumber();
+            summary.addError(new ImportError(firstLine, rowLabel + firstLine + "-" + chunk.get(chunk.size() - 1).lineNumber(),
+                    null, ImportErrorCode.CHUNK_ROLLED_BACK, "Chunk rolled back - " + chunkFailure));
+        }
+        return chunkFailure;
+    }
+
+    /**
+     * Import różnicowy paczki - jedna transakcja, jedno zapytanie o skróty treści.
+     * Wiersze niezmienione są tylko liczone, bez żadnego zapisu.
+     */
+    private String persistChunkDelta(List<ParsedRow> chunk, String rowLabel, ImportSummary summary) {
+        List<Employee> employees = chunk.stream()
+                .filter(row -> row.error() == null)
+                .map(ParsedRow::employee)
+                .toList();
+
+        EmployeeBulkWriter.DeltaChunkResult result = null;
+        String chunkFailure = null;
+        if (!employees.isEmpty()) {
+            try {
+                result = employeeBulkWriter.mergeChunk(employees);
+            } catch (Exception e) {
+                chunkFailure = e.getMessage();
+            }
+        }
+
+        int validIndex = 0;
+        for (ParsedRow row : chunk) {
+            if (row.error() != null) {
+                summary.addError(row.error());
+                continue;
+            }
+            int index = validIndex++;
+            if (result == null) {
+                continue;
+            }
+            String rowError = result.rowErrors().get(index);
+            if (rowError != null) {
+                summary.addError(new ImportError(row.lineNumber(), rowLabel + row.lineNumber(), "email",
+                        ImportErrorCode.DUPLICATE_EMAIL, rowError));
+                continue;
+            }
+            switch (result.outcomes().get(index)) {
+                case INSERTED -> summary.incrementImported();
+                case UPDATED -> summary.incrementUpdated();
+                case UNCHANGED -> summary.incrementUnchanged();
+            }
+        }
 
-        } catch (InvalidDataException e) {
-            summary.addError("Line " + lineNumber + ": " + e.getMessage());
-        } catch (ConstraintViolationException e) {
+        if (chunkFailure != null) {
+            int firstLine = chunk.get(0).lineNumber();
+            summary.addError(new ImportError(firstLine, rowLabel + firstLine + "-" + chunk.get(chunk.size() - 1).lineNumber(),
+                    null, ImportErrorCode.CHUNK_ROLLED_BACK, "Chunk rolled back - " + chunkFailure));
+        }
+        return chunkFailure;
+    }
+
+    private ImportError rowError(String rowLabel, int lineNumber, Exception e) {
+        String location = rowLabel + lineNumber;
+        if (e instanceof ImportRowException rowException) {
+            return new ImportError(lineNumber, location, rowException.getField(), rowException.getCode(), e.getMessage());
+        }
+        if (e instanceof DuplicateEmailException) {
+            return new ImportError(lineNumber, location, "email", ImportErrorCode.DUPLICATE_EMAIL, e.getMessage());
+        }
+        if (e instanceof InvalidDataException || e instanceof IllegalArgumentException) {
+            return new ImportError(lineNumber, location, null, ImportErrorCode.VALIDATION_ERROR, e.getMessage());
+        }
+        if (e instanceof ConstraintViolationException cve) {
             // Błędy walidacji Bean Validation
-            String validationErrors = e.getConstraintViolations().stream()
+            String validationErrors = cve.getConstraintViolations().stream()
                     .map(v -> v.getPropertyPath() + ": " + v.getMessage())
                     .collect(Collectors.joining("; "));
-            summary.addError("Line " + lineNumber + ": Validation error - " + validationErrors);
-        } catch (IllegalArgumentException e) {
-            summary.addError("Line " + lineNumber + ": " + e.getMessage());
-        } catch (Exception e) {
-            summary.addError("Line " + lineNumber + ": Unexpected error - " + e.getMessage());
+            String fields = cve.getConstraintViolations().stream()
+                    .map(v -> v.getPropertyPath().toString())
+                    .distinct()
+                    .collect(Collectors.joining(","));
+            return new ImportError(lineNumber, location, fields, ImportErrorCode.VALIDATION_ERROR,
+                    "Validation error - " + validationErrors);
+        }
+        return new ImportError(lineNumber, location, null, ImportErrorCode.UNEXPECTED_ERROR,
+                "Unexpected error - " + e.getMessage());
+    }
+
+    /**
+     * Potok importu: parsowanie i Bean Validation idą równolegle na importParseExecutor,
+     * a zapis wykonuje tylko wątek czytający plik - paczkami, w oryginalnej kolejności linii.
+     * W locie jest najwyżej dwie paczki wierszy, więc pamięć pozostaje ograniczona.
+     * Po przerwaniu przez listener niezapisane wiersze są porzucane, więc zatwierdzone
+     * paczki zawsze tworzą ciągły prefiks pliku (na tym opiera się wznawianie importu).
+     */
+    private class RowPipeline {
+        private final String rowLabel;
+        private final ImportSummary summary;
+        private final ImportOptions options;
+        private final ImportProgressListener listener;
+        private final StageTimings timings = new StageTimings();
+        private final DryRunProjection dryRun;
+        private final Deque<CompletableFuture<ParsedRow>> pending = new ArrayDeque<>();
+        private final int batchSize = Math.max(chunkSize, 1);
+        private final int maxInFlight = parseExecutor != null ? batchSize * 2 : batchSize;
+        private int rowsProcessed;
+
+        RowPipeline(String rowLabel, ImportSummary summary, ImportOptions options, ImportProgressListener listener) {
+            this.rowLabel = rowLabel;
+            this.summary = summary;
+            this.options = options;
+            this.listener = listener;
+            this.dryRun = options.dryRun() ? new DryRunProjection(summary, options.delta()) : null;
+        }
+
+        void submit(Supplier<ParsedRow> parseTask) {
+            if (parseExecutor != null) {
+                pending.add(CompletableFuture.supplyAsync(parseTask, parseExecutor));
+            } else {
+                pending.add(CompletableFuture.completedFuture(parseTask.get()));
+            }
+            if (pending.size() >= maxInFlight) {
+                persistNext();
+            }
+        }
+
+        void drain() {
+            while (!pending.isEmpty()) {
+                persistNext();
+            }
+            if (dryRun != null) {
+                dryRun.finish(timings);
+            }
+        }
+
+        private void persistNext() {
+            if (listener.isCancelled()) {
+                pending.forEach(future -> future.cancel(false));
+                pending.clear();
+                return;
+            }
+
+            List<ParsedRow> chunk = new ArrayList<>(batchSize);
+            while (chunk.size() < batchSize && !pending.isEmpty()) {
+                chunk.add(pending.poll().join());
+            }
+            String rollbackReason = dryRun != null
+                    ? dryRun.project(chunk, rowLabel)
+                    : persistChunk(chunk, rowLabel, options, summary);
+            if (rollbackReason != null) {
+                listener.onChunkRolledBack(chunk.get(0).lineNumber(), rollbackReason);
+                return;
+            }
+            rowsProcessed += chunk.size();
+            listener.onChunkPersisted(chunk.get(chunk.size() - 1).lineNumber(), rowsProcessed, summary);
+        }
+    }
+
+    /**
+     * Czas etapów parsowania i walidacji sumowany ze wszystkich wątków parsujących.
+     */
+    private static class StageTimings {
+        private final LongAdder parsedRows = new LongAdder();
+        private final LongAdder parseNanos = new LongAdder();
+        private final LongAdder validatedRows = new LongAdder();
+        private final LongAdder validateNanos = new LongAdder();
+
+        /**
+         * @return chwila zakończenia parsowania - początek walidacji
+         */
+        long parsed(long parseStart) {
+            long now = System.nanoTime();
+            parsedRows.increment();
+            parseNanos.add(now - parseStart);
+            return now;
+        }
+
+        void validated(long validateStart) {
+            validatedRows.increment();
+            validateNanos.add(System.nanoTime() - validateStart);
+        }
+    }
+
+    /**
+     * Import próbny: zamiast zapisu paczki - jedno zapytanie IN o emaile (przy delta o skróty treści)
+     * i prognoza wyniku każdego wiersza. Emaile z wcześniejszych paczek pamiętane są w zbiorze,
+     * bo nic nie trafia do bazy, a powtórzenie w pliku i tak zostałoby odrzucone.
+     */
+    private class DryRunProjection {
+        private final ImportSummary summary;
+        private final boolean delta;
+        private final DryRunReport report = new DryRunReport();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final long startNanos = System.nanoTime();
+
+        DryRunProjection(ImportSummary summary, boolean delta) {
+            this.summary = summary;
+            this.delta = delta;
+            summary.setDryRunReport(report);
+        }
+
+        String project(List<ParsedRow> chunk, String rowLabel) {
+            Set<String> emails = chunk.stream()
+                    .filter(row -> row.error() == null)
+                    .map(row -> row.employee().getEmail())
+                    .collect(Collectors.toSet());
+            Map<String, String> existingHashes = delta ? employeeBulkRepository.findContentHashes(emails) : Map.of();
+            Set<String> existingEmails = delta ? existingHashes.keySet() : employeeBulkRepository.findExistingEmails(emails);
+
+            for (ParsedRow row : chunk) {
+                if (row.error() != null) {
+                    summary.addError(row.error());
+                    report.projectReject();
+                    continue;
+                }
+                Employee employee = row.employee();
+                String email = employee.getEmail();
+                if (!seenEmails.add(email)) {
+                    rejectDuplicate(row, rowLabel, "Employee with email " + email + " appears more than once in the file");
+                } else if (!existingEmails.contains(email)) {
+                    report.projectInsert();
+                } else if (!delta) {
+                    rejectDuplicate(row, rowLabel, "Employee with email " + email + " already exists");
+                } else if (employee.calculateContentHash().equals(existingHashes.get(email))) {
+                    report.projectUnchanged();
+                } else {
+                    report.projectUpdate();
+                }
+            }
+            return null;
+        }
+
+        void finish(StageTimings timings) {
+            report.finish(System.nanoTime() - startNanos,
+                    timings.parsedRows.sum(), timings.parseNanos.sum(),
+                    timings.validatedRows.sum(), timings.validateNanos.sum());
+        }
+
+        private void rejectDuplicate(ParsedRow row, String rowLabel, String message) {
+            summary.addError(new ImportError(row.lineNumber(), rowLabel + row.lineNumber(), "email",
+                    ImportErrorCode.DUPLICATE_EMAIL, message));
+            report.projectReject();
+        }
+    }
+
+    /**
+     * Wiersz po parsowaniu: albo gotowy pracownik, albo błąd dla danej linii.
+     */
+    private record ParsedRow(int lineNumber, Employee employee, ImportError error) {
+        static ParsedRow valid(int lineNumber, Employee employee) {
+            return new ParsedRow(lineNumber, employee, null);
+        }
+
+        static ParsedRow rejected(int lineNumber, ImportError error) {
+            return new ParsedRow(lineNumber, null, error);
         }
     }
 
@@ -225,84 +725,132 @@ Employee parseEmployeeFromCsv(
     }
 
 
-    private Document parseXmlFromMultipartFile(MultipartFile file) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    /**
+     * Czyta XML strumieniowo (StAX) - w pamięci jest tylko bieżący element employee,
+     * a gotowe wiersze trafiają do tego samego zapisu paczkami co CSV.
+     */
+    private void readXml(InputStream inputStream, ImportSummary summary, int startAfterLine,
+                         ImportOptions options, ImportProgressListener listener) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
 
         // Zabezpieczenie przed atakami XXE
-        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        factory.setXIncludeAware(false);
-        factory.setExpandEntityReferences(false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
 
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        try (InputStream inputStream = file.getInputStream()) {
-            Document document = builder.parse(inputStream);
-            document.getDocumentElement().normalize();
-            return document;
+        XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+        try {
+            processXmlEmployees(reader, summary, startAfterLine, options, listener);
+        } finally {
+            reader.close();
         }
     }
 
-    private void processXmlEmployees(Document document, ImportSummary summary) {
-        Element root = document.getDocumentElement();
-        String rootName = root.getNodeName();
+    private void processXmlEmployees(XMLStreamReader reader, ImportSummary summary, int startAfterLine,
+                                     ImportOptions options, ImportProgressListener listener) throws XMLStreamException {
+        String rootName = nextStartElement(reader);
+        if (rootName == null) {
+            summary.addError("No employee records found in XML file");
+            return;
+        }
 
         if (!isValidRootElement(rootName)) {
             summary.addError("Invalid XML structure: expected root element 'employees' or 'employeesList', found: " + rootName);
             return;
         }
 
-        NodeList employeeNodes = root.getElementsByTagName("employee");
+        RowPipeline pipeline = new RowPipeline(XML_ROW_LABEL, summary, options, listener);
+        int elementNumber = 0;
+        try {
+            while (reader.hasNext() && !listener.isCancelled()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.DTD) {
+                    throw new XMLStreamException("DOCTYPE declarations are not allowed");
+                }
+                if (event == XMLStreamConstants.START_ELEMENT && "employee".equals(reader.getLocalName())) {
+                    elementNumber++;
+                    Map<String, String> fields = readEmployeeFields(reader);
+                    if (elementNumber > startAfterLine) {
+                        int recordNumber = elementNumber;
+                        pipeline.submit(() -> parseXmlRecord(fields, recordNumber, pipeline.timings));
+                    }
+                }
+            }
+        } finally {
+            pipeline.drain();
+        }
 
-        if (employeeNodes.getLength() == 0) {
+        if (elementNumber == 0) {
             summary.addError("No employee records found in XML file");
-            return;
         }
+    }
 
-        for (int i = 0; i < employeeNodes.getLength(); i++) {
-            Node employeeNode = employeeNodes.item(i);
-
-            if (employeeNode.getNodeType() == Node.ELEMENT_NODE) {
-                processSingleXmlEmployee((Element) employeeNode, i + 1, summary);
+    /**
+     * Przechodzi do pierwszego elementu dokumentu (korzenia) i zwraca jego nazwę.
+     */
+    private String nextStartElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("DOCTYPE declarations are not allowed");
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return reader.getLocalName();
             }
         }
+        return null;
     }
 
-//    private void processSingleXmlEmployee(Element employeeElement, int elementNumber, ImportSummary summary) {
-//        try {
-//            Employee employee = parseEmployeeFromXml(employeeElement, elementNumber);
-//            employeeService.addEmployee(employee);
-//            summary.incrementImported();
-//        } catch (InvalidDataException e) {
-//            summary.addError("Employee element " + elementNumber + ": " + e.getMessage());
-//        } catch (IllegalArgumentException e) {
-//            summary.addError("Employee element " + elementNumber + ": " + e.getMessage());
-//        } catch (Exception e) {
-//            summary.addError("Employee element " + elementNumber + ": Unexpected error - " + e.getMessage());
-//        }
-//    }
+    /**
+     * Czyta zawartość bieżącego elementu employee aż do jego zamknięcia.
+     * Dla każdej nazwy zapamiętuje tekst pierwszego wystąpienia (jak getElementsByTagName().item(0)).
+     */
+    private Map<String, String> readEmployeeFields(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> fields = new HashMap<>();
+        Deque<String> openElements = new ArrayDeque<>();
+        Deque<StringBuilder> openTexts = new ArrayDeque<>();
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    openElements.push(reader.getLocalName());
+                    openTexts.push(new StringBuilder());
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    // Tekst należy do wszystkich otwartych elementów (jak getTextContent)
+                    for (StringBuilder text : openTexts) {
+                        text.append(reader.getText());
+                    }
+                }
+                case XMLStreamConstants.ENTITY_REFERENCE ->
+                        throw new XMLStreamException("Entity references are not allowed: " + reader.getLocalName());
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (openElements.isEmpty()) {
+                        return fields; // koniec elementu employee
+                    }
+                    fields.putIfAbsent(openElements.pop(), openTexts.pop().toString().trim());
+                }
+                default -> {
+                }
+            }
+        }
+        return fields;
+    }
 
-    private void processSingleXmlEmployee(Element employeeElement, int elementNumber, ImportSummary summary) {
+    private ParsedRow parseXmlRecord(Map<String, String> fields, int elementNumber, StageTimings timings) {
         try {
-            Employee employee = parseEmployeeFromXml(employeeElement, elementNumber);
+            long parseStart = System.nanoTime();
+            Employee employee = parseEmployeeFromXml(fields, elementNumber);
+            long validateStart = timings.parsed(parseStart);
 
             // Dodaj jawną walidację przed zapisem
             validateEmployee(employee);
+            timings.validated(validateStart);
 
-            employeeService.addEmployee(employee);
-            summary.incrementImported();
-        } catch (InvalidDataException e) {
-            summary.addError("Employee element " + elementNumber + ": " + e.getMessage());
-        } catch (ConstraintViolationException e) {
-            // Przechwyć błędy walidacji Bean Validation
-            String validationErrors = e.getConstraintViolations().stream()
-                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                    .collect(Collectors.joining("; "));
-            summary.addError("Employee element " + elementNumber + ": Validation error - " + validationErrors);
-        } catch (IllegalArgumentException e) {
-            summary.addError("Employee element " + elementNumber + ": " + e.getMessage());
+            return ParsedRow.valid(elementNumber, employee);
         } catch (Exception e) {
-            summary.addError("Employee element " + elementNumber + ": Unexpected error - " + e.getMessage());
+            return ParsedRow.rejected(elementNumber, rowError(XML_ROW_LABEL, elementNumber, e));
         }
     }
 
@@ -314,13 +862,13 @@ Employee parseEmployeeFromCsv(
         }
     }
 
-    private Employee parseEmployeeFromXml(Element employeeElement, int elementNumber) throws InvalidDataException {
-        String firstName = getElementTextContent(employeeElement, "firstName", elementNumber);
-        String lastName = getElementTextContent(employeeElement, "lastName", elementNumber);
-        String email = getElementTextContent(employeeElement, "email", elementNumber);
-        String company = getElementTextContent(employeeElement, "company", elementNumber);
-        String positionStr = getElementTextContent(employeeElement, "position", elementNumber);
-        String salaryStr = getElementTextContent(employeeElement, "salary", elementNumber);
+    private Employee parseEmployeeFromXml(Map<String, String> fields, int elementNumber) throws InvalidDataException {
+        String firstName = getXmlField(fields, "firstName", elementNumber);
+        String lastName = getXmlField(fields, "lastName", elementNumber);
+        String email = getXmlField(fields, "email", elementNumber);
+        String company = getXmlField(fields, "company", elementNumber);
+        String positionStr = getXmlField(fields, "position", elementNumber);
+        String salaryStr = getXmlField(fields, "salary", elementNumber);
 
         validateRequiredFields(firstName, lastName, email, company, elementNumber);
         validateEmailFormat(email, elementNumber);
@@ -338,7 +886,7 @@ Employee parseEmployeeFromCsv(
 
     private void validateFieldCount(String[] fields, int lineNumber) throws InvalidDataException {
         if (fields.length != EXPECTED_CSV_FIELDS) {
-            throw new InvalidDataException("Invalid number of fields. Expected " + EXPECTED_CSV_FIELDS +
+            throw new ImportRowException(null, ImportErrorCode.INVALID_FIELD_COUNT, "Invalid number of fields. Expected " + EXPECTED_CSV_FIELDS +
                     " (firstName,lastName,email,company,position,salary), got " + fields.length);
         }
     }
@@ -349,40 +897,40 @@ Employee parseEmployeeFromCsv(
 
     private void validateRequiredFields(String firstName, String lastName, String email, String company, int lineNumber) throws InvalidDataException {
         if (firstName == null || firstName.isEmpty()) {
-            throw new InvalidDataException("First name cannot be empty");
+            throw new ImportRowException("firstName", ImportErrorCode.MISSING_FIELD, "First name cannot be empty");
         }
         if (lastName == null || lastName.isEmpty()) {
-            throw new InvalidDataException("Last name cannot be empty");
+            throw new ImportRowException("lastName", ImportErrorCode.MISSING_FIELD, "Last name cannot be empty");
         }
         if (email == null || email.isEmpty()) {
-            throw new InvalidDataException("Email cannot be empty");
+            throw new ImportRowException("email", ImportErrorCode.MISSING_FIELD, "Email cannot be empty");
         }
         if (company == null || company.isEmpty()) {
-            throw new InvalidDataException("Company cannot be empty");
+            throw new ImportRowException("company", ImportErrorCode.MISSING_FIELD, "Company cannot be empty");
         }
     }
 
     private void validateEmailFormat(String email, int lineNumber) throws InvalidDataException {
         if (!isValidEmail(email)) {
-            throw new InvalidDataException("Invalid email format: " + email);
+            throw new ImportRowException("email", ImportErrorCode.INVALID_EMAIL, "Invalid email format: " + email);
         }
     }
 
     private Position parsePosition(String positionStr, int lineNumber) throws InvalidDataException {
         if (positionStr == null || positionStr.trim().isEmpty()) {
-            throw new InvalidDataException("Position cannot be empty");
+            throw new ImportRowException("position", ImportErrorCode.MISSING_FIELD, "Position cannot be empty");
         }
 
         try {
             return Position.valueOf(positionStr.toUpperCase().trim());
         } catch (IllegalArgumentException e) {
-            throw new InvalidDataException("Invalid position: '" + positionStr + "'. Valid values: " + Arrays.toString(Position.values()));
+            throw new ImportRowException("position", ImportErrorCode.INVALID_POSITION, "Invalid position: '" + positionStr + "'. Valid values: " + Arrays.toString(Position.values()));
         }
     }
 
     private BigDecimal parseSalary(String salaryStr, int lineNumber) throws InvalidDataException {
         if (salaryStr == null || salaryStr.trim().isEmpty()) {
-            throw new InvalidDataException("Wynagrodzenie nie może być puste (linia " + lineNumber + ")");
+            throw new ImportRowException("salary", ImportErrorCode.MISSING_FIELD, "Wynagrodzenie nie może być puste (linia " + lineNumber + ")");
         }
 
         String trimmedSalary = salaryStr.trim();
@@ -391,14 +939,14 @@ Employee parseEmployeeFromCsv(
             BigDecimal salary = new BigDecimal(trimmedSalary);
 
             if (salary.compareTo(BigDecimal.ZERO) < 0) {
-                throw new InvalidDataException(
+                throw new ImportRowException("salary", ImportErrorCode.INVALID_SALARY,
                         "Wynagrodzenie nie może być ujemne: " + salary.toPlainString() + " (linia " + lineNumber + ")"
                 );
             }
 
             BigDecimal MAX_SALARY = new BigDecimal("1000000.00");
             if (salary.compareTo(MAX_SALARY) > 0) {
-                throw new InvalidDataException(
+                throw new ImportRowException("salary", ImportErrorCode.INVALID_SALARY,
                         "Wynagrodzenie wydaje się nierealistyczne: " + salary.toPlainString() +
                                 ". Maksymalna wartość: " + MAX_SALARY.toPlainString() + " (linia " + lineNumber + ")"
                 );
@@ -407,29 +955,26 @@ Employee parseEmployeeFromCsv(
             return salary.setScale(2, RoundingMode.HALF_UP);
 
         } catch (NumberFormatException e) {
-            throw new InvalidDataException(
+            throw new ImportRowException("salary", ImportErrorCode.INVALID_SALARY,
                     "Nieprawidłowy format wynagrodzenia: '" + trimmedSalary +
                             "'. Musi być liczbą (linia " + lineNumber + ")"
             );
         } catch (ArithmeticException e) {
-            throw new InvalidDataException(
+            throw new ImportRowException("salary", ImportErrorCode.INVALID_SALARY,
                     "Nieprawidłowa wartość wynagrodzenia: '" + trimmedSalary +
                             "' (linia " + lineNumber + ")"
             );
         }
     }
 
-    private String getElementTextContent(Element parentElement, String tagName, int elementNumber) throws InvalidDataException {
-        NodeList nodes = parentElement.getElementsByTagName(tagName);
+    private String getXmlField(Map<String, String> fields, String tagName, int elementNumber) throws InvalidDataException {
+        String textContent = fields.get(tagName);
 
-        if (nodes.getLength() == 0) {
-            throw new InvalidDataException("Missing required element: " + tagName);
+        if (textContent == null) {
+            throw new ImportRowException(tagName, ImportErrorCode.MISSING_FIELD, "Missing required element: " + tagName);
         }
 
-        Element element = (Element) nodes.item(0);
-        String textContent = element.getTextContent();
-
-        return textContent != null ? textContent.trim() : "";
+        return textContent;
     }
 
     // ===== METODY POMOCNICZE =====
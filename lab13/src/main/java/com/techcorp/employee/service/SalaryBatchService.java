@@ -0,0 +1,99 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.dto.SalaryBatchResult;
+import com.techcorp.employee.dto.SalaryChangeRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Zmiana pensji wielu pracowników naraz (np. z pliku email -> nowa pensja). Zmiany są dzielone na paczki,
+ * każda zatwierdzana osobno przez {@link SalaryService#updateSalaryChunk}; błąd bazy w paczce wycofuje
+ * tylko ją, a jej wiersze dostają status FAILED.
+ */
+@Service
+public class SalaryBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaryBatchService.class);
+    private static final int DEFAULT_CHUNK_SIZE = 200;
+
+    private final SalaryService salaryService;
+    private final AuditService auditService;
+
+    @Value("${app.salary.batch-chunk-size:" + DEFAULT_CHUNK_SIZE + "}")
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    public SalaryBatchService(SalaryService salaryService, AuditService auditService) {
+        this.salaryService = salaryService;
+        this.auditService = auditService;
+    }
+
+    public SalaryBatchResult updateSalaries(List<SalaryChangeRequest> changes) {
+        long start = System.nanoTime();
+        SalaryBatchResult.RowResult[] results = new SalaryBatchResult.RowResult[changes.size()];
+
+        Set<String> seenEmails = new HashSet<>();
+        List<SalaryService.SalaryChange> toApply = new ArrayList<>(changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            SalaryChangeRequest change = changes.get(i);
+            String email = change.email() == null ? null : change.email().trim().toLowerCase(Locale.ROOT);
+            if (email == null || email.isEmpty() || change.newSalary() == null) {
+                results[i] = new SalaryBatchResult.RowResult(i, email, SalaryBatchResult.RowStatus.REJECTED,
+                        null, change.newSalary(), "Email and new salary are required");
+            } else if (!seenEmails.add(email)) {
+                results[i] = new SalaryBatchResult.RowResult(i, email, SalaryBatchResult.RowStatus.REJECTED,
+                        null, change.newSalary(), "Employee with email " + email + " appears more than once in the batch");
+            } else {
+                toApply.add(new SalaryService.SalaryChange(i, email, change.newSalary()));
+            }
+        }
+
+        // Stała kolejność paczek - ta sama zmiana w dwóch żądaniach trafia do paczek w tym samym porządku
+        toApply.sort(Comparator.comparing(SalaryService.SalaryChange::email));
+        for (int from = 0; from < toApply.size(); from += chunkSize) {
+            List<SalaryService.SalaryChange> chunk = toApply.subList(from, Math.min(from + chunkSize, toApply.size()));
+            try {
+                for (SalaryBatchResult.RowResult result : salaryService.updateSalaryChunk(chunk)) {
+                    results[result.row()] = result;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Salary batch chunk of {} rows rolled back: {}", chunk.size(), e.getMessage());
+                for (SalaryService.SalaryChange change : chunk) {
+                    results[change.row()] = new SalaryBatchResult.RowResult(change.row(), change.email(),
+                            SalaryBatchResult.RowStatus.FAILED, null, change.newSalary(),
+                            "Chunk rolled back: " + e.getMessage());
+                }
+            }
+        }
+
+        SalaryBatchResult result = summarize(List.of(results), (System.nanoTime() - start) / 1_000_000);
+        auditService.logEvent(String.format(
+                "Salary batch completed. Updated: %d, Rejected: %d, Not found: %d, Failed: %d, Total: %d",
+                result.updatedCount(), result.rejectedCount(), result.notFoundCount(), result.failedCount(), changes.size()));
+        logger.info("Salary batch: {} rows in {} ms ({} rows/s)",
+                changes.size(), result.durationMillis(), String.format(Locale.ROOT, "%.1f", result.rowsPerSecond()));
+        return result;
+    }
+
+    private static SalaryBatchResult summarize(List<SalaryBatchResult.RowResult> rows, long durationMillis) {
+        int[] counts = new int[SalaryBatchResult.RowStatus.values().length];
+        for (SalaryBatchResult.RowResult row : rows) {
+            counts[row.status().ordinal()]++;
+        }
+        double rowsPerSecond = rows.size() * 1000.0 / Math.max(durationMillis, 1);
+        return new SalaryBatchResult(rows,
+                counts[SalaryBatchResult.RowStatus.UPDATED.ordinal()],
+                counts[SalaryBatchResult.RowStatus.REJECTED.ordinal()],
+                counts[SalaryBatchResult.RowStatus.NOT_FOUND.ordinal()],
+                counts[SalaryBatchResult.RowStatus.FAILED.ordinal()],
+                durationMillis, rowsPerSecond);
+    }
+}
@@ -1,29 +1,62 @@
 package com.techcorp.employee.service;
 
+import com.techcorp.employee.dto.CompanyRaiseSummary;
 import com.techcorp.employee.exception.InvalidSalaryException;
 import com.techcorp.employee.model.Employee;
 import com.techcorp.employee.repository.EmployeeRepository;
+import com.techcorp.employee.repository.SalaryBulkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 @Service
 public class SalaryFacade {
 
+    private static final Logger logger = LoggerFactory.getLogger(SalaryFacade.class);
+    private static final int DEFAULT_RAISE_CHUNK_SIZE = 1000;
+
     private final SalaryService salaryService;
     private final EmployeeRepository employeeRepository;
     private final AuditService auditService;
+    private final SalaryBulkRepository salaryBulkRepository;
+
+    @Value("${app.salary.raise-chunk-size:" + DEFAULT_RAISE_CHUNK_SIZE + "}")
+    private int raiseChunkSize = DEFAULT_RAISE_CHUNK_SIZE;
+
+    @Value("${app.salary.locking-mode:PESSIMISTIC}")
+    private LockingMode lockingMode = LockingMode.PESSIMISTIC;
+
+    @Value("${app.salary.optimistic.max-attempts:5}")
+    private int optimisticMaxAttempts = 5;
+
+    @Value("${app.salary.optimistic.initial-backoff-ms:5}")
+    private long optimisticInitialBackoffMs = 5;
+
+    @Value("${app.salary.optimistic.max-backoff-ms:200}")
+    private long optimisticMaxBackoffMs = 200;
+
+    private final AtomicLong optimisticRetries = new AtomicLong();
 
     @Autowired
     public SalaryFacade(SalaryService salaryService,
                         EmployeeRepository employeeRepository,
-                        AuditService auditService) {
+                        AuditService auditService,
+                        SalaryBulkRepository salaryBulkRepository) {
         this.salaryService = salaryService;
         this.employeeRepository = employeeRepository;
         this.auditService = auditService;
+        this.salaryBulkRepository = salaryBulkRepository;
     }
 
 
@@ -39,7 +72,7 @@ public class SalaryFacade {
             try {
                 BigDecimal newSalary = calculateNewSalary(employee.getSalary(), percentageIncrease);
                 // Wywołanie przez wstrzyknięty serwis (proxy Springa) - transakcja działa
-                salaryService.updateSalary(employee.getId(), newSalary);
+                updateSalary(employee.getId(), newSalary);
                 successCount++;
             } catch (InvalidSalaryException e) {
                 auditService.logEvent("Failed to update salary for " +
@@ -62,14 +95,105 @@ public class SalaryFacade {
     }
 
 
+    /**
+     * Zmiana pensji w trybie z app.salary.locking-mode: PESSIMISTIC - blokada wiersza (SalaryService.updateSalary),
+     * OPTIMISTIC - kontrola wersji z ponawianiem po konflikcie. Kolejne próby czekają coraz dłużej
+     * (podwajany czas z losowym rozrzutem, do max-backoff-ms); po max-attempts konflikt jest rzucany dalej.
+     */
+    public void updateSalary(Long employeeId, BigDecimal newSalary) throws InvalidSalaryException {
+        if (lockingMode == LockingMode.PESSIMISTIC) {
+            salaryService.updateSalary(employeeId, newSalary);
+            return;
+        }
+
+        long backoffMs = optimisticInitialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                salaryService.updateSalaryOptimistic(employeeId, newSalary);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= optimisticMaxAttempts) {
+                    logger.warn("Salary update for employee {} gave up after {} conflicting attempts", employeeId, attempt);
+                    throw e;
+                }
+                optimisticRetries.incrementAndGet();
+                logger.debug("Version conflict for employee {} (attempt {}), retrying", employeeId, attempt);
+                sleep(ThreadLocalRandom.current().nextLong(backoffMs / 2, backoffMs + 1));
+                backoffMs = Math.min(backoffMs * 2, optimisticMaxBackoffMs);
+            }
+        }
+    }
+
+    /**
+     * Liczba ponowień po konflikcie wersji od startu aplikacji.
+     */
+    public long getOptimisticRetryCount() {
+        return optimisticRetries.get();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry salary update", e);
+        }
+    }
+
+    /**
+     * Tryb zbiorowy podwyżki: reguły SalaryService sprawdzane są jednym zapytaniem na paczkę pracowników,
+     * pensje zmienia jeden UPDATE, a audyt powstaje jednym INSERT ... SELECT - zamiast transakcji
+     * z blokadą wiersza i dwóch wpisów audytu na każdego pracownika. Każda paczka to osobna transakcja.
+     */
+    public CompanyRaiseSummary applyCompanyWideRaiseBulk(String company, BigDecimal percentageIncrease) {
+        BigDecimal multiplier = raiseMultiplier(percentageIncrease);
+        auditService.logEvent("Starting bulk company-wide raise for " + company + ": " + percentageIncrease + "%");
+        long start = System.nanoTime();
+
+        int updatedCount = 0;
+        Map<String, Long> rejectionReasons = new TreeMap<>();
+        long afterId = 0;
+        Long upToId;
+        while ((upToId = salaryBulkRepository.findChunkUpperBound(company, afterId, raiseChunkSize)) != null) {
+            SalaryBulkRepository.ChunkResult chunk = salaryBulkRepository.raiseChunk(
+                    company, afterId, upToId, multiplier, SalaryService.LIMITS);
+            updatedCount += chunk.updatedCount();
+            chunk.rejections().forEach((reason, count) -> rejectionReasons.merge(reason, count, Long::sum));
+            afterId = upToId;
+        }
+
+        int rejectedCount = rejectionReasons.values().stream().mapToInt(Long::intValue).sum();
+        CompanyRaiseSummary summary = new CompanyRaiseSummary(company, percentageIncrease, updatedCount,
+                rejectedCount, rejectionReasons, (System.nanoTime() - start) / 1_000_000);
+
+        auditService.logEvent(String.format("Bulk company-wide raise completed. Success: %d, Failures: %d, Total: %d",
+                updatedCount, rejectedCount, summary.totalCount()));
+        logger.info("Bulk raise for {}: {} updated, {} rejected {} in {} ms",
+                company, updatedCount, rejectedCount, rejectionReasons, summary.durationMillis());
+        return summary;
+    }
+
+
     private BigDecimal calculateNewSalary(BigDecimal currentSalary, BigDecimal percentageIncrease) {
         if (currentSalary == null || percentageIncrease == null) {
             throw new IllegalArgumentException("Arguments cannot be null");
         }
-        BigDecimal multiplier = BigDecimal.ONE
-                .add(percentageIncrease.divide(new BigDecimal("100"), 4, java.math.RoundingMode.HALF_UP));
-
-        return currentSalary.multiply(multiplier)
+        return currentSalary.multiply(raiseMultiplier(percentageIncrease))
                 .setScale(2, java.math.RoundingMode.HALF_UP);
     }
+
+
+    public enum LockingMode {
+        PESSIMISTIC,
+        OPTIMISTIC
+    }
+
+
+    private BigDecimal raiseMultiplier(BigDecimal percentageIncrease) {
+        if (percentageIncrease == null) {
+            throw new IllegalArgumentException("Arguments cannot be null");
+        }
+        return BigDecimal.ONE
+                .add(percentageIncrease.divide(new BigDecimal("100"), 4, java.math.RoundingMode.HALF_UP));
+    }
 }
\ No newline at end of file
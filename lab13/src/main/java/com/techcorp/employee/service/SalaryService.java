@@ -1,8 +1,11 @@
 package com.techcorp.employee.service;
 
+import com.techcorp.employee.dto.SalaryBatchResult;
 import com.techcorp.employee.exception.InvalidSalaryException;
+import com.techcorp.employee.model.AuditLog;
 import com.techcorp.employee.model.Employee;
 import com.techcorp.employee.repository.EmployeeRepository;
+import com.techcorp.employee.repository.SalaryBulkRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +15,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -24,6 +31,10 @@ public class SalaryService {
     private static final BigDecimal MIN_SALARY = BigDecimal.ZERO;
     private static final BigDecimal ONE_HUNDRED = new BigDecimal("100.00");
 
+    // Te same limity dla zbiorowej podwyżki w SalaryFacade
+    static final SalaryBulkRepository.SalaryLimits LIMITS =
+            new SalaryBulkRepository.SalaryLimits(MAX_SALARY_LIMIT, MAX_INCREASE_PERCENT, MAX_DECREASE_PERCENT);
+
     private final EmployeeRepository employeeRepository;
     private final AuditService auditService;
 
@@ -55,7 +66,8 @@ public class SalaryService {
         validateSalary(newSalary, oldSalary);
 
         employee.setSalary(newSalary);
-        employeeRepository.save(employee);
+        // flush przed wpisem sukcesu (REQUIRES_NEW) - konflikt na wierszu company_stats wychodzi tutaj, a nie przy commicie
+        employeeRepository.saveAndFlush(employee);
 
         auditService.logSalaryUpdateSuccess(
                 employee.getId(),
@@ -68,6 +80,91 @@ public class SalaryService {
     }
 
 
+    /**
+     * Tryb optymistyczny: bez blokady wiersza i z READ_COMMITTED; równoległą zmianę wykrywa kolumna
+     * version przy zapisie (OptimisticLockingFailureException - ponawia SalaryFacade). Audyt trafia do tej
+     * samej transakcji zamiast dwóch REQUIRES_NEW, więc zmiana zajmuje jedno połączenie z puli,
+     * a wycofana próba nie zostawia wpisów. Odrzucenie przez walidację zatwierdza sam wpis próby.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED, timeout = 30)
+    public void updateSalaryOptimistic(Long employeeId, BigDecimal newSalary) throws InvalidSalaryException {
+        Optional<Employee> employeeOpt = employeeRepository.findById(employeeId);
+        if (employeeOpt.isEmpty()) {
+            String errorMsg = "Employee not found with ID: " + employeeId;
+            auditService.logEvents(List.of(AuditService.salaryUpdateFailureEntry(employeeId, "Unknown", errorMsg)));
+            throw new InvalidSalaryException(errorMsg);
+        }
+
+        Employee employee = employeeOpt.get();
+        BigDecimal oldSalary = employee.getSalary();
+        List<AuditLog> auditLogs = new ArrayList<>(2);
+        auditLogs.add(AuditService.salaryUpdateAttemptEntry(employee.getId(), employee.getName(),
+                oldSalary.doubleValue(), newSalary.doubleValue()));
+        try {
+            validateSalary(newSalary, oldSalary);
+        } catch (InvalidSalaryException e) {
+            auditService.logEvents(auditLogs);
+            throw e;
+        }
+
+        employee.setSalary(newSalary);
+        // flush tutaj, żeby konflikt wersji wyszedł z tej metody, a nie dopiero przy commicie
+        employeeRepository.saveAndFlush(employee);
+        auditLogs.add(AuditService.salaryUpdateSuccessEntry(employee.getId(), employee.getName(),
+                oldSalary.doubleValue(), newSalary.doubleValue()));
+        auditService.logEvents(auditLogs);
+
+        logger.info("Salary updated optimistically for: {} (ID: {})", employee.getName(), employeeId);
+    }
+
+
+    /**
+     * Paczka zmian w jednej transakcji: wszystkie wiersze blokowane jednym SELECT ... FOR UPDATE w kolejności id,
+     * każda zmiana sprawdzana tymi samymi regułami co w updateSalary, audyt zapisywany razem z paczką.
+     * Odrzucona zmiana nie wycofuje pozostałych.
+     *
+     * @param changes zmiany z unikalnymi emailami (małe litery)
+     */
+    @Transactional(rollbackFor = RuntimeException.class, timeout = 30)
+    public List<SalaryBatchResult.RowResult> updateSalaryChunk(List<SalaryChange> changes) {
+        Map<String, Employee> lockedByEmail = new HashMap<>();
+        for (Employee employee : employeeRepository.findAllByEmailInWithLock(
+                changes.stream().map(SalaryChange::email).toList())) {
+            lockedByEmail.put(employee.getEmail(), employee);
+        }
+
+        List<SalaryBatchResult.RowResult> results = new ArrayList<>(changes.size());
+        List<AuditLog> auditLogs = new ArrayList<>(changes.size());
+        for (SalaryChange change : changes) {
+            Employee employee = lockedByEmail.get(change.email());
+            if (employee == null) {
+                String errorMsg = "Employee not found with email: " + change.email();
+                results.add(new SalaryBatchResult.RowResult(change.row(), change.email(),
+                        SalaryBatchResult.RowStatus.NOT_FOUND, null, change.newSalary(), errorMsg));
+                auditLogs.add(AuditService.salaryUpdateFailureEntry(null, "Unknown", errorMsg));
+                continue;
+            }
+
+            BigDecimal oldSalary = employee.getSalary();
+            try {
+                validateSalary(change.newSalary(), oldSalary);
+                employee.setSalary(change.newSalary());
+                results.add(new SalaryBatchResult.RowResult(change.row(), change.email(),
+                        SalaryBatchResult.RowStatus.UPDATED, oldSalary, change.newSalary(), null));
+                auditLogs.add(AuditService.salaryUpdateSuccessEntry(employee.getId(), employee.getName(),
+                        oldSalary.doubleValue(), change.newSalary().doubleValue()));
+            } catch (InvalidSalaryException e) {
+                results.add(new SalaryBatchResult.RowResult(change.row(), change.email(),
+                        SalaryBatchResult.RowStatus.REJECTED, oldSalary, change.newSalary(), e.getMessage()));
+                auditLogs.add(AuditService.salaryUpdateFailureEntry(employee.getId(), employee.getName(), e.getMessage()));
+            }
+        }
+
+        auditService.logEvents(auditLogs);
+        return results;
+    }
+
+
     private Employee findEmployeeWithLock(Long employeeId) throws InvalidSalaryException {
         Optional<Employee> employeeOpt = employeeRepository.findByIdWithLock(employeeId);
 
@@ -129,6 +226,13 @@ public class SalaryService {
     }
 
 
+    /**
+     * @param row indeks zmiany w żądaniu paczki
+     */
+    public record SalaryChange(int row, String email, BigDecimal newSalary) {
+    }
+
+
     private BigDecimal calculatePercentageChange(BigDecimal oldValue, BigDecimal newValue) {
         if (oldValue.compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
@@ -0,0 +1,70 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.exception.FileStorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Plik zapisywany strumieniowo do pliku tymczasowego obok docelowego.
+ * Pod docelową nazwą pojawia się dopiero po commit() (atomowy rename),
+ * a close() bez commit() usuwa kopię - przerwany zapis nie zostaje w katalogu.
+ */
+public class StagedFile implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StagedFile.class);
+
+    private final Path target;
+    private final Path tempFile;
+    private final OutputStream outputStream;
+    private boolean committed;
+
+    StagedFile(Path directory, String fileName) throws IOException {
+        this.target = directory.resolve(fileName);
+        this.tempFile = directory.resolve(fileName + ".part");
+        this.outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile));
+    }
+
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Domyka zapis i przenosi plik pod docelową nazwę.
+     *
+     * @return nazwa zapisanego pliku
+     */
+    public String commit() {
+        try {
+            outputStream.close();
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return target.getFileName().toString();
+        } catch (IOException e) {
+            throw new FileStorageException("Could not store file " + target.getFileName(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (committed) {
+            return;
+        }
+        try {
+            outputStream.close();
+        } catch (IOException e) {
+            logger.debug("Could not close staged file {}", tempFile, e);
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            logger.warn("Could not discard staged file {}", tempFile, e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ package com.techcorp.employee.service;
 
 import com.techcorp.employee.dto.CompanyStatisticsDTO;
 import com.techcorp.employee.model.*;
+import com.techcorp.employee.repository.CompanyStatsRepository;
 import com.techcorp.employee.repository.EmployeeRepository;
 import com.techcorp.employee.repository.DepartmentRepository;
 import jakarta.validation.constraints.NotBlank;
@@ -33,6 +34,10 @@ public class StatisticsService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    // Statystyki firm z tabeli company_stats - jeden wiersz na firmę, bez przejścia po employees
+    @Autowired
+    private CompanyStatsRepository companyStatsRepository;
+
 
     public Map<String, Object> getAllStatistics() {
         Map<String, Object> statistics = new HashMap<>();
@@ -63,7 +68,7 @@ public class StatisticsService {
 
     public CompanyStatistics getCompanyStatistics(
             @NotBlank(message = "Company name cannot be blank") String companyName) {        // Użyj DTO z repozytorium i nowego konstruktora
-        CompanyStatisticsDTO dto = employeeRepository.getCompanyStatisticsDTO(companyName)
+        CompanyStatisticsDTO dto = companyStatsRepository.findByCompany(companyName)
                 .orElse(new CompanyStatisticsDTO(companyName, 0L, BigDecimal.valueOf(0.0), BigDecimal.valueOf(0.0), ""));
 
         return new CompanyStatistics(
@@ -96,10 +101,27 @@ public class StatisticsService {
     }
 
     public CompanyStatisticsDTO getCompanyStatisticsDTO(
-            @NotBlank(message = "Company name cannot be blank") String companyName) {        return employeeRepository.getCompanyStatisticsDTO(companyName)
+            @NotBlank(message = "Company name cannot be blank") String companyName) {        return companyStatsRepository.findByCompany(companyName)
                 .orElse(new CompanyStatisticsDTO(companyName, 0L, BigDecimal.valueOf(0.0), BigDecimal.valueOf(0.0), ""));
     }
 
+    /**
+     * Przebudowuje company_stats od zera, np. po zmianach employees z pominięciem aplikacji.
+     *
+     * @return liczba firm
+     */
+    @Transactional
+    public int rebuildCompanyStatistics() {
+        return companyStatsRepository.rebuild();
+    }
+
+    /**
+     * @return firmy, których wiersz company_stats nie zgadza się z employees
+     */
+    public List<String> verifyCompanyStatistics() {
+        return companyStatsRepository.verify();
+    }
+
     public Map<String, Integer> getPositionStatistics() {
         return employeeRepository.getPositionStatistics().stream()
                 .collect(Collectors.toMap(
@@ -119,7 +141,7 @@ public class StatisticsService {
     // ===== METODY POMOCNICZE =====
 
     private Map<String, CompanyStatistics> getCompanyStatisticsFromSQL() {
-        List<CompanyStatisticsDTO> dtos = employeeRepository.getCompanyStatisticsDTO();
+        List<CompanyStatisticsDTO> dtos = companyStatsRepository.findAll();
 
         return dtos.stream()
                 .collect(Collectors.toMap(
@@ -7,7 +7,9 @@ import com.techcorp.employee.model.EmploymentStatus;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 public class EmployeeSpecification {
 
@@ -23,15 +25,28 @@ public class EmployeeSpecification {
         };
     }
 
+    /**
+     * hasName zawężone do kandydatów z EmployeeNameIndex - LIKE weryfikuje tylko wiersze z listy id.
+     */
+    public static Specification<Employee> hasNameIn(String name, Collection<Long> candidateIds) {
+        return (root, query, criteriaBuilder) -> {
+            if (candidateIds.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            return criteriaBuilder.and(
+                    root.get("id").in(candidateIds),
+                    hasName(name).toPredicate(root, query, criteriaBuilder)
+            );
+        };
+    }
+
     public static Specification<Employee> fromCompany(String company) {
         return (root, query, criteriaBuilder) -> {
             if (company == null || company.trim().isEmpty()) {
                 return null;
             }
-            return criteriaBuilder.equal(
-                    criteriaBuilder.lower(root.get("company")),
-                    company.toLowerCase()
-            );
+            // companyLower to kolumna generowana LOWER(company) z własnym indeksem
+            return criteriaBuilder.equal(root.get("companyLower"), company.toLowerCase(Locale.ROOT));
         };
     }
 
@@ -99,15 +114,24 @@ public class EmployeeSpecification {
             if ("brak departamentu".equalsIgnoreCase(departmentName)) {
                 return criteriaBuilder.isNull(root.get("department"));
             } else {
-                Join<Employee, ?> departmentJoin = root.join("department", JoinType.LEFT);
                 return criteriaBuilder.equal(
-                        criteriaBuilder.lower(departmentJoin.get("name")),
-                        departmentName.toLowerCase()
+                        departmentJoin(root).get("nameLower"),
+                        departmentName.toLowerCase(Locale.ROOT)
                 );
             }
         };
     }
 
+    // zapytanie projekcji samo dołącza department dla nazwy w SELECT - drugi JOIN byłby zbędny
+    private static Join<Employee, ?> departmentJoin(Root<Employee> root) {
+        for (Join<Employee, ?> join : root.getJoins()) {
+            if ("department".equals(join.getAttribute().getName()) && join.getJoinType() == JoinType.LEFT) {
+                return join;
+            }
+        }
+        return root.join("department", JoinType.LEFT);
+    }
+
     public static Specification<Employee> hasEmail(String email) {
         return (root, query, criteriaBuilder) -> {
             if (email == null || email.trim().isEmpty()) {
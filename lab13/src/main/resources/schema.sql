@@ -1,16 +1,50 @@
 CREATE TABLE IF NOT EXISTS employees (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    first_name VARCHAR(255) NOT NULL,
-    last_name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) UNIQUE NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) UNIQUE NOT NULL,
     salary DECIMAL(10,2) NOT NULL,
     position VARCHAR(50) NOT NULL,
     company VARCHAR(255) NOT NULL,
+    company_lower VARCHAR(100) GENERATED ALWAYS AS (LOWER(company)),
     status VARCHAR(50) NOT NULL,
     department_id BIGINT,
-    photo_file_name VARCHAR(255)
+    photo_file_name VARCHAR(255),
+    content_hash VARCHAR(64),
+    version BIGINT DEFAULT 0 NOT NULL
 );
 
+-- Indeksy zgodne z @Table(indexes) w Employee i AuditLog
+CREATE INDEX IF NOT EXISTS idx_employees_name_id ON employees (name, id);
+CREATE INDEX IF NOT EXISTS idx_employees_company_salary ON employees (company, salary DESC);
+CREATE INDEX IF NOT EXISTS idx_employees_status_name ON employees (status, name);
+CREATE INDEX IF NOT EXISTS idx_employees_position ON employees (position);
+CREATE INDEX IF NOT EXISTS idx_employees_department ON employees (department_id);
+CREATE INDEX IF NOT EXISTS idx_employees_salary ON employees (salary DESC);
+CREATE INDEX IF NOT EXISTS idx_employees_company_lower ON employees (company_lower);
+
+-- Statystyki firm utrzymywane przy każdym zapisie pracownika (CompanyStatsRepository).
+-- extremes_stale: min/max/najlepiej opłacany mogły się zmienić i odczyt bierze je z idx_employees_company_salary
+CREATE TABLE IF NOT EXISTS company_stats (
+    company VARCHAR(255) PRIMARY KEY,
+    employee_count BIGINT NOT NULL,
+    salary_sum DECIMAL(19,2) NOT NULL,
+    min_salary DECIMAL(10,2),
+    max_salary DECIMAL(10,2),
+    top_earner_id BIGINT,
+    extremes_stale BOOLEAN DEFAULT FALSE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS audit_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    message VARCHAR(255) NOT NULL,
+    event_date TIMESTAMP NOT NULL,
+    event_type VARCHAR(100),
+    affected_entity VARCHAR(100),
+    entity_id BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_event_date ON audit_log (event_date DESC);
+
 --CREATE TABLE IF NOT EXISTS departments (
 --    id BIGINT AUTO_INCREMENT PRIMARY KEY,
 --    name VARCHAR(255) NOT NULL,
@@ -1,7 +1,9 @@
 package com.techcorp.employee.controller;
 
 import com.techcorp.employee.dto.EmployeeDTO;
+import com.techcorp.employee.dto.EmployeeListItem;
 import com.techcorp.employee.dto.EmployeeListView;
+import com.techcorp.employee.dto.KeysetSlice;
 import com.techcorp.employee.exception.DuplicateEmailException;
 import com.techcorp.employee.exception.EmployeeNotFoundException;
 import com.techcorp.employee.model.Employee;
@@ -20,6 +22,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -28,6 +31,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -211,6 +215,29 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getEmployeesByCompanyProjection(eq("TechCorp"), any(Pageable.class));
     }
 
+    @Test
+    @WithMockUser
+    void getEmployeesByStatus_WithPageToken_ShouldReturnKeysetSlice() throws Exception {
+        // Given
+        EmployeeListItem item = new EmployeeListItem(7L, "Jan Kowalski", "jan@techcorp.com",
+                Position.MANAGER, "TechCorp", "IT");
+        KeysetSlice<EmployeeListView> slice = new KeysetSlice<>(List.of(item), 20, true, true, "next", "prev");
+        when(employeeService.getEmployeesByStatusKeyset(eq(EmploymentStatus.ACTIVE), any(Sort.class), eq(20), eq("abc")))
+                .thenReturn(slice);
+
+        // When & Then
+        mockMvc.perform(get("/api/employees/status/ACTIVE")
+                        .param("size", "20")
+                        .param("pageToken", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Jan Kowalski"))
+                .andExpect(jsonPath("$.nextToken").value("next"))
+                .andExpect(jsonPath("$.prevToken").value("prev"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(employeeService, never()).getEmployeesByStatusProjection(any(), any(Pageable.class));
+    }
+
     // ===== POST TESTS =====
 
     @Test
@@ -24,6 +24,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -55,6 +57,9 @@ class FileUploadControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private ImportJobService importJobService;
+
     private MockMultipartFile validCsvFile;
     private MockMultipartFile validXmlFile;
     private MockMultipartFile imageFile;
@@ -107,7 +112,7 @@ class FileUploadControllerTest {
     @WithMockUser
     void importCsv_WithValidFile_ShouldReturnSuccess() throws Exception {
         // Given
-        when(importService.importCsvFile(any(MultipartFile.class))).thenReturn(successSummary);
+        when(importService.importCsvFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT))).thenReturn(successSummary);
 
         // When & Then
         mockMvc.perform(multipart("/api/files/import/csv")
@@ -117,14 +122,14 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.errors").isArray())
                 .andExpect(jsonPath("$.errors").isEmpty());
 
-        verify(importService, times(1)).importCsvFile(any(MultipartFile.class));
+        verify(importService, times(1)).importCsvFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT));
     }
 
     @Test
     @WithMockUser
     void importCsv_WithImportErrors_ShouldReturnBadRequest() throws Exception {
         // Given
-        when(importService.importCsvFile(any(MultipartFile.class))).thenReturn(errorSummary);
+        when(importService.importCsvFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT))).thenReturn(errorSummary);
 
         // When & Then
         mockMvc.perform(multipart("/api/files/import/csv")
@@ -135,7 +140,7 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.errors.length()").value(1))
                 .andExpect(jsonPath("$.errors[0]").value("Line 1: Invalid email format"));
 
-        verify(importService, times(1)).importCsvFile(any(MultipartFile.class));
+        verify(importService, times(1)).importCsvFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT));
     }
 
     @Test
@@ -148,7 +153,7 @@ class FileUploadControllerTest {
 
         ImportSummary emptySummary = new ImportSummary();
 
-        when(importService.importCsvFile(any(MultipartFile.class))).thenReturn(emptySummary);
+        when(importService.importCsvFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT))).thenReturn(emptySummary);
 
         // When & Then
         mockMvc.perform(multipart("/api/files/import/csv")
@@ -158,7 +163,7 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.errors").isArray())
                 .andExpect(jsonPath("$.errors").isEmpty());
 
-        verify(importService, times(1)).importCsvFile(any(MultipartFile.class));
+        verify(importService, times(1)).importCsvFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT));
     }
 
     // === TESTY IMPORTU XML ===
@@ -167,7 +172,7 @@ class FileUploadControllerTest {
     @WithMockUser
     void importXml_WithValidFile_ShouldReturnSuccess() throws Exception {
         // Given
-        when(importService.importXmlFile(any(MultipartFile.class))).thenReturn(successSummary);
+        when(importService.importXmlFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT))).thenReturn(successSummary);
 
         // When & Then
         mockMvc.perform(multipart("/api/files/import/xml")
@@ -177,14 +182,14 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.errors").isArray())
                 .andExpect(jsonPath("$.errors").isEmpty());
 
-        verify(importService, times(1)).importXmlFile(any(MultipartFile.class));
+        verify(importService, times(1)).importXmlFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT));
     }
 
     @Test
     @WithMockUser
     void importXml_WithImportErrors_ShouldReturnBadRequest() throws Exception {
         // Given
-        when(importService.importXmlFile(any(MultipartFile.class))).thenReturn(errorSummary);
+        when(importService.importXmlFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT))).thenReturn(errorSummary);
 
         // When & Then
         mockMvc.perform(multipart("/api/files/import/xml")
@@ -195,7 +200,188 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.errors.length()").value(1))
                 .andExpect(jsonPath("$.errors[0]").value("Line 1: Invalid email format"));
 
-        verify(importService, times(1)).importXmlFile(any(MultipartFile.class));
+        verify(importService, times(1)).importXmlFile(any(MultipartFile.class), eq(ImportOptions.DEFAULT));
+    }
+
+    @Test
+    @WithMockUser
+    void importCsv_WithDelta_ShouldPassDeltaOptions() throws Exception {
+        // Given
+        when(importService.importCsvFile(any(MultipartFile.class), eq(ImportOptions.DELTA))).thenReturn(successSummary);
+
+        // When & Then
+        mockMvc.perform(multipart("/api/files/import/csv")
+                        .file(validCsvFile)
+                        .param("delta", "true")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedCount").value(0))
+                .andExpect(jsonPath("$.unchangedCount").value(0));
+
+        verify(importService, times(1)).importCsvFile(any(MultipartFile.class), eq(ImportOptions.DELTA));
+    }
+
+    @Test
+    @WithMockUser
+    void importCsv_WithDryRun_ShouldReturnOkWithProjectedRejects() throws Exception {
+        // Given
+        ImportSummary dryRunSummary = new ImportSummary();
+        DryRunReport report = new DryRunReport();
+        report.projectInsert();
+        report.projectReject();
+        dryRunSummary.setDryRunReport(report);
+        dryRunSummary.addError("Line 3: Invalid email format");
+        when(importService.importCsvFile(any(MultipartFile.class), eq(new ImportOptions(false, true))))
+                .thenReturn(dryRunSummary);
+
+        // When & Then
+        mockMvc.perform(multipart("/api/files/import/csv")
+                        .file(validCsvFile)
+                        .param("dryRun", "true")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(0))
+                .andExpect(jsonPath("$.dryRunReport.projectedInserts").value(1))
+                .andExpect(jsonPath("$.dryRunReport.projectedRejects").value(1))
+                .andExpect(jsonPath("$.errors.length()").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void bulkLoadSeedCsv_ShouldReturnSummary() throws Exception {
+        // Given
+        when(importService.bulkLoadSeedFile()).thenReturn(successSummary);
+
+        // When & Then
+        mockMvc.perform(post("/api/files/import/csv/bulk-load")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors").isEmpty());
+
+        verify(importService, times(1)).bulkLoadSeedFile();
+    }
+
+    // === TESTY ZADAŃ ASYNCHRONICZNYCH ===
+
+    @Test
+    @WithMockUser
+    void importCsv_Async_ShouldReturnAcceptedWithJob() throws Exception {
+        // Given
+        ImportJob job = new ImportJob("job-1", "CSV", "employees.csv", "stored.csv");
+        when(importJobService.submitCsvImport(any(MultipartFile.class), eq(ImportOptions.DEFAULT))).thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(multipart("/api/files/import/csv")
+                        .file(validCsvFile)
+                        .param("async", "true")
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/files/import/jobs/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.storedFileName").value("stored.csv"));
+
+        verify(importService, never()).importCsvFile(any(MultipartFile.class), any(ImportOptions.class));
+    }
+
+    @Test
+    @WithMockUser
+    void importXml_Async_WhenQueueFull_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(importJobService.submitXmlImport(any(MultipartFile.class), eq(ImportOptions.DEFAULT)))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/files/import/xml")
+                        .file(validXmlFile)
+                        .param("async", "true")
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @WithMockUser
+    void getImportJob_WithProgress_ShouldReturnCounters() throws Exception {
+        // Given
+        ImportJob job = new ImportJob("job-2", "CSV", "employees.csv", "stored.csv");
+        job.markRunning();
+        job.updateProgress(1000, 990, 10);
+        when(importJobService.getJob("job-2")).thenReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(get("/api/files/import/jobs/job-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.rowsProcessed").value(1000))
+                .andExpect(jsonPath("$.importedCount").value(990))
+                .andExpect(jsonPath("$.errorCount").value(10))
+                .andExpect(jsonPath("$.rowsPerSecond").isNumber());
+    }
+
+    @Test
+    @WithMockUser
+    void getImportJob_WhenMissing_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(importJobService.getJob("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/files/import/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void cancelImportJob_ShouldReturnJob() throws Exception {
+        // Given
+        ImportJob job = new ImportJob("job-3", "XML", "employees.xml", "stored.xml");
+        job.cancel();
+        when(importJobService.cancelJob("job-3")).thenReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(delete("/api/files/import/jobs/job-3").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    @WithMockUser
+    void resumeImport_ShouldReturnAcceptedWithResumedJob() throws Exception {
+        // Given
+        ImportJob job = new ImportJob("job-4", "CSV", "employees.csv", "stored.csv", 1001);
+        when(importJobService.resumeImport("stored.csv")).thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/files/import/checkpoints/stored.csv/resume").with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-4"))
+                .andExpect(jsonPath("$.resumedFromLine").value(1001));
+    }
+
+    @Test
+    @WithMockUser
+    void getImportCheckpoint_WhenMissing_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(importJobService.getCheckpoint("stored.csv")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/files/import/checkpoints/stored.csv"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void downloadImportErrors_ShouldReturnCsvAttachment() throws Exception {
+        // Given
+        String fileName = "import-errors-123e4567-e89b-12d3-a456-426614174000.csv";
+        when(importService.loadErrorFile(fileName))
+                .thenReturn(new ByteArrayResource("line,location,field,code,message\n".getBytes()));
+
+        // When & Then
+        mockMvc.perform(get("/api/files/import/errors/" + fileName))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "\""));
     }
 
     // === TESTY EKSPORTU RAPORTÓW ===
@@ -0,0 +1,77 @@
+package com.techcorp.employee.controller;
+
+import com.techcorp.employee.dto.SalaryBatchResult;
+import com.techcorp.employee.service.SalaryBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SalaryController.class)
+class SalaryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SalaryBatchService salaryBatchService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateSalaries_ShouldReturnPerRowResults() throws Exception {
+        // Given
+        SalaryBatchResult result = new SalaryBatchResult(List.of(
+                new SalaryBatchResult.RowResult(0, "jan@techcorp.com", SalaryBatchResult.RowStatus.UPDATED,
+                        new BigDecimal("5000.00"), new BigDecimal("5500.00"), null)),
+                1, 0, 0, 0, 12, 83.3);
+        when(salaryBatchService.updateSalaries(anyList())).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/salaries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+                        .content("[{\"email\":\"jan@techcorp.com\",\"newSalary\":5500.00}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedCount").value(1))
+                .andExpect(jsonPath("$.rows[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.rowsPerSecond").value(83.3));
+
+        verify(salaryBatchService, times(1)).updateSalaries(anyList());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateSalaries_InvalidRow_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/salaries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+                        .content("[{\"email\":\"\",\"newSalary\":5500.00}]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(salaryBatchService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateSalaries_EmptyBatch_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/salaries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(salaryBatchService);
+    }
+}
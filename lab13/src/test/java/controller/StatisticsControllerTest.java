@@ -1,6 +1,7 @@
 package com.techcorp.employee.controller;
 
 import com.techcorp.employee.dto.CompanyStatisticsDTO;
+import com.techcorp.employee.service.CacheStatisticsService;
 import com.techcorp.employee.service.StatisticsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,9 +12,11 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +29,9 @@ public class StatisticsControllerTest {
     @MockBean
     private StatisticsService statisticsService;
 
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
+
     @Test
     @WithMockUser  // Dodaj to!
     public void testGetAverageSalary_WithoutCompany() throws Exception {
@@ -303,4 +309,51 @@ public class StatisticsControllerTest {
 
         verify(statisticsService, times(1)).getAverageSalary("BigCorp");
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void testGetCacheStatistics() throws Exception {
+        // Given
+        Map<String, Object> counters = new HashMap<>();
+        counters.put("hits", 9L);
+        counters.put("misses", 1L);
+        counters.put("hitRatio", 90.0);
+        when(cacheStatisticsService.getRegionStatistics())
+                .thenReturn(Map.of("employees.department", counters));
+
+        // When & Then
+        mockMvc.perform(get("/api/statistics/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['employees.department'].hits").value(9))
+                .andExpect(jsonPath("$['employees.department'].hitRatio").value(90.0));
+
+        verify(cacheStatisticsService, times(1)).getRegionStatistics();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void testRebuildCompanyStatistics() throws Exception {
+        // Given
+        when(statisticsService.rebuildCompanyStatistics()).thenReturn(3);
+
+        // When & Then
+        mockMvc.perform(post("/api/statistics/company-stats/rebuild").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companies").value(3));
+
+        verify(statisticsService, times(1)).rebuildCompanyStatistics();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void testVerifyCompanyStatistics_WithMismatch() throws Exception {
+        // Given
+        when(statisticsService.verifyCompanyStatistics()).thenReturn(List.of("SoftPol"));
+
+        // When & Then
+        mockMvc.perform(get("/api/statistics/company-stats/verify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(false))
+                .andExpect(jsonPath("$.mismatchedCompanies[0]").value("SoftPol"));
+    }
+}
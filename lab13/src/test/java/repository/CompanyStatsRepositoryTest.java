@@ -0,0 +1,229 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.dto.CompanyStatisticsDTO;
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.EmploymentStatus;
+import com.techcorp.employee.model.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * company_stats porównywane z agregatami liczonymi od nowa (EmployeeRepository.getCompanyStatisticsDTO).
+ * Każdy zapis to osobna transakcja, tak jak w aplikacji - listener działa podczas flush.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CompanyStatsRepository.class)
+@DisplayName("CompanyStatsRepository Tests")
+class CompanyStatsRepositoryTest {
+
+    @Autowired
+    private CompanyStatsRepository companyStatsRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM company_stats");
+    }
+
+    @Test
+    @DisplayName("Should maintain count, average, max and top earner on JPA inserts")
+    void save_ShouldUpdateCompanyRow() {
+        // Arrange
+        save("Anna Nowak", "TechCorp", "7000.00");
+        save("Jan Kowalski", "TechCorp", "9000.00");
+        save("Ewa Lis", "SoftPol", "5000.00");
+
+        // Act
+        CompanyStatisticsDTO techCorp = companyStatsRepository.findByCompany("TechCorp").orElseThrow();
+
+        // Assert
+        assertAll(
+                () -> assertEquals(2L, techCorp.getEmployeeCount()),
+                () -> assertEquals(0, new BigDecimal("8000").compareTo(techCorp.getAverageSalary())),
+                () -> assertEquals(0, new BigDecimal("9000").compareTo(techCorp.getHighestSalary())),
+                () -> assertEquals("Jan Kowalski", techCorp.getTopEarnerName())
+        );
+        assertMatchesEmployees();
+    }
+
+    @Test
+    @DisplayName("Should keep the lower id as top earner when salaries tie")
+    void save_WithTiedTopSalary_ShouldKeepLowerId() {
+        // Arrange
+        save("Anna Nowak", "TechCorp", "9000.00");
+        save("Jan Kowalski", "TechCorp", "9000.00");
+
+        // Act & Assert
+        assertEquals("Anna Nowak", companyStatsRepository.findByCompany("TechCorp").orElseThrow().getTopEarnerName());
+        assertMatchesEmployees();
+    }
+
+    @Test
+    @DisplayName("Should move top earner to an employee raised above the current maximum")
+    void salaryRaise_AboveMaximum_ShouldChangeTopEarner() {
+        // Arrange - Anna nie ma ani najniższej, ani najwyższej pensji, więc podwyżka nie unieważnia skrajnych
+        save("Ewa Lis", "TechCorp", "5000.00");
+        Employee anna = save("Anna Nowak", "TechCorp", "7000.00");
+        save("Jan Kowalski", "TechCorp", "9000.00");
+
+        // Act
+        anna.setSalary(new BigDecimal("9500.00"));
+        employeeRepository.save(anna);
+
+        // Assert
+        assertEquals("Anna Nowak", companyStatsRepository.findByCompany("TechCorp").orElseThrow().getTopEarnerName());
+        assertEquals(0, staleCompanies());
+        assertMatchesEmployees();
+    }
+
+    @Test
+    @DisplayName("Should read extremes from the index while stale and recompute them before commit")
+    void delete_TopEarner_ShouldRecomputeExtremesBeforeCommit() {
+        // Arrange
+        save("Anna Nowak", "TechCorp", "7000.00");
+        Employee jan = save("Jan Kowalski", "TechCorp", "9000.00");
+        save("Ewa Lis", "TechCorp", "8000.00");
+
+        // Act - odczyt w transakcji usunięcia, po flush, a przed commitem
+        CompanyStatisticsDTO beforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            employeeRepository.delete(jan);
+            employeeRepository.flush();
+            assertEquals(1, staleCompanies());
+            return companyStatsRepository.findByCompany("TechCorp").orElseThrow();
+        });
+
+        // Assert
+        assertAll(
+                () -> assertEquals(2L, beforeCommit.getEmployeeCount()),
+                () -> assertEquals(0, new BigDecimal("8000").compareTo(beforeCommit.getHighestSalary())),
+                () -> assertEquals("Ewa Lis", beforeCommit.getTopEarnerName()),
+                () -> assertEquals(0, staleCompanies())
+        );
+        assertMatchesEmployees();
+    }
+
+    @Test
+    @DisplayName("Should recompute extremes when the top earner's salary is cut through JPA")
+    void salaryCut_OfTopEarner_ShouldNotLeaveStaleRow() {
+        // Arrange
+        save("Anna Nowak", "TechCorp", "7000.00");
+        Employee jan = save("Jan Kowalski", "TechCorp", "9000.00");
+
+        // Act
+        jan.setSalary(new BigDecimal("6000.00"));
+        employeeRepository.save(jan);
+
+        // Assert
+        assertEquals(0, staleCompanies());
+        assertEquals("Anna Nowak", companyStatsRepository.findByCompany("TechCorp").orElseThrow().getTopEarnerName());
+        assertMatchesEmployees();
+    }
+
+    @Test
+    @DisplayName("Should move employee between companies and drop the emptied company")
+    void changeCompany_ShouldMoveEmployeeAndRemoveEmptyCompany() {
+        // Arrange
+        Employee ewa = save("Ewa Lis", "SoftPol", "5000.00");
+        save("Jan Kowalski", "TechCorp", "9000.00");
+
+        // Act
+        ewa.setCompany("TechCorp");
+        employeeRepository.save(ewa);
+
+        // Assert
+        assertTrue(companyStatsRepository.findByCompany("SoftPol").isEmpty());
+        assertEquals(2L, companyStatsRepository.findByCompany("TechCorp").orElseThrow().getEmployeeCount());
+        assertMatchesEmployees();
+    }
+
+    @Test
+    @DisplayName("Should apply JDBC deltas and refresh extremes of touched companies")
+    void apply_AfterJdbcInsert_ShouldMatchEmployees() {
+        // Arrange
+        save("Anna Nowak", "TechCorp", "7000.00");
+        jdbcTemplate.update("INSERT INTO employees (name, email, company, position, salary, status) " +
+                "VALUES ('Piotr Zieliński', 'piotr.zielinski@techcorp.com', 'TechCorp', 'MANAGER', 12000.00, 'ACTIVE')");
+        jdbcTemplate.update("INSERT INTO employees (name, email, company, position, salary, status) " +
+                "VALUES ('Ola Wróbel', 'ola.wrobel@techcorp.com', 'DataSoft', 'PROGRAMMER', 6000.00, 'ACTIVE')");
+
+        // Act
+        companyStatsRepository.apply(new CompanyStatsRepository.Delta()
+                .added("TechCorp", new BigDecimal("12000.00"))
+                .added("DataSoft", new BigDecimal("6000.00")));
+
+        // Assert
+        assertEquals("Piotr Zieliński", companyStatsRepository.findByCompany("TechCorp").orElseThrow().getTopEarnerName());
+        assertMatchesEmployees();
+    }
+
+    @Test
+    @DisplayName("Verify should report companies changed behind the application and rebuild should fix them")
+    void verifyAndRebuild_AfterOutOfBandUpdate_ShouldDetectAndRepair() {
+        // Arrange
+        save("Anna Nowak", "TechCorp", "7000.00");
+        save("Ewa Lis", "SoftPol", "5000.00");
+        jdbcTemplate.update("UPDATE employees SET salary = 5500.00 WHERE company = 'SoftPol'");
+
+        // Act
+        List<String> mismatched = companyStatsRepository.verify();
+        int companies = companyStatsRepository.rebuild();
+
+        // Assert
+        assertEquals(List.of("SoftPol"), mismatched);
+        assertEquals(2, companies);
+        assertMatchesEmployees();
+    }
+
+    private Employee save(String name, String company, String salary) {
+        String email = name.toLowerCase().replace(' ', '.') + "@techcorp.com";
+        return employeeRepository.save(new Employee(name, email, company, Position.PROGRAMMER,
+                new BigDecimal(salary), EmploymentStatus.ACTIVE));
+    }
+
+    private int staleCompanies() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM company_stats WHERE extremes_stale", Integer.class);
+    }
+
+    private void assertMatchesEmployees() {
+        List<CompanyStatisticsDTO> expected = employeeRepository.getCompanyStatisticsDTO();
+        List<CompanyStatisticsDTO> actual = companyStatsRepository.findAll();
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            CompanyStatisticsDTO want = expected.get(i);
+            CompanyStatisticsDTO got = actual.get(i);
+            assertAll(want.getCompanyName(),
+                    () -> assertEquals(want.getCompanyName(), got.getCompanyName()),
+                    () -> assertEquals(want.getEmployeeCount(), got.getEmployeeCount()),
+                    () -> assertEquals(0, want.getAverageSalary().compareTo(got.getAverageSalary())),
+                    () -> assertEquals(0, want.getHighestSalary().compareTo(got.getHighestSalary())),
+                    () -> assertEquals(want.getTopEarnerName(), got.getTopEarnerName())
+            );
+        }
+        assertEquals(List.of(), companyStatsRepository.verify());
+    }
+}
@@ -0,0 +1,112 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({EmployeeBulkLoadRepository.class, H2BulkLoadDialect.class, SecondLevelCacheEvictor.class,
+        CompanyStatsRepository.class})
+@DisplayName("EmployeeBulkLoadRepository Integration Tests")
+class EmployeeBulkLoadRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private EmployeeBulkLoadRepository employeeBulkLoadRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompanyStatsRepository companyStatsRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employeeRepository.saveAndFlush(new Employee("Jan Kowalski", "jan@techcorp.com", "TechCorp",
+                Position.MANAGER, new BigDecimal("15000.00")));
+    }
+
+    @Test
+    @DisplayName("Should merge valid rows by email and report rows failing SQL checks")
+    void loadCsv_ShouldMergeValidRowsAndRejectInvalid() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("seed.csv");
+        Files.writeString(csv, "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,16000\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,programmer,9000.505\n" +
+                "Piotr,Lis,piotr@techcorp.com,TechCorp,JANITOR,3000\n" +
+                "Ewa,Zielinska,ewa@techcorp.com,TechCorp,INTERN,-5\n" +
+                "Adam,,adam@techcorp.com,TechCorp,INTERN,3000\n" +
+                "Ola,Wrona,ola@other.com,TechCorp,INTERN,3000\n" +
+                "Kamil,Maj,kamil@techcorp.com,TechCorp,PRESIDENT,2000000\n");
+
+        // Act
+        EmployeeBulkLoadRepository.BulkLoadResult result = employeeBulkLoadRepository.loadCsv(csv);
+
+        // Assert
+        assertAll("Bulk load",
+                () -> assertEquals(2, result.mergedCount()),
+                () -> assertEquals(5, result.rejectedRows().size()),
+                () -> assertEquals(new EmployeeBulkLoadRepository.RejectedRow(4, "position", "INVALID_POSITION",
+                        "Invalid position. Valid values: " + Arrays.toString(Position.values())), result.rejectedRows().get(0)),
+                () -> assertEquals(5, result.rejectedRows().get(1).lineNumber()),
+                () -> assertEquals("INVALID_SALARY", result.rejectedRows().get(1).code()),
+                () -> assertEquals("lastName", result.rejectedRows().get(2).field()),
+                () -> assertEquals("VALIDATION_ERROR", result.rejectedRows().get(3).code()),
+                () -> assertEquals(8, result.rejectedRows().get(4).lineNumber()),
+                () -> assertEquals(2, employeeRepository.count()),
+                () -> assertEquals(0, new BigDecimal("16000.00").compareTo(jdbcTemplate.queryForObject(
+                        "SELECT salary FROM employees WHERE email = ?", BigDecimal.class, "jan@techcorp.com"))),
+                () -> assertEquals("Anna Nowak", jdbcTemplate.queryForObject(
+                        "SELECT name FROM employees WHERE email = ?", String.class, "anna@techcorp.com")),
+                () -> assertEquals("PROGRAMMER", jdbcTemplate.queryForObject(
+                        "SELECT position FROM employees WHERE email = ?", String.class, "anna@techcorp.com")),
+                () -> assertEquals(2L, companyStatsRepository.findByCompany("TechCorp").orElseThrow().getEmployeeCount()),
+                () -> assertEquals(List.of(), companyStatsRepository.verify())
+        );
+    }
+
+    @Test
+    @DisplayName("Should store emails lowercased and merge mixed-case rows into the existing employee")
+    void loadCsv_WithMixedCaseEmail_ShouldMergeByNormalizedEmail() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("seed.csv");
+        Files.writeString(csv, "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski, Jan@TechCorp.com ,TechCorp,MANAGER,17000\n" +
+                "Marta,Kot,Marta.Kot@TECHCORP.com,TechCorp,PROGRAMMER,8000\n");
+
+        // Act
+        EmployeeBulkLoadRepository.BulkLoadResult result = employeeBulkLoadRepository.loadCsv(csv);
+
+        // Assert
+        assertAll("Normalized email",
+                () -> assertEquals(2, result.mergedCount()),
+                () -> assertEquals(2, employeeRepository.count()),
+                () -> assertEquals(0, new BigDecimal("17000.00").compareTo(jdbcTemplate.queryForObject(
+                        "SELECT salary FROM employees WHERE email = ?", BigDecimal.class, "jan@techcorp.com"))),
+                () -> assertTrue(employeeRepository.findByEmail("marta.kot@techcorp.com").isPresent())
+        );
+    }
+}
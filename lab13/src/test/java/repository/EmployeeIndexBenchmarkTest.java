@@ -0,0 +1,119 @@
+package com.techcorp.employee.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pomiar zapytań przed i po dodaniu indeksów na wygenerowanym zbiorze danych.
+ * Uruchamiany tylko na żądanie, np.:
+ * <pre>mvn test -Dtest=EmployeeIndexBenchmarkTest -Dbenchmark.rows=1000000</pre>
+ * Wynik (plan EXPLAIN i mediana czasu każdego zapytania) trafia do logu testu.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+@DisplayName("Employee index benchmark")
+class EmployeeIndexBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeIndexBenchmarkTest.class);
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 15;
+
+    // H2 sam zakłada indeks pod klucz obcy i nie pozwala go usunąć - w punkcie "przed" zostaje
+    private static final Set<String> FOREIGN_KEY_INDEXES = Set.of("idx_employees_department");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // DDL w H2 zatwierdza transakcję - dane trzeba usunąć ręcznie, a indeksy odtworzyć dla kolejnych testów
+        IndexBenchmarkData.schemaIndexStatements().forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("TRUNCATE TABLE employees");
+        jdbcTemplate.execute("TRUNCATE TABLE audit_log");
+        jdbcTemplate.execute("DELETE FROM departments");
+    }
+
+    @Test
+    @DisplayName("Should report query plans and latencies without and with secondary indexes")
+    void benchmarkHotQueries() {
+        // Arrange
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        List<String> indexStatements = IndexBenchmarkData.schemaIndexStatements();
+        IndexBenchmarkData.generate(jdbcTemplate, rows);
+
+        // Act - przed: bez indeksów pomocniczych
+        indexStatements.stream()
+                .map(IndexBenchmarkData::indexName)
+                .filter(name -> !FOREIGN_KEY_INDEXES.contains(name))
+                .forEach(name -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + name));
+        jdbcTemplate.execute("ANALYZE");
+        List<Measurement> before = measureAll();
+
+        // Act - po: indeksy z schema.sql
+        indexStatements.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("ANALYZE");
+        List<Measurement> after = measureAll();
+
+        // Assert
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%nIndex benchmark, %,d employees / %,d audit_log rows%n%-46s %12s %12s %9s%n",
+                rows, rows, "query", "before [ms]", "after [ms]", "speedup"));
+        for (int i = 0; i < before.size(); i++) {
+            report.append(String.format(Locale.ROOT, "%-46s %12.3f %12.3f %8.1fx%n",
+                    IndexBenchmarkData.HOT_QUERIES.get(i).name(), before.get(i).medianMillis(),
+                    after.get(i).medianMillis(), before.get(i).medianMillis() / after.get(i).medianMillis()));
+        }
+        for (int i = 0; i < before.size(); i++) {
+            report.append(String.format("%n%s%n  before: %s%n  after:  %s%n", IndexBenchmarkData.HOT_QUERIES.get(i).name(),
+                    before.get(i).plan().replaceAll("\\s+", " "), after.get(i).plan().replaceAll("\\s+", " ")));
+        }
+        logger.info(report.toString());
+
+        for (int i = 0; i < after.size(); i++) {
+            IndexBenchmarkData.HotQuery query = IndexBenchmarkData.HOT_QUERIES.get(i);
+            assertTrue(after.get(i).plan().contains(query.expectedIndex().toUpperCase(Locale.ROOT)),
+                    query.name() + " should use " + query.expectedIndex());
+        }
+    }
+
+    private List<Measurement> measureAll() {
+        return IndexBenchmarkData.HOT_QUERIES.stream()
+                .map(this::measure)
+                .toList();
+    }
+
+    private Measurement measure(IndexBenchmarkData.HotQuery query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            jdbcTemplate.queryForList(query.sql(), query.args());
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            jdbcTemplate.queryForList(query.sql(), query.args());
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Measurement(IndexBenchmarkData.explain(jdbcTemplate, query), nanos[MEASURED_RUNS / 2] / 1_000_000.0);
+    }
+
+    private record Measurement(String plan, double medianMillis) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.techcorp.employee.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Employee and AuditLog index Tests")
+class EmployeeIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        IndexBenchmarkData.generate(jdbcTemplate, 2_000);
+    }
+
+    @Test
+    @DisplayName("Should create the same secondary indexes from entity mapping as declared in schema.sql")
+    void entityIndexes_ShouldMatchSchemaSql() {
+        // Arrange
+        Set<String> declaredInSchema = IndexBenchmarkData.schemaIndexStatements().stream()
+                .map(IndexBenchmarkData::indexName)
+                .map(name -> name.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        // Act
+        Set<String> createdByHibernate = Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                        "WHERE TABLE_NAME IN ('EMPLOYEES', 'AUDIT_LOG') AND INDEX_NAME LIKE 'IDX_%'",
+                String.class));
+
+        // Assert
+        assertAll("Declared indexes",
+                () -> assertEquals(8, declaredInSchema.size()),
+                () -> assertEquals(declaredInSchema, createdByHibernate)
+        );
+    }
+
+    @Test
+    @DisplayName("Should plan every hot query through its dedicated index")
+    void hotQueries_ShouldUseIndexes() {
+        // Act
+        List<String> plans = IndexBenchmarkData.HOT_QUERIES.stream()
+                .map(query -> IndexBenchmarkData.explain(jdbcTemplate, query))
+                .toList();
+
+        // Assert
+        for (int i = 0; i < plans.size(); i++) {
+            IndexBenchmarkData.HotQuery query = IndexBenchmarkData.HOT_QUERIES.get(i);
+            String plan = plans.get(i);
+            assertTrue(plan.contains(query.expectedIndex().toUpperCase(Locale.ROOT)),
+                    () -> query.name() + " should use " + query.expectedIndex() + ", plan: " + plan);
+            assertFalse(plan.contains("tableScan"), () -> query.name() + " should not scan table, plan: " + plan);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.Position;
+import com.techcorp.employee.specification.EmployeeSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Indeks trigramów nazw: kandydaci są nadzbiorem trafień LIKE '%x%' i nadążają za zapisami JPA.
+ * Pomiar na dużym zbiorze uruchamiany tylko na żądanie, np.:
+ * <pre>mvn test -Dtest=EmployeeNameIndexTest -Dbenchmark.rows=1000000</pre>
+ */
+@DataJpaTest
+@Import(EmployeeNameIndex.class)
+@DisplayName("EmployeeNameIndex Tests")
+class EmployeeNameIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndexTest.class);
+
+    private static final String[] FIRST_NAMES = {"Jan", "Anna", "Piotr", "Maria", "Tomasz", "Ewa", "Marek", "Zofia"};
+    private static final String[] SYLLABLES = {
+            "kow", "now", "wis", "lew", "dab", "zie", "szy", "woj", "kam", "mak",
+            "gra", "paw", "mic", "kro", "jab", "maj", "ols", "jas", "ruc", "baj"};
+
+    @Autowired
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeNameIndex isolatedIndex;
+
+    @BeforeEach
+    void setUp() {
+        insertEmployees(2_000);
+        employeeNameIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should return every id matched by LIKE, case-insensitively")
+    void findCandidates_ShouldContainAllLikeMatches() {
+        for (String fragment : List.of("kowmak", "NOWWIS", "jan kow", "szywoj")) {
+            // Arrange
+            List<Long> expected = jdbcTemplate.queryForList(
+                    "SELECT id FROM employees WHERE LOWER(name) LIKE ?", Long.class,
+                    "%" + fragment.toLowerCase(Locale.ROOT) + "%");
+
+            // Act
+            Optional<List<Long>> candidates = employeeNameIndex.findCandidates(fragment);
+
+            // Assert
+            assertTrue(candidates.isPresent(), fragment);
+            assertTrue(candidates.get().containsAll(expected), fragment);
+            assertFalse(expected.isEmpty(), fragment);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return no candidates for a trigram absent from all names")
+    void findCandidates_WithUnknownTrigram_ShouldReturnEmptyList() {
+        assertEquals(Optional.of(List.of()), employeeNameIndex.findCandidates("xyzq"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to a scan for short fragments, LIKE wildcards and unselective fragments")
+    void findCandidates_WhenIndexCannotHelp_ShouldReturnEmpty() {
+        // Arrange
+        ReflectionTestUtils.setField(employeeNameIndex, "maxCandidates", 100);
+
+        // Act & Assert
+        assertAll("Fallback",
+                () -> assertTrue(employeeNameIndex.findCandidates("ko").isEmpty()),
+                () -> assertTrue(employeeNameIndex.findCandidates("ko%ak").isEmpty()),
+                () -> assertTrue(employeeNameIndex.findCandidates("kow_").isEmpty()),
+                () -> assertTrue(employeeNameIndex.findCandidates("jan").isEmpty())
+        );
+        ReflectionTestUtils.setField(employeeNameIndex, "maxCandidates", 2000);
+    }
+
+    @Test
+    @DisplayName("Should index employees saved and renamed through JPA without rebuild, keeping deletes until commit")
+    void jpaWrites_ShouldUpdateIndex() {
+        // Arrange
+        Employee employee = employeeRepository.saveAndFlush(new Employee("Grzegorz Brzęczyszczykiewicz",
+                "grzegorz@techcorp.com", "TechCorp", Position.PROGRAMMER, new BigDecimal("8000.00")));
+
+        // Act
+        Optional<List<Long>> afterSave = employeeNameIndex.findCandidates("czyszczyk");
+        employee.setName("Grzegorz Chrząszczyżewoszycki");
+        employeeRepository.saveAndFlush(employee);
+        Optional<List<Long>> afterRename = employeeNameIndex.findCandidates("wosz");
+        employeeRepository.delete(employee);
+        employeeRepository.flush();
+        Optional<List<Long>> afterDelete = employeeNameIndex.findCandidates("wosz");
+
+        // Assert
+        assertAll("Incremental updates",
+                () -> assertEquals(Optional.of(List.of(employee.getId())), afterSave),
+                () -> assertEquals(Optional.of(List.of(employee.getId())), afterRename),
+                // usunięcie czeka na commit - transakcja testu jest wycofywana
+                () -> assertEquals(Optional.of(List.of(employee.getId())), afterDelete)
+        );
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should drop a deleted name only after commit and keep it after rollback")
+    void delete_ShouldRemoveNameOnlyAfterCommit() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            // Arrange
+            Employee employee = employeeRepository.save(new Employee("Grzegorz Brzęczyszczykiewicz",
+                    "grzegorz@techcorp.com", "TechCorp", Position.PROGRAMMER, new BigDecimal("8000.00")));
+
+            // Act
+            transaction.executeWithoutResult(status -> {
+                employeeRepository.delete(employeeRepository.findById(employee.getId()).orElseThrow());
+                employeeRepository.flush();
+                status.setRollbackOnly();
+            });
+            Optional<List<Long>> afterRollback = employeeNameIndex.findCandidates("czyszczyk");
+            transaction.executeWithoutResult(status -> employeeRepository.deleteById(employee.getId()));
+            Optional<List<Long>> afterCommit = employeeNameIndex.findCandidates("czyszczyk");
+
+            // Assert
+            assertEquals(Optional.of(List.of(employee.getId())), afterRollback);
+            assertEquals(Optional.of(List.of()), afterCommit);
+        } finally {
+            jdbcTemplate.execute("TRUNCATE TABLE employees");
+            employeeNameIndex.rebuild();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should keep a name indexed by another thread while rebuild was reading the table")
+    void rebuild_WithConcurrentIndex_ShouldNotDropWrite() throws Exception {
+        // Arrange - zapis z drugiego wątku trafia dokładnie między SELECT przebudowy a podmianę map
+        long[] insertedId = new long[1];
+        JdbcTemplate pausingTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler handler) {
+                super.query(sql, handler);
+                Thread writer = new Thread(() -> {
+                    jdbcTemplate.update("INSERT INTO employees (name, email, company, position, salary, status) " +
+                            "VALUES ('Grzegorz Brzęczyszczykiewicz', 'grzegorz@techcorp.com', 'TechCorp', 'PROGRAMMER', 8000, 'ACTIVE')");
+                    insertedId[0] = jdbcTemplate.queryForObject(
+                            "SELECT id FROM employees WHERE email = 'grzegorz@techcorp.com'", Long.class);
+                    isolatedIndex.index(insertedId[0], "Grzegorz Brzęczyszczykiewicz");
+                });
+                writer.start();
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        isolatedIndex = new EmployeeNameIndex(pausingTemplate);
+
+        try {
+            // Act
+            isolatedIndex.rebuild();
+
+            // Assert
+            assertEquals(Optional.of(List.of(insertedId[0])), isolatedIndex.findCandidates("czyszczyk"));
+            assertTrue(isolatedIndex.findCandidates("kowmak").isPresent());
+        } finally {
+            jdbcTemplate.execute("TRUNCATE TABLE employees");
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should re-index a name committed after a rebuild that could not see it")
+    void rebuild_BeforeWriterCommits_ShouldReindexAfterCommit() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            // Arrange - pracownik zapisany i zaindeksowany przy flush, ale jeszcze niezatwierdzony
+            Future<Long> savedId = writer.submit(() -> transaction.execute(status -> {
+                Employee employee = employeeRepository.saveAndFlush(new Employee("Grzegorz Brzęczyszczykiewicz",
+                        "grzegorz@techcorp.com", "TechCorp", Position.PROGRAMMER, new BigDecimal("8000.00")));
+                flushed.countDown();
+                await(rebuilt);
+                return employee.getId();
+            }));
+            assertTrue(flushed.await(10, TimeUnit.SECONDS));
+
+            // Act
+            employeeNameIndex.rebuild();
+            rebuilt.countDown();
+            long id = savedId.get(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals(Optional.of(List.of(id)), employeeNameIndex.findCandidates("czyszczyk"));
+        } finally {
+            rebuilt.countDown();
+            writer.shutdownNow();
+            jdbcTemplate.execute("TRUNCATE TABLE employees");
+            employeeNameIndex.rebuild();
+        }
+    }
+
+    @Test
+    @DisplayName("Should combine candidates with other filters and verify names exactly")
+    void hasNameIn_ShouldMatchLikeScan() {
+        // Arrange
+        String fragment = "kowmak";
+        Specification<Employee> filter = EmployeeSpecification.fromCompany("CodeLab");
+        List<Long> candidates = employeeNameIndex.findCandidates(fragment).orElseThrow();
+        // nieaktualny wpis (np. po zmianie nazwy) nie może dać fałszywego trafienia
+        candidates = new ArrayList<>(candidates);
+        candidates.add(jdbcTemplate.queryForObject("SELECT MIN(id) FROM employees", Long.class));
+
+        // Act
+        List<Employee> indexed = employeeRepository.findAll(
+                filter.and(EmployeeSpecification.hasNameIn(fragment, candidates)));
+        List<Employee> scanned = employeeRepository.findAll(filter.and(EmployeeSpecification.hasName(fragment)));
+
+        // Assert
+        assertFalse(scanned.isEmpty());
+        assertEquals(scanned.stream().map(Employee::getId).sorted().toList(),
+                indexed.stream().map(Employee::getId).sorted().toList());
+        assertTrue(employeeRepository.findAll(EmployeeSpecification.hasNameIn(fragment, List.of())).isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    @DisplayName("Should report substring search latency with and without the trigram index")
+    void benchmarkSubstringSearch() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        try {
+            // Arrange
+            jdbcTemplate.execute("TRUNCATE TABLE employees");
+            insertEmployees(rows);
+            long start = System.nanoTime();
+            employeeNameIndex.rebuild();
+            double rebuildMillis = (System.nanoTime() - start) / 1_000_000.0;
+            String fragment = "kowmakgra";
+            PageRequest page = PageRequest.of(0, 20);
+
+            // Act
+            double lookupMillis = median(() -> employeeNameIndex.findCandidates(fragment));
+            List<Long> candidates = employeeNameIndex.findCandidates(fragment).orElseThrow();
+            String verifySql = "SELECT id, name FROM employees WHERE id IN ("
+                    + String.join(",", Collections.nCopies(candidates.size(), "?")) + ") AND LOWER(name) LIKE ? LIMIT 20";
+            Object[] verifyArgs = Stream.concat(candidates.stream(), Stream.of("%" + fragment + "%")).toArray();
+            double verifyMillis = median(() -> jdbcTemplate.queryForList(verifySql, verifyArgs));
+            double scanMillis = median(() -> employeeRepository.findAll(EmployeeSpecification.hasName(fragment), page));
+            double indexedMillis = median(() -> employeeRepository.findAll(EmployeeSpecification.hasNameIn(fragment,
+                    employeeNameIndex.findCandidates(fragment).orElseThrow()), page));
+
+            // Assert
+            logger.info(String.format(Locale.ROOT,
+                    "%nName substring search, %,d employees, fragment '%s' (%d matches), index rebuild %.0f ms%n" +
+                            "  LIKE scan (findAll(spec, page)):      %8.3f ms%n" +
+                            "  trigram index (findAll(spec, page)):  %8.3f ms%n" +
+                            "    lookup kandydatów w indeksie:       %8.3f ms%n" +
+                            "    weryfikacja id IN + LIKE (JDBC):    %8.3f ms%n",
+                    rows, fragment, candidates.size(), rebuildMillis, scanMillis, indexedMillis, lookupMillis, verifyMillis));
+            assertTrue(indexedMillis < scanMillis);
+        } finally {
+            jdbcTemplate.execute("TRUNCATE TABLE employees");
+            employeeNameIndex.rebuild();
+        }
+    }
+
+    /**
+     * Nazwiska sklejone z trzech sylab (8000 kombinacji), więc fragment ma od kilkuset do kilku trafień na milion.
+     */
+    private void insertEmployees(int rows) {
+        List<Object[]> batch = new ArrayList<>(5_000);
+        for (int i = 0; i < rows; i++) {
+            String surname = SYLLABLES[i % 20] + SYLLABLES[(i / 20) % 20] + SYLLABLES[(i / 400) % 20];
+            batch.add(new Object[]{
+                    FIRST_NAMES[i % FIRST_NAMES.length] + " " + Character.toUpperCase(surname.charAt(0)) + surname.substring(1),
+                    "name" + i + "@techcorp.com", IndexBenchmarkData.COMPANIES.get(i % IndexBenchmarkData.COMPANIES.size()),
+                    "PROGRAMMER", BigDecimal.valueOf(5_000), "ACTIVE"});
+            if (batch.size() == 5_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO employees (name, email, company, position, salary, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double median(Runnable query) {
+        for (int i = 0; i < 20; i++) {
+            query.run();
+        }
+        long[] nanos = new long[15];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1_000_000.0;
+    }
+}
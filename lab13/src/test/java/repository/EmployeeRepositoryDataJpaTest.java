@@ -3,10 +3,12 @@ package com.techcorp.employee.repository;
 import com.techcorp.employee.model.*;
 import com.techcorp.employee.dto.EmployeeListView;
 import com.techcorp.employee.dto.CompanyStatisticsDTO;
+import com.techcorp.employee.specification.EmployeeSpecification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,11 +25,15 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(EmployeeProjectionRepository.class)
 class EmployeeRepositoryDataJpaTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeProjectionRepository employeeProjectionRepository;
+
     @Autowired
     private DepartmentRepository departmentRepository;
 
@@ -463,17 +469,15 @@ class EmployeeRepositoryDataJpaTest {
     @Test
     void testFindWithFiltersProjection() {
         Pageable pageable = PageRequest.of(0, 10);
+        Specification<Employee> spec = Specification
+                .where(EmployeeSpecification.hasName("Jan"))
+                .and(EmployeeSpecification.fromCompany("techcorp"))
+                .and(EmployeeSpecification.withPosition(Position.PROGRAMMER))
+                .and(EmployeeSpecification.withStatus(EmploymentStatus.ACTIVE))
+                .and(EmployeeSpecification.salaryBetween(8000.0, 10000.0))
+                .and(EmployeeSpecification.inDepartment("it"));
 
-        Page<EmployeeListView> result = employeeRepository.findWithFiltersProjection(
-                "Jan", // name filter
-                "TechCorp", // company filter
-                Position.PROGRAMMER, // position filter
-                EmploymentStatus.ACTIVE, // status filter
-                8000.0, // min salary
-                10000.0, // max salary
-                "IT", // department name
-                pageable
-        );
+        Page<EmployeeListView> result = employeeProjectionRepository.findPage(spec, pageable);
 
         assertAll(
                 () -> assertThat(result.getTotalElements()).isEqualTo(1),
@@ -490,17 +494,11 @@ class EmployeeRepositoryDataJpaTest {
     @Test
     void testFindWithFiltersProjection_NoDepartment() {
         Pageable pageable = PageRequest.of(0, 10);
+        Specification<Employee> spec = Specification
+                .where(EmployeeSpecification.fromCompany("OtherCorp"))
+                .and(EmployeeSpecification.inDepartment("Brak departamentu"));
 
-        Page<EmployeeListView> result = employeeRepository.findWithFiltersProjection(
-                null, // name filter
-                "OtherCorp", // company filter
-                null, // position filter
-                null, // status filter
-                null, // min salary
-                null, // max salary
-                "Brak departamentu", // department name
-                pageable
-        );
+        Page<EmployeeListView> result = employeeProjectionRepository.findPage(spec, pageable);
 
         assertAll(
                 () -> assertThat(result.getTotalElements()).isEqualTo(2),
@@ -511,6 +509,24 @@ class EmployeeRepositoryDataJpaTest {
         );
     }
 
+    @Test
+    void testFindWithFiltersProjection_SortedPages() {
+        Specification<Employee> spec = Specification.where(EmployeeSpecification.fromCompany("TECHCORP"));
+
+        Page<EmployeeListView> first = employeeProjectionRepository.findPage(
+                spec, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "salary")));
+        Page<EmployeeListView> second = employeeProjectionRepository.findPage(
+                spec, PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "salary")));
+
+        assertAll(
+                () -> assertThat(first.getTotalElements()).isEqualTo(4),
+                () -> assertThat(first.getContent()).extracting(EmployeeListView::getName)
+                        .containsExactly("Maria Lewandowska", "Anna Nowak", "Tomasz Wójcik"),
+                () -> assertThat(second.getContent()).extracting(EmployeeListView::getName)
+                        .containsExactly("Jan Kowalski")
+        );
+    }
+
     // ========== TESTY SPECIFICATION ==========
 
     @Test
@@ -1,6 +1,7 @@
 package com.techcorp.employee.repository;
 
 import com.techcorp.employee.model.*;
+import com.techcorp.employee.dto.CompanyStatisticsDTO;
 import com.techcorp.employee.dto.EmployeeListView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 @DataJpaTest
@@ -184,5 +186,54 @@ class EmployeeRepositoryTest {
         );
     }
 
+    // ===== STATYSTYKI FIRM =====
+
+    @Test
+    void testGetCompanyStatisticsDTO_allCompanies() {
+        // When
+        List<CompanyStatisticsDTO> statistics = employeeRepository.getCompanyStatisticsDTO();
+
+        // Then
+        assertThat(statistics).extracting(CompanyStatisticsDTO::getCompanyName).containsExactly("OtherCorp", "TechCorp");
+        CompanyStatisticsDTO techCorp = statistics.get(1);
+        assertAll(
+                () -> assertThat(techCorp.getEmployeeCount()).isEqualTo(3L),
+                () -> assertThat(techCorp.getAverageSalaryDouble()).isCloseTo(6333.33, within(0.01)),
+                () -> assertThat(techCorp.getHighestSalary()).isEqualByComparingTo("8000"),
+                () -> assertThat(techCorp.getTopEarnerName()).isEqualTo("Jane Smith"),
+                () -> assertThat(statistics.get(0).getTopEarnerName()).isEqualTo("Bob Johnson")
+        );
+    }
+
+    @Test
+    void testGetCompanyStatisticsDTO_singleCompany() {
+        // When
+        Optional<CompanyStatisticsDTO> statistics = employeeRepository.getCompanyStatisticsDTO("TechCorp");
+
+        // Then
+        assertThat(statistics).isPresent().get().satisfies(dto -> assertAll(
+                () -> assertThat(dto.getCompanyName()).isEqualTo("TechCorp"),
+                () -> assertThat(dto.getEmployeeCount()).isEqualTo(3L),
+                () -> assertThat(dto.getHighestSalary()).isEqualByComparingTo("8000"),
+                () -> assertThat(dto.getTopEarnerName()).isEqualTo("Jane Smith")
+        ));
+        assertThat(employeeRepository.getCompanyStatisticsDTO("NonExisting")).isEmpty();
+    }
+
+    @Test
+    void testGetCompanyStatisticsDTO_tiedTopSalary_shouldPickFirstSaved() {
+        // Given - wcześniej wariant dla jednej firmy rzucał wyjątek przy dwóch osobach z tą samą pensją
+        employeeRepository.save(new Employee("Zoe Tied", "zoe@techcorp.com", "TechCorp",
+                Position.MANAGER, new BigDecimal(8000.0), EmploymentStatus.ACTIVE));
+        employeeRepository.flush();
+
+        // When
+        Optional<CompanyStatisticsDTO> single = employeeRepository.getCompanyStatisticsDTO("TechCorp");
+        List<CompanyStatisticsDTO> all = employeeRepository.getCompanyStatisticsDTO();
+
+        // Then
+        assertThat(single).get().extracting(CompanyStatisticsDTO::getTopEarnerName).isEqualTo("Jane Smith");
+        assertThat(all.get(1).getTopEarnerName()).isEqualTo("Jane Smith");
+    }
 
 }
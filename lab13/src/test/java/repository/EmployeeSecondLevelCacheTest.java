@@ -0,0 +1,172 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Department;
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.EmploymentStatus;
+import com.techcorp.employee.model.Position;
+import com.techcorp.employee.service.CacheStatisticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Wpis READ_WRITE jest widoczny dopiero dla sesji rozpoczętych po jego zapisaniu, dlatego testy
+ * nie działają w jednej transakcji testowej - każde wywołanie repozytorium to osobna transakcja.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmployeeBulkRepository.class, CompanyStatsRepository.class, SecondLevelCacheEvictor.class, CacheStatisticsService.class})
+@DisplayName("Second-level cache Tests")
+class EmployeeSecondLevelCacheTest {
+
+    private static final String EMAIL = "jan.cache@techcorp.com";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeBulkRepository employeeBulkRepository;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(
+                new Department("Cache", "Warszawa", "Cache test", "cache@techcorp.com", 1000.0));
+        employeeRepository.save(new Employee("Jan Kowalski", EMAIL, "TechCorp",
+                Position.PROGRAMMER, new BigDecimal("8000.00"), EmploymentStatus.ACTIVE, department));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated Department lookups from the second-level cache")
+    void findDepartmentById_ShouldHitCacheOnRepeatedLookup() {
+        // Arrange
+        departmentRepository.findById(department.getId());
+        long hitsBefore = counter("employees.department", "hits");
+
+        // Act
+        Department cached = departmentRepository.findById(department.getId()).orElseThrow();
+
+        // Assert
+        assertAll("Department cache",
+                () -> assertEquals("Cache", cached.getName()),
+                () -> assertEquals(hitsBefore + 1, counter("employees.department", "hits"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should resolve email through the natural-id cache and load the entity from cache")
+    void findByEmail_ShouldHitNaturalIdCache() {
+        // Arrange
+        employeeRepository.findByEmail(EMAIL);
+        long naturalIdHitsBefore = counter("employees.employee-by-email", "hits");
+        long entityHitsBefore = counter("employees.employee", "hits");
+
+        // Act
+        Employee cached = employeeRepository.findByEmail(EMAIL).orElseThrow();
+        boolean exists = employeeRepository.existsByEmail(EMAIL);
+
+        // Assert
+        assertAll("Employee natural-id cache",
+                () -> assertEquals("Jan Kowalski", cached.getName()),
+                () -> assertTrue(exists),
+                () -> assertFalse(employeeRepository.existsByEmail("missing@techcorp.com")),
+                () -> assertEquals(naturalIdHitsBefore + 2, counter("employees.employee-by-email", "hits")),
+                () -> assertEquals(entityHitsBefore + 1, counter("employees.employee", "hits"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should see JPA writes and a changed email in later lookups")
+    void update_ShouldRefreshCachedEntries() {
+        // Arrange
+        employeeRepository.findByEmail(EMAIL);
+        departmentRepository.findById(department.getId());
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Employee employee = employeeRepository.findByEmail(EMAIL).orElseThrow();
+            employee.setEmail("jan.renamed@techcorp.com");
+            employee.setSalary(new BigDecimal("9500.00"));
+            departmentRepository.findById(department.getId()).orElseThrow().setName("Renamed");
+        });
+
+        // Assert
+        assertAll("Write-through eviction",
+                () -> assertFalse(employeeRepository.existsByEmail(EMAIL)),
+                () -> assertEquals(0, new BigDecimal("9500.00").compareTo(
+                        employeeRepository.findByEmail("jan.renamed@techcorp.com").orElseThrow().getSalary())),
+                () -> assertEquals("Renamed", departmentRepository.findById(department.getId()).orElseThrow().getName())
+        );
+    }
+
+    @Test
+    @DisplayName("Should evict cached employees after a JDBC batch update")
+    void jdbcBatchUpdate_ShouldEvictEmployeeRegion() {
+        // Arrange
+        employeeRepository.findByEmail(EMAIL);
+        Employee changed = new Employee("Jan Nowy", EMAIL, "DataSoft",
+                Position.MANAGER, new BigDecimal("12000.00"), EmploymentStatus.ACTIVE);
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> employeeBulkRepository.updateAll(List.of(changed)));
+        Employee reloaded = employeeRepository.findByEmail(EMAIL).orElseThrow();
+
+        // Assert
+        assertAll("JDBC eviction",
+                () -> assertEquals("Jan Nowy", reloaded.getName()),
+                () -> assertEquals("DataSoft", reloaded.getCompany())
+        );
+    }
+
+    @Test
+    @DisplayName("Should report counters for every configured region")
+    void getRegionStatistics_ShouldListConfiguredRegions() {
+        // Arrange
+        departmentRepository.findById(department.getId());
+
+        // Act
+        Map<String, Map<String, Object>> statistics = cacheStatisticsService.getRegionStatistics();
+
+        // Assert
+        assertAll("Region statistics",
+                () -> assertEquals(CacheStatisticsService.REGIONS, List.copyOf(statistics.keySet())),
+                () -> assertTrue(statistics.get("employees.department").keySet()
+                        .containsAll(List.of("hits", "misses", "puts", "hitRatio", "entries")))
+        );
+    }
+
+    private long counter(String region, String name) {
+        return (long) cacheStatisticsService.getRegionStatistics().get(region).get(name);
+    }
+}
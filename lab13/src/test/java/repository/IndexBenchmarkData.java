@@ -0,0 +1,140 @@
+package com.techcorp.employee.repository;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wspólne dane testów indeksów: generator zbioru pracowników i logów audytu,
+ * "gorące" zapytania z EmployeeRepository/AuditLogRepository w postaci SQL
+ * oraz definicje indeksów odczytane z schema.sql.
+ */
+final class IndexBenchmarkData {
+
+    static final List<String> COMPANIES = List.of(
+            "TechCorp", "DataSoft", "CloudNet", "InfoSys", "CodeLab", "ByteWorks", "NetForge", "SoftPeak");
+
+    static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("findByCompany",
+                    "SELECT id, name, salary FROM employees WHERE company = ?",
+                    "idx_employees_company_salary", "DataSoft"),
+            new HotQuery("countEmployeesByStatus",
+                    "SELECT COUNT(*) FROM employees WHERE status = ?",
+                    "idx_employees_status_name", "ON_LEAVE"),
+            new HotQuery("findByStatus ORDER BY name",
+                    "SELECT id, name FROM employees WHERE status = ? ORDER BY name LIMIT 20",
+                    "idx_employees_status_name", "ON_LEAVE"),
+            new HotQuery("getCompanyStatisticsDTO (najlepiej opłacany)",
+                    "SELECT name FROM employees WHERE company = ? ORDER BY salary DESC LIMIT 1",
+                    "idx_employees_company_salary", "CloudNet"),
+            new HotQuery("findTop10HighestPaidEmployees",
+                    "SELECT id, name, salary FROM employees ORDER BY salary DESC LIMIT 10",
+                    "idx_employees_salary"),
+            new HotQuery("countEmployeesByPosition",
+                    "SELECT COUNT(*) FROM employees WHERE position = ?",
+                    "idx_employees_position", "PRESIDENT"),
+            new HotQuery("countEmployeesByDepartment",
+                    "SELECT COUNT(*) FROM employees e JOIN departments d ON d.id = e.department_id WHERE d.name = ?",
+                    "idx_employees_department", "Department 3"),
+            new HotQuery("fromCompany (bez wielkości liter)",
+                    "SELECT id, name FROM employees WHERE company_lower = ?",
+                    "idx_employees_company_lower", "datasoft"),
+            new HotQuery("inDepartment (bez wielkości liter)",
+                    "SELECT e.id, e.name FROM employees e JOIN departments d ON d.id = e.department_id WHERE d.name_lower = ?",
+                    "idx_departments_name_lower", "department 3"),
+            new HotQuery("raport audytu ORDER BY eventDate DESC",
+                    "SELECT id, message FROM audit_log ORDER BY event_date DESC LIMIT 50",
+                    "idx_audit_log_event_date"),
+            new HotQuery("deleteByEventDateBefore (zakres)",
+                    "SELECT COUNT(*) FROM audit_log WHERE event_date < ?",
+                    "idx_audit_log_event_date", Timestamp.valueOf(LocalDateTime.of(2020, 1, 2, 0, 0)))
+    );
+
+    private static final String[] POSITIONS = {
+            "PROGRAMMER", "PROGRAMMER", "PROGRAMMER", "MANAGER", "INTERN", "VICE_PRESIDENT", "PRESIDENT"};
+    private static final String[] STATUSES = {
+            "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ACTIVE", "ON_LEAVE", "TERMINATED"};
+    private static final int DEPARTMENTS = 50;
+    private static final int BATCH_SIZE = 5_000;
+
+    private IndexBenchmarkData() {
+    }
+
+    /**
+     * Wstawia {@code rows} pracowników (co 5. bez departamentu, pozostali w jednym z 50 departamentów)
+     * i tyle samo wpisów audytu - jeden na minutę od 2020-01-01.
+     */
+    static void generate(JdbcTemplate jdbcTemplate, int rows) {
+        List<Object[]> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(new Object[]{"Department " + i, "Warszawa", 100_000.0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO departments (name, location, budget) VALUES (?, ?, ?)", departments);
+        List<Long> departmentIds = jdbcTemplate.queryForList("SELECT id FROM departments ORDER BY id", Long.class);
+
+        List<Object[]> employees = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> auditLogs = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            employees.add(new Object[]{
+                    "Employee " + i, "employee" + i + "@techcorp.com", COMPANIES.get(i % COMPANIES.size()),
+                    POSITIONS[i % POSITIONS.length], BigDecimal.valueOf(3_000 + (i * 7_919L) % 20_000),
+                    STATUSES[i % STATUSES.length], i % 5 == 0 ? null : departmentIds.get(i % departmentIds.size())});
+            auditLogs.add(new Object[]{
+                    "Event " + i, Timestamp.valueOf(start.plusMinutes(i)), "UPDATE", "Employee", (long) i});
+            if (employees.size() == BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO employees (name, email, company, position, salary, status, department_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", employees);
+                jdbcTemplate.batchUpdate("INSERT INTO audit_log (message, event_date, event_type, affected_entity, entity_id) " +
+                        "VALUES (?, ?, ?, ?, ?)", auditLogs);
+                employees.clear();
+                auditLogs.clear();
+            }
+        }
+    }
+
+    /**
+     * Instrukcje CREATE INDEX z schema.sql - ta sama lista, którą encje deklarują w @Table(indexes).
+     */
+    static List<String> schemaIndexStatements() {
+        try {
+            String schema = new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8);
+            return schema.lines()
+                    .map(String::trim)
+                    .filter(line -> line.toUpperCase(Locale.ROOT).startsWith("CREATE INDEX"))
+                    .map(line -> line.endsWith(";") ? line.substring(0, line.length() - 1) : line)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Nazwa indeksu z "CREATE INDEX IF NOT EXISTS nazwa ON tabela (...)".
+     */
+    static String indexName(String createStatement) {
+        String[] words = createStatement.split("\\s+");
+        for (int i = 0; i < words.length - 1; i++) {
+            if (words[i + 1].equalsIgnoreCase("ON")) {
+                return words[i];
+            }
+        }
+        throw new IllegalArgumentException("Not a CREATE INDEX statement: " + createStatement);
+    }
+
+    static String explain(JdbcTemplate jdbcTemplate, HotQuery query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class, query.args());
+    }
+
+    record HotQuery(String name, String sql, String expectedIndex, Object... args) {
+    }
+}
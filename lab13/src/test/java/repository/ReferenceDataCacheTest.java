@@ -0,0 +1,181 @@
+package com.techcorp.employee.repository;
+
+import com.techcorp.employee.model.Department;
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.EmploymentStatus;
+import com.techcorp.employee.model.Position;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unieważnienie działa po commicie, więc testy zapisują dane w osobnych transakcjach, nie w jednej testowej.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ReferenceDataCache.class)
+@DisplayName("ReferenceDataCache Tests")
+class ReferenceDataCacheTest {
+
+    private static final String EMAIL = "jan.reference@techcorp.com";
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(
+                new Department("IT", "Warszawa", "Dział IT", "it@techcorp.com", 1000.0));
+        employeeRepository.save(new Employee("Jan Kowalski", EMAIL, "TechCorp",
+                Position.PROGRAMMER, new BigDecimal("8000.00"), EmploymentStatus.ACTIVE, department));
+        referenceDataCache.invalidateCompanies();
+        referenceDataCache.invalidateDepartmentNames();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should query companies and department names once for repeated page renders")
+    void repeatedReads_ShouldHitDatabaseOnce() {
+        // Arrange
+        long queriesBefore = queryCount();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            referenceDataCache.getCompanies();
+            referenceDataCache.getDepartmentNames();
+        }
+
+        // Assert
+        assertAll("Cached lists",
+                () -> assertEquals(List.of("TechCorp"), referenceDataCache.getCompanies()),
+                () -> assertEquals(List.of("IT"), referenceDataCache.getDepartmentNames()),
+                () -> assertEquals(queriesBefore + 2, queryCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reload companies only when an employee's company changes")
+    void employeeUpdate_ShouldInvalidateOnlyOnCompanyChange() {
+        // Arrange
+        referenceDataCache.getCompanies();
+
+        // Act
+        updateEmployee(employee -> employee.setSalary(new BigDecimal("9000.00")));
+        long queriesAfterSalaryChange = queryCount();
+        List<String> afterSalaryChange = referenceDataCache.getCompanies();
+        boolean salaryChangeHitCache = queryCount() == queriesAfterSalaryChange;
+        updateEmployee(employee -> employee.setCompany("DataSoft"));
+
+        // Assert
+        assertAll("Company invalidation",
+                () -> assertTrue(salaryChangeHitCache),
+                () -> assertEquals(List.of("TechCorp"), afterSalaryChange),
+                () -> assertEquals(List.of("DataSoft"), referenceDataCache.getCompanies())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reflect added and removed employees in companies")
+    void employeeInsertAndDelete_ShouldInvalidateCompanies() {
+        // Arrange
+        referenceDataCache.getCompanies();
+
+        // Act
+        employeeRepository.save(new Employee("Anna Nowak", "anna.reference@techcorp.com", "CloudNet",
+                Position.MANAGER, new BigDecimal("12000.00"), EmploymentStatus.ACTIVE));
+        List<String> afterInsert = referenceDataCache.getCompanies();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> employeeRepository.deleteByEmail(EMAIL));
+
+        // Assert
+        assertAll("Insert and delete",
+                () -> assertEquals(List.of("CloudNet", "TechCorp"), afterInsert),
+                () -> assertEquals(List.of("CloudNet"), referenceDataCache.getCompanies())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reflect departments added, renamed and deleted")
+    void departmentChanges_ShouldInvalidateDepartmentNames() {
+        // Arrange
+        referenceDataCache.getDepartmentNames();
+
+        // Act
+        Department hr = departmentRepository.save(
+                new Department("HR", "Kraków", "Kadry", "hr@techcorp.com", 500.0));
+        List<String> afterAdd = referenceDataCache.getDepartmentNames();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> departmentRepository.findById(hr.getId()).orElseThrow().setName("People"));
+        List<String> afterRename = referenceDataCache.getDepartmentNames();
+        departmentRepository.deleteById(hr.getId());
+
+        // Assert
+        assertAll("Department invalidation",
+                () -> assertEquals(List.of("HR", "IT"), afterAdd),
+                () -> assertEquals(List.of("IT", "People"), afterRename),
+                () -> assertEquals(List.of("IT"), referenceDataCache.getDepartmentNames())
+        );
+    }
+
+    @Test
+    @DisplayName("Should not keep names read inside a rolled back transaction")
+    void rolledBackWrite_ShouldNotLeaveStaleNames() {
+        // Act
+        List<String> insideTransaction = new TransactionTemplate(transactionManager).execute(status -> {
+            departmentRepository.save(new Department("Tmp", "Gdańsk", "Tymczasowy", "tmp@techcorp.com", 100.0));
+            List<String> names = referenceDataCache.getDepartmentNames();
+            status.setRollbackOnly();
+            return names;
+        });
+
+        // Assert
+        assertAll("Rollback",
+                () -> assertEquals(List.of("IT", "Tmp"), insideTransaction),
+                () -> assertEquals(List.of("IT"), referenceDataCache.getDepartmentNames())
+        );
+    }
+
+    private void updateEmployee(Consumer<Employee> change) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> change.accept(employeeRepository.findByEmail(EMAIL).orElseThrow()));
+    }
+
+    private long queryCount() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getQueryExecutionCount();
+    }
+}
@@ -0,0 +1,171 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.ImportSummary;
+import com.techcorp.employee.model.Position;
+import com.techcorp.employee.repository.CompanyStatsRepository;
+import com.techcorp.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+@DisplayName("EmployeeBulkWriter Integration Tests")
+class EmployeeBulkWriterTest {
+
+    @Autowired
+    private EmployeeBulkWriter employeeBulkWriter;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompanyStatsRepository companyStatsRepository;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        when(fileStorageService.createStagedFile(any(MultipartFile.class), eq("uploads")))
+                .thenAnswer(invocation -> new StagedFile(tempDir, UUID.randomUUID() + ".csv"));
+        employeeRepository.deleteAll();
+        employeeRepository.save(new Employee("Jan Kowalski", "jan@techcorp.com", "TechCorp",
+                Position.MANAGER, new BigDecimal("15000.00")));
+        employeeRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Should insert new employees and reject existing or repeated emails")
+    void insertChunk_ShouldRejectDuplicateEmails() {
+        // Arrange
+        List<Employee> chunk = List.of(
+                new Employee("Anna Nowak", "anna@techcorp.com", "TechCorp", Position.PROGRAMMER, new BigDecimal("9000.00")),
+                new Employee("Jan Kowalski", "jan@techcorp.com", "TechCorp", Position.MANAGER, new BigDecimal("16000.00")),
+                new Employee("Anna Nowak", "anna@techcorp.com", "TechCorp", Position.PROGRAMMER, new BigDecimal("9500.00")),
+                new Employee("Piotr Lis", "piotr@techcorp.com", "OtherCorp", Position.INTERN, new BigDecimal("3000.00"))
+        );
+
+        // Act
+        EmployeeBulkWriter.ChunkResult result = employeeBulkWriter.insertChunk(chunk);
+
+        // Assert
+        assertAll("Chunk insert",
+                () -> assertEquals(2, result.insertedCount()),
+                () -> assertEquals(2, result.rowErrors().size()),
+                () -> assertTrue(result.rowErrors().get(1).contains("already exists")),
+                () -> assertTrue(result.rowErrors().get(2).contains("already exists")),
+                () -> assertEquals(3, employeeRepository.count()),
+                () -> assertTrue(employeeRepository.existsByEmail("piotr@techcorp.com"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should insert new, update changed and skip unchanged employees in delta chunk")
+    void mergeChunk_ShouldClassifyRowsByContentHash() {
+        // Arrange
+        employeeRepository.save(new Employee("Anna Nowak", "anna@techcorp.com", "TechCorp",
+                Position.PROGRAMMER, new BigDecimal("9000.00")));
+        employeeRepository.flush();
+        List<Employee> chunk = List.of(
+                new Employee("Jan Kowalski", "jan@techcorp.com", "TechCorp", Position.MANAGER, new BigDecimal("15000")),
+                new Employee("Anna Nowak", "anna@techcorp.com", "TechCorp", Position.PROGRAMMER, new BigDecimal("9500.00")),
+                new Employee("Piotr Lis", "piotr@techcorp.com", "OtherCorp", Position.INTERN, new BigDecimal("3000.00")),
+                new Employee("Piotr Lis", "piotr@techcorp.com", "OtherCorp", Position.INTERN, new BigDecimal("3000.00"))
+        );
+
+        // Act
+        EmployeeBulkWriter.DeltaChunkResult result = employeeBulkWriter.mergeChunk(chunk);
+
+        // Assert
+        assertAll("Delta chunk",
+                () -> assertEquals(EmployeeBulkWriter.RowOutcome.UNCHANGED, result.outcomes().get(0)),
+                () -> assertEquals(EmployeeBulkWriter.RowOutcome.UPDATED, result.outcomes().get(1)),
+                () -> assertEquals(EmployeeBulkWriter.RowOutcome.INSERTED, result.outcomes().get(2)),
+                () -> assertTrue(result.rowErrors().get(3).contains("more than once")),
+                () -> assertEquals(3, employeeRepository.count()),
+                () -> assertEquals(0, new BigDecimal("9500.00").compareTo(jdbcTemplate.queryForObject(
+                        "SELECT salary FROM employees WHERE email = ?", BigDecimal.class, "anna@techcorp.com"))),
+                () -> assertEquals(2L, companyStatsRepository.findByCompany("TechCorp").orElseThrow().getEmployeeCount()),
+                () -> assertEquals(0, new BigDecimal("12250").compareTo(
+                        companyStatsRepository.findByCompany("TechCorp").orElseThrow().getAverageSalary())),
+                () -> assertEquals("Piotr Lis", companyStatsRepository.findByCompany("OtherCorp").orElseThrow().getTopEarnerName())
+        );
+    }
+
+    @Test
+    @DisplayName("Should skip all rows when the same file is imported again in delta mode")
+    void importCsvFile_WithDelta_ShouldSkipUnchangedRowsOnReimport() {
+        // Arrange
+        String csv = "firstName,lastName,email,company,position,salary\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,PROGRAMMER,9000\n" +
+                "Piotr,Lis,piotr@techcorp.com,OtherCorp,INTERN,3000\n";
+        MockMultipartFile file = new MockMultipartFile("file", "delta.csv", "text/csv", csv.getBytes());
+        importService.importCsvFile(file, ImportOptions.DELTA);
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file, ImportOptions.DELTA);
+
+        // Assert
+        assertAll("Delta reimport",
+                () -> assertEquals(2, summary.getImportedCount()),
+                () -> assertEquals(0, summary.getInsertedCount()),
+                () -> assertEquals(2, summary.getUnchangedCount()),
+                () -> assertFalse(summary.hasErrors()),
+                () -> assertEquals(3, employeeRepository.count())
+        );
+    }
+
+    @Test
+    @DisplayName("Should import CSV spanning several chunks through JDBC batch")
+    void importCsvFile_WithBulkInsert_ShouldImportAllChunks() {
+        // Arrange
+        StringBuilder csv = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("Test,User").append(i).append(",user").append(i)
+                    .append("@techcorp.com,TechCorp,PROGRAMMER,").append(5000 + i).append('\n');
+        }
+        csv.append("Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,15000\n");
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "bulk.csv", "text/csv", csv.toString().getBytes()
+        );
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Bulk CSV import",
+                () -> assertEquals(1200, summary.getImportedCount()),
+                () -> assertEquals(1, summary.getErrors().size()),
+                () -> assertTrue(summary.getErrors().get(0).startsWith("Line 1202:")),
+                () -> assertEquals(1201, employeeRepository.count())
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.techcorp.employee.service;
 
 import com.techcorp.employee.dto.EmployeeListView;
+import com.techcorp.employee.dto.KeysetSlice;
 import com.techcorp.employee.model.*;
 import com.techcorp.employee.repository.EmployeeRepository;
 import com.techcorp.employee.repository.DepartmentRepository;
@@ -16,9 +17,11 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 @SpringBootTest
@@ -368,4 +371,88 @@ class EmployeeServicePaginationTest {
                 () -> assertThat(employeesPage.getTotalPages()).isEqualTo(projectionPage.getTotalPages())
         );
     }
-}
\ No newline at end of file
+
+    // ===== TESTOWANIE STRONICOWANIA KEYSET =====
+
+    @Test
+    void testKeysetPagination_shouldWalkAllPagesWithoutGapsOrDuplicates() {
+        // Given
+        List<String> names = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+
+        // When - przejdź całą listę tokenami nextToken
+        do {
+            KeysetSlice<EmployeeListView> slice = employeeService.searchEmployeesKeyset(
+                    null, null, null, null, null, null, null, Sort.by("name"), 10, token);
+            slice.content().forEach(view -> names.add(view.getName()));
+            token = slice.nextToken();
+            pages++;
+        } while (token != null);
+
+        // Then
+        List<String> expected = employeeRepository.findAll(Sort.by("name", "id")).stream()
+                .map(Employee::getName)
+                .toList();
+        int pageCount = pages;
+        assertAll("Keyset walk verification",
+                () -> assertThat(pageCount).isEqualTo(3),
+                () -> assertThat(names).hasSize(25),
+                () -> assertThat(names).isEqualTo(expected)
+        );
+    }
+
+    @Test
+    void testKeysetPagination_prevTokenShouldReturnPreviousPage() {
+        // Given
+        KeysetSlice<EmployeeListView> first = employeeService.getEmployeesByStatusKeyset(
+                EmploymentStatus.ACTIVE, Sort.by(Sort.Direction.DESC, "email"), 5, null);
+        KeysetSlice<EmployeeListView> second = employeeService.getEmployeesByStatusKeyset(
+                EmploymentStatus.ACTIVE, Sort.by(Sort.Direction.DESC, "email"), 5, first.nextToken());
+
+        // When
+        KeysetSlice<EmployeeListView> back = employeeService.getEmployeesByStatusKeyset(
+                EmploymentStatus.ACTIVE, Sort.by(Sort.Direction.DESC, "email"), 5, second.prevToken());
+
+        // Then
+        assertAll("Keyset backward navigation",
+                () -> assertThat(first.hasPrevious()).isFalse(),
+                () -> assertThat(first.prevToken()).isNull(),
+                () -> assertThat(second.hasPrevious()).isTrue(),
+                () -> assertThat(back.content()).extracting(EmployeeListView::getEmail)
+                        .isEqualTo(first.content().stream().map(EmployeeListView::getEmail).toList()),
+                () -> assertThat(back.hasPrevious()).isFalse(),
+                () -> assertThat(back.hasNext()).isTrue()
+        );
+    }
+
+    @Test
+    void testKeysetPagination_shouldApplyCompanyFilter() {
+        // When
+        KeysetSlice<EmployeeListView> slice = employeeService.getEmployeesByCompanyKeyset(
+                "TechCorp", Sort.unsorted(), 20, null);
+
+        // Then
+        assertAll("Keyset company filter",
+                () -> assertThat(slice.content()).hasSize(12),
+                () -> assertThat(slice.content()).allMatch(view -> "TechCorp".equals(view.getCompany())),
+                () -> assertThat(slice.hasNext()).isFalse(),
+                () -> assertThat(slice.nextToken()).isNull()
+        );
+    }
+
+    @Test
+    void testKeysetPagination_shouldRejectTokenForDifferentSort() {
+        // Given
+        String token = employeeService.searchEmployeesKeyset(
+                null, null, null, null, null, null, null, Sort.by("name"), 5, null).nextToken();
+
+        // When & Then
+        assertThatThrownBy(() -> employeeService.searchEmployeesKeyset(
+                null, null, null, null, null, null, null, Sort.by("email"), 5, token))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> employeeService.searchEmployeesKeyset(
+                null, null, null, null, null, null, null, Sort.by("name"), 5, "not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -4,11 +4,16 @@ import com.techcorp.employee.dto.CompanyStatisticsDTO;
 import com.techcorp.employee.dto.EmployeeListView;
 import com.techcorp.employee.exception.*;
 import com.techcorp.employee.model.*;
+import com.techcorp.employee.repository.EmployeeNameIndex;
+import com.techcorp.employee.repository.EmployeeProjectionRepository;
+import com.techcorp.employee.repository.CompanyStatsRepository;
 import com.techcorp.employee.repository.EmployeeRepository;
 import com.techcorp.employee.repository.DepartmentRepository;
+import com.techcorp.employee.repository.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -43,6 +48,18 @@ class EmployeeServiceTest {
     @Mock
     private FileStorageService fileStorageService;
 
+    @Mock
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Mock
+    private EmployeeProjectionRepository employeeProjectionRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private CompanyStatsRepository companyStatsRepository;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -259,7 +276,7 @@ class EmployeeServiceTest {
     void getAllCompanyStatisticsDTO_ShouldReturnList() {
         // Given
         List<CompanyStatisticsDTO> dtos = Arrays.asList(testStatisticsDTO);
-        when(employeeRepository.getCompanyStatisticsDTO()).thenReturn(dtos);
+        when(companyStatsRepository.findAll()).thenReturn(dtos);
 
         // When
         List<CompanyStatisticsDTO> result = employeeService.getAllCompanyStatisticsDTO();
@@ -270,13 +287,13 @@ class EmployeeServiceTest {
                 () -> assertEquals(1, result.size()),
                 () -> assertEquals("TechCorp", result.get(0).getCompanyName())
         );
-        verify(employeeRepository, times(1)).getCompanyStatisticsDTO();
+        verify(companyStatsRepository, times(1)).findAll();
     }
 
     @Test
     void getCompanyStatisticsDTO_CompanyExists_ShouldReturnOptional() {
         // Given
-        when(employeeRepository.getCompanyStatisticsDTO("TechCorp")).thenReturn(Optional.of(testStatisticsDTO));
+        when(companyStatsRepository.findByCompany("TechCorp")).thenReturn(Optional.of(testStatisticsDTO));
 
         // When
         Optional<CompanyStatisticsDTO> result = employeeService.getCompanyStatisticsDTO("TechCorp");
@@ -286,13 +303,13 @@ class EmployeeServiceTest {
                 () -> assertTrue(result.isPresent()),
                 () -> assertEquals("TechCorp", result.get().getCompanyName())
         );
-        verify(employeeRepository, times(1)).getCompanyStatisticsDTO("TechCorp");
+        verify(companyStatsRepository, times(1)).findByCompany("TechCorp");
     }
 
     @Test
     void getCompanyStatistics_CompanyExists_ShouldReturnCompanyStatistics() {
         // Given
-        when(employeeRepository.getCompanyStatisticsDTO("TechCorp")).thenReturn(Optional.of(testStatisticsDTO));
+        when(companyStatsRepository.findByCompany("TechCorp")).thenReturn(Optional.of(testStatisticsDTO));
 
         // When
         CompanyStatistics result = employeeService.getCompanyStatistics("TechCorp");
@@ -306,14 +323,14 @@ class EmployeeServiceTest {
                                 .compareTo(result.getAverageSalary())),
                 () -> assertEquals("Jan Kowalski", result.getHighestPaidEmployee())
         );
-        verify(employeeRepository, times(1)).getCompanyStatisticsDTO("TechCorp");
+        verify(companyStatsRepository, times(1)).findByCompany("TechCorp");
     }
 
     @Test
     void getAllCompanyStatistics_ShouldReturnList() {
         // Given
         List<CompanyStatisticsDTO> dtos = Arrays.asList(testStatisticsDTO);
-        when(employeeRepository.getCompanyStatisticsDTO()).thenReturn(dtos);
+        when(companyStatsRepository.findAll()).thenReturn(dtos);
 
         // When
         List<CompanyStatistics> result = employeeService.getAllCompanyStatistics();
@@ -324,7 +341,7 @@ class EmployeeServiceTest {
                 () -> assertEquals(1, result.size()),
                 () -> assertEquals("TechCorp", result.get(0).getCompanyName())
         );
-        verify(employeeRepository, times(1)).getCompanyStatisticsDTO();
+        verify(companyStatsRepository, times(1)).findAll();
     }
 
     @Test
@@ -778,7 +795,7 @@ class EmployeeServiceTest {
     void getAllUniqueCompanies_ShouldReturnCompanies() {
         // Given
         List<String> companies = Arrays.asList("TechCorp", "OtherCorp");
-        when(employeeRepository.findDistinctCompanies()).thenReturn(companies);
+        when(referenceDataCache.getCompanies()).thenReturn(companies);
 
         // When
         List<String> result = employeeService.getAllUniqueCompanies();
@@ -788,7 +805,8 @@ class EmployeeServiceTest {
                 () -> assertNotNull(result),
                 () -> assertEquals(2, result.size())
         );
-        verify(employeeRepository, times(1)).findDistinctCompanies();
+        verify(referenceDataCache, times(1)).getCompanies();
+        verify(employeeRepository, never()).findDistinctCompanies();
     }
 
     // ===== TESTY WALIDACJI =====
@@ -951,8 +969,7 @@ class EmployeeServiceTest {
         };
         Page<EmployeeListView> page = new PageImpl<>(Collections.singletonList(view), pageable, 1);
 
-        when(employeeRepository.findWithFiltersProjection(
-                any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+        when(employeeProjectionRepository.findPage(ArgumentMatchers.<Specification<Employee>>any(), any(Pageable.class)))
                 .thenReturn(page);
 
         // When
@@ -962,8 +979,7 @@ class EmployeeServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(employeeRepository, times(1)).findWithFiltersProjection(
-                any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(employeeProjectionRepository, times(1)).findPage(ArgumentMatchers.<Specification<Employee>>any(), any(Pageable.class));
     }
 
     @Test
@@ -983,7 +999,7 @@ class EmployeeServiceTest {
         assertAll(
                 () -> assertNotNull(result),
                 () -> verify(employeeRepository, times(1)).findAllProjection(pageable),
-                () -> verify(employeeRepository, never()).findWithFiltersProjection(any(), any(), any(), any(), any(), any(), any(), any())
+                () -> verify(employeeProjectionRepository, never()).findPage(any(), any())
         );
     }
 
@@ -993,8 +1009,7 @@ class EmployeeServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<EmployeeListView> page = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-        when(employeeRepository.findWithFiltersProjection(
-                any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+        when(employeeProjectionRepository.findPage(ArgumentMatchers.<Specification<Employee>>any(), any(Pageable.class)))
                 .thenReturn(page);
 
         // When
@@ -1004,8 +1019,7 @@ class EmployeeServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(employeeRepository, times(1)).findWithFiltersProjection(
-                any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(employeeProjectionRepository, times(1)).findPage(ArgumentMatchers.<Specification<Employee>>any(), any(Pageable.class));
     }
 
     @Test
@@ -70,6 +70,32 @@ class FileStorageServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Should expose staged file only after commit and discard it otherwise")
+    void createStagedFile_ShouldPublishOnCommitAndDiscardOnClose() throws IOException {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "test.csv", "text/csv", "content".getBytes()
+        );
+
+        String fileName;
+        try (StagedFile staged = fileStorageService.createStagedFile(file, "test-subdir")) {
+            staged.getOutputStream().write("content".getBytes());
+            assertEquals(0, Files.list(uploadsDir.resolve("test-subdir"))
+                    .filter(path -> path.toString().endsWith(".csv")).count());
+            fileName = staged.commit();
+        }
+        try (StagedFile discarded = fileStorageService.createStagedFile(file, "test-subdir")) {
+            discarded.getOutputStream().write("partial".getBytes());
+        }
+
+        Path subdir = uploadsDir.resolve("test-subdir");
+        assertAll(
+                () -> assertTrue(fileName.endsWith(".csv")),
+                () -> assertEquals("content", Files.readString(subdir.resolve(fileName))),
+                () -> assertEquals(1, Files.list(subdir).count())
+        );
+    }
+
     @Test
     @DisplayName("Should store file with original name when requested")
     void storeFile_WithOriginalName_ShouldStoreWithOriginalName() {
@@ -169,6 +195,23 @@ class FileStorageServiceTest {
                 () -> fileStorageService.validateFileType(file, new String[]{".csv", ".xml"}));
     }
 
+    @Test
+    @DisplayName("Should match compound extension against end of file name")
+    void validateFileType_WithCompoundExtension_ShouldMatchFullSuffix() {
+        MockMultipartFile csvGz = new MockMultipartFile(
+                "file", "employees.csv.gz", "application/gzip", "content".getBytes()
+        );
+        MockMultipartFile xmlGz = new MockMultipartFile(
+                "file", "employees.xml.gz", "application/gzip", "content".getBytes()
+        );
+
+        assertAll(
+                () -> assertDoesNotThrow(() -> fileStorageService.validateFileType(csvGz, new String[]{".csv", ".csv.gz"})),
+                () -> assertThrows(InvalidFileException.class,
+                        () -> fileStorageService.validateFileType(xmlGz, new String[]{".csv", ".csv.gz"}))
+        );
+    }
+
     @Test
     @DisplayName("Should validate file size")
     void validateFileSize_WithValidSize_ShouldNotThrow() {
@@ -0,0 +1,66 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.exception.InvalidFileException;
+import com.techcorp.employee.model.ImportCheckpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportCheckpointService Tests")
+class ImportCheckpointServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    private ImportCheckpointService checkpointService;
+
+    @BeforeEach
+    void setUp() {
+        checkpointService = new ImportCheckpointService(fileStorageService);
+    }
+
+    @Test
+    @DisplayName("Should save, overwrite, load and delete checkpoint")
+    void saveAndLoad_ShouldRoundTripCheckpoint() {
+        // Arrange
+        when(fileStorageService.getFileStorageLocation()).thenReturn(tempDir);
+        ImportCheckpoint start = ImportCheckpoint.start("abc-123.csv", "CSV", "employees.csv");
+
+        // Act
+        checkpointService.save(start);
+        checkpointService.save(start.next(1001, 1000, 990, 10));
+        ImportCheckpoint loaded = checkpointService.load("abc-123.csv").orElseThrow();
+
+        // Assert
+        assertAll("Loaded checkpoint",
+                () -> assertEquals("CSV", loaded.getType()),
+                () -> assertEquals("employees.csv", loaded.getFileName()),
+                () -> assertEquals(1001, loaded.getLastCommittedLine()),
+                () -> assertEquals(1000, loaded.getRowsProcessed()),
+                () -> assertEquals(990, loaded.getImportedCount()),
+                () -> assertEquals(10, loaded.getErrorCount())
+        );
+
+        checkpointService.delete("abc-123.csv");
+        assertTrue(checkpointService.load("abc-123.csv").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject stored file names with path separators")
+    void load_WithPathTraversal_ShouldThrow() {
+        assertThrows(InvalidFileException.class, () -> checkpointService.load("../secret"));
+    }
+}
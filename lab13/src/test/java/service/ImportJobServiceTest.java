@@ -0,0 +1,257 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.exception.FileNotFoundException;
+import com.techcorp.employee.model.ImportCheckpoint;
+import com.techcorp.employee.model.ImportJob;
+import com.techcorp.employee.model.ImportJobStatus;
+import com.techcorp.employee.model.ImportSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportJobService Tests")
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportService importService;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ImportCheckpointService checkpointService;
+
+    private MockMultipartFile csvFile;
+
+    @BeforeEach
+    void setUp() {
+        csvFile = new MockMultipartFile("file", "employees.csv", "text/csv", "a,b\n".getBytes());
+    }
+
+    @Test
+    @DisplayName("Should run job on executor and report progress and final summary")
+    void submitCsvImport_ShouldCompleteJob() {
+        // Arrange
+        ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, Runnable::run, 100);
+        when(fileStorageService.storeFile(csvFile, "uploads")).thenReturn("stored.csv");
+        when(importService.importStoredCsvFile(eq("stored.csv"), eq(0), eq(ImportOptions.DEFAULT), any())).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(3);
+            ImportSummary summary = new ImportSummary();
+            summary.incrementImported();
+            summary.addError("Line 3: Invalid email");
+            listener.onChunkPersisted(3, 2, summary);
+            return summary;
+        });
+
+        // Act
+        ImportJob job = jobService.submitCsvImport(csvFile);
+
+        // Assert
+        assertAll("Completed job",
+                () -> assertEquals(ImportJobStatus.COMPLETED, job.getStatus()),
+                () -> assertEquals(2, job.getRowsProcessed()),
+                () -> assertEquals(1, job.getImportedCount()),
+                () -> assertEquals(1, job.getErrorCount()),
+                () -> assertNotNull(job.getSummary()),
+                () -> assertSame(job, jobService.getJob(job.getId()).orElseThrow())
+        );
+        verify(checkpointService, times(2)).save(any(ImportCheckpoint.class));
+        verify(checkpointService).delete("stored.csv");
+        verify(fileStorageService, never()).deleteFile(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should discard stored file when executor queue is full")
+    void submitCsvImport_WhenRejected_ShouldDeleteStoredFile() {
+        // Arrange
+        Executor fullExecutor = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+        ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, fullExecutor, 100);
+        when(fileStorageService.storeFile(csvFile, "uploads")).thenReturn("stored.csv");
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> jobService.submitCsvImport(csvFile));
+        verify(fileStorageService).deleteFile("stored.csv", "uploads");
+        verify(checkpointService).delete("stored.csv");
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    @DisplayName("Should reject dry run submitted as asynchronous job")
+    void submitCsvImport_WithDryRun_ShouldThrow() {
+        // Arrange
+        ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, Runnable::run, 100);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> jobService.submitCsvImport(csvFile, new ImportOptions(false, true)));
+        verifyNoInteractions(fileStorageService, importService);
+    }
+
+    @Test
+    @DisplayName("Should cancel queued job before it starts")
+    void cancelJob_WhenQueued_ShouldNeverRunImport() {
+        // Arrange
+        List<Runnable> queue = new ArrayList<>();
+        ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, queue::add, 100);
+        when(fileStorageService.storeFile(csvFile, "uploads")).thenReturn("stored.csv");
+        ImportJob job = jobService.submitCsvImport(csvFile);
+
+        // Act
+        jobService.cancelJob(job.getId());
+        queue.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(ImportJobStatus.CANCELLED, job.getStatus());
+        verify(fileStorageService).deleteFile("stored.csv", "uploads");
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    @DisplayName("Should signal cancellation to running import through listener")
+    void cancelJob_WhenRunning_ShouldMarkJobCancelled() {
+        // Arrange
+        List<Runnable> queue = new ArrayList<>();
+        ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, queue::add, 100);
+        when(fileStorageService.storeFile(csvFile, "uploads")).thenReturn("stored.csv");
+        ImportJob job = jobService.submitCsvImport(csvFile);
+        List<Boolean> cancelledSeen = new ArrayList<>();
+        when(importService.importStoredCsvFile(eq("stored.csv"), eq(0), eq(ImportOptions.DEFAULT), any())).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(3);
+            ImportSummary summary = new ImportSummary();
+            summary.incrementImported();
+            listener.onChunkPersisted(2, 1, summary);
+            jobService.cancelJob(job.getId());
+            cancelledSeen.add(listener.isCancelled());
+            return summary;
+        });
+
+        // Act
+        queue.forEach(Runnable::run);
+
+        // Assert
+        assertAll("Cancelled running job",
+                () -> assertEquals(List.of(true), cancelledSeen),
+                () -> assertEquals(ImportJobStatus.CANCELLED, job.getStatus()),
+                () -> assertEquals(1, job.getImportedCount()),
+                () -> assertTrue(job.isFinished())
+        );
+        // Plik i checkpoint zostają do wznowienia
+        verify(fileStorageService, never()).deleteFile(anyString(), anyString());
+        verify(checkpointService, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should stop on rolled back chunk and resume from last checkpoint")
+    void resumeImport_ShouldContinueFromLastCommittedLine() {
+        // Arrange
+        ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, Runnable::run, 100);
+        ImportCheckpoint checkpoint = new ImportCheckpoint("stored.csv", "CSV", "employees.csv",
+                501, 500, 498, 2, LocalDateTime.now());
+        when(checkpointService.load("stored.csv")).thenReturn(Optional.of(checkpoint));
+        when(importService.importStoredCsvFile(eq("stored.csv"), eq(501), eq(ImportOptions.DEFAULT), any())).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(3);
+            ImportSummary summary = new ImportSummary();
+            for (int i = 0; i < 500; i++) {
+                summary.incrementImported();
+            }
+            listener.onChunkPersisted(1001, 500, summary);
+            listener.onChunkRolledBack(1002, "connection lost");
+            summary.addError("Line 1002-1501: Chunk rolled back - connection lost");
+            return summary;
+        });
+
+        // Act
+        ImportJob job = jobService.resumeImport("stored.csv");
+
+        // Assert
+        ArgumentCaptor<ImportCheckpoint> saved = ArgumentCaptor.forClass(ImportCheckpoint.class);
+        verify(checkpointService).save(saved.capture());
+        assertAll("Resumed job",
+                () -> assertEquals(501, job.getResumedFromLine()),
+                () -> assertEquals(ImportJobStatus.FAILED, job.getStatus()),
+                () -> assertTrue(job.getMessage().contains("resume from line 1001")),
+                () -> assertEquals(1001, saved.getValue().getLastCommittedLine()),
+                () -> assertEquals(1000, saved.getValue().getRowsProcessed()),
+                () -> assertEquals(998, saved.getValue().getImportedCount())
+        );
+        verify(fileStorageService, never()).deleteFile(anyString(), anyString());
+        verify(checkpointService, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should start only one job when the same file is resumed concurrently")
+    void resumeImport_Concurrently_ShouldEnqueueOnce() throws Exception {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            // Arrange - zadania tylko trafiają do kolejki, więc pierwsze wznowienie pozostaje niezakończone
+            List<Runnable> queued = new CopyOnWriteArrayList<>();
+            ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, queued::add, 100);
+            CyclicBarrier bothLoaded = new CyclicBarrier(2);
+            doAnswer(invocation -> {
+                bothLoaded.await(5, TimeUnit.SECONDS);
+                return Optional.of(new ImportCheckpoint("stored.csv", "CSV", "employees.csv",
+                        501, 500, 498, 2, LocalDateTime.now()));
+            }).when(checkpointService).load("stored.csv");
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+
+            try {
+                // Act
+                List<Future<ImportJob>> results = List.of(
+                        callers.submit(() -> jobService.resumeImport("stored.csv")),
+                        callers.submit(() -> jobService.resumeImport("stored.csv")));
+                int rejected = 0;
+                for (Future<ImportJob> result : results) {
+                    try {
+                        result.get(5, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                        rejected++;
+                    }
+                }
+
+                // Assert
+                assertEquals(1, queued.size(), "attempt " + attempt);
+                assertEquals(1, rejected, "attempt " + attempt);
+            } finally {
+                callers.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject resume without checkpoint")
+    void resumeImport_WithoutCheckpoint_ShouldThrow() {
+        // Arrange
+        ImportJobService jobService = new ImportJobService(importService, fileStorageService, checkpointService, Runnable::run, 100);
+        when(checkpointService.load("missing.csv")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(FileNotFoundException.class, () -> jobService.resumeImport("missing.csv"));
+        verifyNoInteractions(importService);
+    }
+}
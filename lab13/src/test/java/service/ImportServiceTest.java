@@ -2,9 +2,16 @@ package com.techcorp.employee.service;
 
 import com.techcorp.employee.exception.InvalidDataException;
 import com.techcorp.employee.exception.InvalidFileException;
+import com.techcorp.employee.model.DryRunReport;
 import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.ImportErrorCode;
 import com.techcorp.employee.model.ImportSummary;
 import com.techcorp.employee.model.Position;
+import com.techcorp.employee.repository.EmployeeBulkLoadRepository;
+import com.techcorp.employee.repository.EmployeeBulkRepository;
+import com.techcorp.employee.repository.EmployeeNameIndex;
+import com.techcorp.employee.repository.ReferenceDataCache;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -16,17 +23,36 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +74,8 @@ class ImportServiceTest {
     void setUp() {
         importService = new ImportService(employeeService);
         ReflectionTestUtils.setField(importService, "fileStorageService", fileStorageService);
+        lenient().when(fileStorageService.createStagedFile(any(MultipartFile.class), eq("uploads")))
+                .thenAnswer(invocation -> new StagedFile(tempDir, "stored-upload.csv"));
     }
 
     // ===== TESTOWANIE WALIDACJI DANYCH CSV =====
@@ -160,6 +188,170 @@ class ImportServiceTest {
         verify(fileStorageService, never()).storeFile(any(MultipartFile.class), anyString());
     }
 
+    @Test
+    @DisplayName("Should keep full copy of upload written while parsing when rows were imported")
+    void importCsvFile_WithImportedRows_ShouldCommitStagedUpload() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String csvContent = "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,15000\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.getBytes()
+        );
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Single-pass upload copy",
+                () -> assertEquals(1, summary.getImportedCount()),
+                () -> assertEquals(csvContent, Files.readString(tempDir.resolve("stored-upload.csv"))),
+                () -> assertFalse(Files.exists(tempDir.resolve("stored-upload.csv.part")))
+        );
+        verify(fileStorageService, never()).storeFile(any(MultipartFile.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Should discard staged upload copy when XML import fails")
+    void importXmlFile_WhenParsingFails_ShouldDiscardStagedUpload() throws IOException {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.xml", "application/xml", "<employees><employee>".getBytes()
+        );
+
+        // Act
+        ImportSummary summary = importService.importXmlFile(file);
+
+        // Assert
+        assertAll("Discarded upload copy",
+                () -> assertTrue(summary.getErrors().get(0).startsWith("XML import failed")),
+                () -> assertFalse(Files.exists(tempDir.resolve("stored-upload.csv"))),
+                () -> assertFalse(Files.exists(tempDir.resolve("stored-upload.csv.part")))
+        );
+    }
+
+    // ===== TESTOWANIE PLIKÓW SKOMPRESOWANYCH =====
+
+    @Test
+    @DisplayName("Should import gzip compressed CSV upload")
+    void importCsvFile_WithGzipUpload_ShouldDecompressWhileParsing() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String csvContent = "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,15000\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,PROGRAMMER,9000\n";
+        byte[] compressed = gzip(csvContent);
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv.gz", "application/gzip", compressed
+        );
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Gzip CSV import",
+                () -> assertEquals(2, summary.getImportedCount()),
+                () -> assertFalse(summary.hasErrors()),
+                () -> assertArrayEquals(compressed, Files.readAllBytes(tempDir.resolve("stored-upload.csv")))
+        );
+        verify(fileStorageService).validateFileType(file, new String[]{".csv", ".csv.gz", ".zip"});
+    }
+
+    @Test
+    @DisplayName("Should import XML from single-entry ZIP upload")
+    void importXmlFile_WithZipUpload_ShouldImportSingleEntry() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String xmlContent = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<employees>\n" +
+                "  <employee>\n" +
+                "    <firstName>Jan</firstName>\n" +
+                "    <lastName>Kowalski</lastName>\n" +
+                "    <email>jan@techcorp.com</email>\n" +
+                "    <company>TechCorp</company>\n" +
+                "    <position>MANAGER</position>\n" +
+                "    <salary>15000</salary>\n" +
+                "  </employee>\n" +
+                "</employees>";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.zip", "application/zip", zip(Map.of("employees.xml", xmlContent))
+        );
+
+        // Act
+        ImportSummary summary = importService.importXmlFile(file);
+
+        // Assert
+        assertAll("Zip XML import",
+                () -> assertEquals(1, summary.getImportedCount()),
+                () -> assertFalse(summary.hasErrors())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject ZIP upload with entry of wrong type")
+    void importCsvFile_WithZipOfWrongEntry_ShouldReturnError() throws IOException {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.zip", "application/zip", zip(Map.of("employees.xml", "<employees/>"))
+        );
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Wrong ZIP entry",
+                () -> assertEquals(0, summary.getImportedCount()),
+                () -> assertTrue(summary.getErrors().get(0).contains("ZIP archive must contain a .csv file")),
+                () -> assertFalse(Files.exists(tempDir.resolve("stored-upload.csv")))
+        );
+    }
+
+    @Test
+    @DisplayName("Should stop stored gzip import when uncompressed size exceeds limit")
+    void importStoredCsvFile_WhenUncompressedLimitExceeded_ShouldReturnError() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "maxUncompressedSize", DataSize.ofBytes(100));
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 0; i < 100; i++) {
+            csvContent.append("Jan,Kowalski,jan").append(i).append("@techcorp.com,TechCorp,MANAGER,15000\n");
+        }
+        when(fileStorageService.loadFileAsResource("stored.gz", "uploads"))
+                .thenReturn(new ByteArrayResource(gzip(csvContent.toString())));
+
+        // Act
+        ImportSummary summary = importService.importStoredCsvFile("stored.gz", 0, ImportOptions.DEFAULT,
+                ImportProgressListener.NONE);
+
+        // Assert
+        assertAll("Uncompressed limit",
+                () -> assertEquals(0, summary.getImportedCount()),
+                () -> assertTrue(summary.getErrors().get(0).contains("exceeds limit of 100 bytes"))
+        );
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
     // ===== TESTOWANIE WALIDACJI EMAIL =====
 
     @ParameterizedTest
@@ -337,6 +529,53 @@ class ImportServiceTest {
         assertTrue(summary.getErrors().get(0).contains("deprecated"));
     }
 
+    @Test
+    @DisplayName("Should map database bulk load result to import summary")
+    void bulkLoadCsvFile_ShouldReturnMergedCountAndRejectedRows() throws IOException {
+        // Arrange
+        EmployeeBulkLoadRepository bulkLoadRepository = mock(EmployeeBulkLoadRepository.class);
+        EmployeeNameIndex nameIndex = mock(EmployeeNameIndex.class);
+        ReflectionTestUtils.setField(importService, "employeeBulkLoadRepository", bulkLoadRepository);
+        ReflectionTestUtils.setField(importService, "employeeNameIndex", nameIndex);
+        ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+        ReflectionTestUtils.setField(importService, "referenceDataCache", referenceDataCache);
+        Path csv = Files.writeString(tempDir.resolve("seed.csv"), "firstName,lastName,email,company,position,salary\n");
+        when(bulkLoadRepository.loadCsv(csv)).thenReturn(new EmployeeBulkLoadRepository.BulkLoadResult(1000,
+                List.of(new EmployeeBulkLoadRepository.RejectedRow(7, "salary", "INVALID_SALARY",
+                        "Salary must be a non-negative number"))));
+
+        // Act
+        ImportSummary summary = importService.bulkLoadCsvFile(csv);
+
+        // Assert
+        assertAll("Bulk load summary",
+                () -> assertEquals(1000, summary.getImportedCount()),
+                () -> assertEquals(List.of("Line 7: Salary must be a non-negative number"), summary.getErrors()),
+                () -> assertEquals(ImportErrorCode.INVALID_SALARY, summary.getErrorDetails().get(0).getCode())
+        );
+        verify(employeeService, never()).createEmployee(any());
+        verify(nameIndex).rebuild();
+        verify(referenceDataCache).invalidateCompanies();
+    }
+
+    @Test
+    @DisplayName("Should report missing file in bulk load without touching database")
+    void bulkLoadCsvFile_WithMissingFile_ShouldReturnError() {
+        // Arrange
+        EmployeeBulkLoadRepository bulkLoadRepository = mock(EmployeeBulkLoadRepository.class);
+        ReflectionTestUtils.setField(importService, "employeeBulkLoadRepository", bulkLoadRepository);
+
+        // Act
+        ImportSummary summary = importService.bulkLoadCsvFile(tempDir.resolve("missing.csv"));
+
+        // Assert
+        assertAll("Missing bulk load file",
+                () -> assertEquals(0, summary.getImportedCount()),
+                () -> assertTrue(summary.getErrors().get(0).startsWith("CSV bulk load failed: CSV file not found"))
+        );
+        verifyNoInteractions(bulkLoadRepository);
+    }
+
     // ===== TESTOWANIE WYJĄTKÓW DLA IMPORTU CSV =====
 
     @Test
@@ -374,6 +613,366 @@ class ImportServiceTest {
         assertTrue(summary.getErrors().get(0).contains("File is empty"));
     }
 
+    @Test
+    @DisplayName("Should stream CSV in chunks keeping line numbers and error order")
+    void importCsvFile_WithMultipleChunks_ShouldKeepLineNumbers() throws InvalidDataException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        String csvContent = "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,15000\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,INVALID,9000\n" +
+                "\n" +
+                "Piotr,Zielinski,piotr@techcorp.com,TechCorp,PROGRAMMER,8000\n" +
+                "Ewa,Lis,ewa@techcorp.com,TechCorp,PROGRAMMER,abc\n" +
+                "Adam,Wrona,adam@techcorp.com,TechCorp,ENGINEER,7000\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.getBytes()
+        );
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Chunked CSV import",
+                () -> assertEquals(2, summary.getImportedCount()),
+                () -> assertEquals(3, summary.getErrors().size()),
+                () -> assertTrue(summary.getErrors().get(0).startsWith("Line 3:")),
+                () -> assertTrue(summary.getErrors().get(1).startsWith("Line 6:")),
+                () -> assertTrue(summary.getErrors().get(2).startsWith("Line 7:"))
+        );
+        verify(employeeService, times(2)).addEmployee(any(Employee.class));
+    }
+
+    @Test
+    @DisplayName("Should parse rows in parallel and report errors in original line order")
+    void importCsvFile_WithParseExecutor_ShouldKeepErrorOrder() throws InvalidDataException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ReflectionTestUtils.setField(importService, "parseExecutor", executor);
+        ReflectionTestUtils.setField(importService, "chunkSize", 7);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        StringBuilder csvContent = new StringBuilder();
+        for (int i = 1; i <= 100; i++) {
+            String position = i % 10 == 0 ? "INVALID" : "PROGRAMMER";
+            csvContent.append("Jan,Kowalski").append(i).append(",jan").append(i)
+                    .append("@techcorp.com,TechCorp,").append(position).append(",8000\n");
+        }
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.toString().getBytes()
+        );
+
+        try {
+            // Act
+            ImportSummary summary = importService.importCsvFile(file);
+
+            // Assert
+            assertEquals(90, summary.getImportedCount());
+            assertEquals(10, summary.getErrors().size());
+            for (int i = 0; i < 10; i++) {
+                assertTrue(summary.getErrors().get(i).startsWith("Line " + (i + 1) * 10 + ":"),
+                        "Unexpected order: " + summary.getErrors());
+            }
+            verify(employeeService, times(90)).addEmployee(any(Employee.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume stored CSV after checkpoint line and report committed lines")
+    void importStoredCsvFile_FromCheckpoint_ShouldSkipCommittedLines() throws InvalidDataException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        StringBuilder csvContent = new StringBuilder("firstName,lastName,email,company,position,salary\n");
+        for (int i = 2; i <= 7; i++) {
+            csvContent.append("Jan,Kowalski").append(i).append(",jan").append(i)
+                    .append("@techcorp.com,TechCorp,PROGRAMMER,8000\n");
+        }
+        when(fileStorageService.loadFileAsResource("stored.csv", "uploads"))
+                .thenReturn(new ByteArrayResource(csvContent.toString().getBytes()));
+        List<Integer> committedLines = new ArrayList<>();
+        ImportProgressListener listener = new ImportProgressListener() {
+            @Override
+            public void onChunkPersisted(int lastLineNumber, int rowsProcessed, ImportSummary summary) {
+                committedLines.add(lastLineNumber);
+            }
+        };
+
+        // Act
+        ImportSummary summary = importService.importStoredCsvFile("stored.csv", 3, ImportOptions.DEFAULT, listener);
+
+        // Assert
+        assertAll("Resumed CSV import",
+                () -> assertEquals(4, summary.getImportedCount()),
+                () -> assertFalse(summary.hasErrors()),
+                () -> assertEquals(List.of(5, 7), committedLines)
+        );
+        verify(employeeService, never()).addEmployee(argThat(e -> e.getEmail().equals("jan3@techcorp.com")));
+        verify(employeeService).addEmployee(argThat(e -> e.getEmail().equals("jan4@techcorp.com")));
+    }
+
+    @Test
+    @DisplayName("Should stop stored import after rolled back chunk when listener cancels")
+    void importStoredCsvFile_WhenChunkRolledBack_ShouldStopAtLastCommittedChunk() {
+        // Arrange
+        EmployeeBulkWriter bulkWriter = mock(EmployeeBulkWriter.class);
+        ReflectionTestUtils.setField(importService, "employeeBulkWriter", bulkWriter);
+        ReflectionTestUtils.setField(importService, "bulkInsert", true);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        StringBuilder csvContent = new StringBuilder();
+        for (int i = 1; i <= 6; i++) {
+            csvContent.append("Jan,Kowalski").append(i).append(",jan").append(i)
+                    .append("@techcorp.com,TechCorp,PROGRAMMER,8000\n");
+        }
+        when(fileStorageService.loadFileAsResource("stored.csv", "uploads"))
+                .thenReturn(new ByteArrayResource(csvContent.toString().getBytes()));
+        when(bulkWriter.insertChunk(anyList()))
+                .thenReturn(new EmployeeBulkWriter.ChunkResult(2, Map.of()))
+                .thenThrow(new RuntimeException("connection lost"));
+        List<Integer> rolledBackAt = new ArrayList<>();
+        ImportProgressListener listener = new ImportProgressListener() {
+            @Override
+            public void onChunkRolledBack(int firstLineNumber, String reason) {
+                rolledBackAt.add(firstLineNumber);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return !rolledBackAt.isEmpty();
+            }
+        };
+
+        // Act
+        ImportSummary summary = importService.importStoredCsvFile("stored.csv", 0, ImportOptions.DEFAULT, listener);
+
+        // Assert
+        assertAll("Stopped import",
+                () -> assertEquals(2, summary.getImportedCount()),
+                () -> assertEquals(List.of(3), rolledBackAt),
+                () -> assertEquals(1, summary.getErrors().size()),
+                () -> assertTrue(summary.getErrors().get(0).startsWith("Line 3-4: Chunk rolled back"))
+        );
+        verify(bulkWriter, times(2)).insertChunk(anyList());
+    }
+
+    @Test
+    @DisplayName("Should report inserted, updated and unchanged rows in delta import")
+    void importCsvFile_WithDelta_ShouldCountRowOutcomes() {
+        // Arrange
+        EmployeeBulkWriter bulkWriter = mock(EmployeeBulkWriter.class);
+        ReflectionTestUtils.setField(importService, "employeeBulkWriter", bulkWriter);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String csvContent = "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,15000\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,PROGRAMMER,9000\n" +
+                "Piotr,Lis,piotr@techcorp.com,TechCorp,INTERN,3000\n" +
+                "Piotr,Lis,piotr@techcorp.com,TechCorp,INTERN,3000\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.getBytes()
+        );
+        when(bulkWriter.mergeChunk(anyList())).thenReturn(new EmployeeBulkWriter.DeltaChunkResult(
+                Map.of(0, EmployeeBulkWriter.RowOutcome.UNCHANGED,
+                        1, EmployeeBulkWriter.RowOutcome.UPDATED,
+                        2, EmployeeBulkWriter.RowOutcome.INSERTED),
+                Map.of(3, "Employee with email piotr@techcorp.com appears more than once in the file")));
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file, ImportOptions.DELTA);
+
+        // Assert
+        assertAll("Delta import summary",
+                () -> assertEquals(3, summary.getImportedCount()),
+                () -> assertEquals(1, summary.getInsertedCount()),
+                () -> assertEquals(1, summary.getUpdatedCount()),
+                () -> assertEquals(1, summary.getUnchangedCount()),
+                () -> assertEquals(1, summary.getErrorCount()),
+                () -> assertTrue(summary.getErrors().get(0).startsWith("Line 5:"))
+        );
+        verify(bulkWriter, never()).insertChunk(anyList());
+        verify(employeeService, never()).createEmployee(any());
+    }
+
+    @Test
+    @DisplayName("Should project inserts and rejects in dry run without writing anything")
+    void importCsvFile_WithDryRun_ShouldProjectOutcomesWithoutWrites() {
+        // Arrange
+        EmployeeBulkWriter bulkWriter = mock(EmployeeBulkWriter.class);
+        EmployeeBulkRepository bulkRepository = mock(EmployeeBulkRepository.class);
+        ReflectionTestUtils.setField(importService, "employeeBulkWriter", bulkWriter);
+        ReflectionTestUtils.setField(importService, "employeeBulkRepository", bulkRepository);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String csvContent = "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,15000\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,PROGRAMMER,9000\n" +
+                "Piotr,Lis,piotr@techcorp.com,TechCorp,INVALID,3000\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,PROGRAMMER,9000\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.getBytes()
+        );
+        when(bulkRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("jan@techcorp.com"));
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file, new ImportOptions(false, true));
+
+        // Assert
+        DryRunReport report = summary.getDryRunReport();
+        assertAll("Dry run report",
+                () -> assertTrue(summary.isDryRun()),
+                () -> assertEquals(0, summary.getImportedCount()),
+                () -> assertEquals(4, report.getRowsProcessed()),
+                () -> assertEquals(1, report.getProjectedInserts()),
+                () -> assertEquals(3, report.getProjectedRejects()),
+                () -> assertEquals(3, summary.getErrorCount()),
+                () -> assertTrue(summary.getErrors().get(0).contains("already exists")),
+                () -> assertTrue(summary.getErrors().get(2).contains("appears more than once")),
+                () -> assertTrue(report.getParseRowsPerSecond() > 0),
+                () -> assertTrue(report.getValidateRowsPerSecond() > 0)
+        );
+        verifyNoInteractions(bulkWriter, employeeService);
+        verify(bulkRepository, never()).insertAll(anyList());
+        assertFalse(Files.exists(tempDir.resolve("stored-upload.csv")));
+    }
+
+    @Test
+    @DisplayName("Should project updates and unchanged rows in delta dry run by content hash")
+    void importCsvFile_WithDeltaDryRun_ShouldCompareContentHashes() {
+        // Arrange
+        EmployeeBulkRepository bulkRepository = mock(EmployeeBulkRepository.class);
+        ReflectionTestUtils.setField(importService, "employeeBulkRepository", bulkRepository);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String csvContent = "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,MANAGER,15000\n" +
+                "Anna,Nowak,anna@techcorp.com,TechCorp,PROGRAMMER,9000\n" +
+                "Piotr,Lis,piotr@techcorp.com,TechCorp,INTERN,3000\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.getBytes()
+        );
+        Employee unchanged = new Employee("Jan Kowalski", "jan@techcorp.com", "TechCorp",
+                Position.MANAGER, new BigDecimal("15000"));
+        when(bulkRepository.findContentHashes(anyCollection())).thenReturn(Map.of(
+                "jan@techcorp.com", unchanged.calculateContentHash(),
+                "anna@techcorp.com", "stale-hash"));
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file, new ImportOptions(true, true));
+
+        // Assert
+        DryRunReport report = summary.getDryRunReport();
+        assertAll("Delta dry run report",
+                () -> assertEquals(0, summary.getImportedCount()),
+                () -> assertEquals(1, report.getProjectedInserts()),
+                () -> assertEquals(1, report.getProjectedUpdates()),
+                () -> assertEquals(1, report.getProjectedUnchanged()),
+                () -> assertEquals(0, report.getProjectedRejects()),
+                () -> assertFalse(summary.hasErrors())
+        );
+        verify(bulkRepository, never()).updateAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should cap error sample and spill full error list to CSV in reports directory")
+    void importCsvFile_WithManyErrors_ShouldSpillErrorsToFile() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "maxSampleErrors", 2);
+        when(fileStorageService.getReportsStorageLocation()).thenReturn(tempDir);
+        String csvContent = "firstName,lastName,email,company,position,salary\n" +
+                "Jan,Kowalski,jan@techcorp.com,TechCorp,INVALID,15000\n" +
+                "Anna,Nowak,anna-bad-email,TechCorp,MANAGER,9000\n" +
+                "Piotr,Zielinski,piotr@techcorp.com,TechCorp,MANAGER,abc\n" +
+                "Ewa,Lis,ewa@techcorp.com,TechCorp,MANAGER\n" +
+                "Adam,,adam@techcorp.com,TechCorp,MANAGER,7000\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.getBytes()
+        );
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Bounded error summary",
+                () -> assertEquals(0, summary.getImportedCount()),
+                () -> assertEquals(5, summary.getErrorCount()),
+                () -> assertEquals(2, summary.getErrors().size()),
+                () -> assertTrue(summary.isErrorsTruncated()),
+                () -> assertEquals("position", summary.getErrorDetails().get(0).getField()),
+                () -> assertEquals(ImportErrorCode.INVALID_EMAIL, summary.getErrorDetails().get(1).getCode()),
+                () -> assertEquals(1, summary.getErrorCounts().get(ImportErrorCode.INVALID_SALARY)),
+                () -> assertEquals(1, summary.getErrorCounts().get(ImportErrorCode.INVALID_FIELD_COUNT)),
+                () -> assertEquals(1, summary.getErrorCounts().get(ImportErrorCode.MISSING_FIELD)),
+                () -> assertNotNull(summary.getErrorFile())
+        );
+
+        List<String> lines = Files.readAllLines(importService.loadErrorFile(summary.getErrorFile()).getFile().toPath());
+        assertEquals(6, lines.size());
+        assertTrue(lines.get(1).startsWith("\"2\",\"Line 2\",\"position\",\"INVALID_POSITION\""));
+        assertTrue(lines.get(5).startsWith("\"6\",\"Line 6\",\"lastName\",\"MISSING_FIELD\""));
+    }
+
+    @Test
+    @DisplayName("Should delete error files older than the retention when spilling a new one")
+    void importCsvFile_WithManyErrors_ShouldDeleteExpiredErrorFiles() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "maxSampleErrors", 1);
+        when(fileStorageService.getReportsStorageLocation()).thenReturn(tempDir);
+        Path expired = Files.writeString(tempDir.resolve("import-errors-00000000-0000-0000-0000-000000000001.csv"), "line");
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        Path recent = Files.writeString(tempDir.resolve("import-errors-00000000-0000-0000-0000-000000000002.csv"), "line");
+        Path report = Files.writeString(tempDir.resolve("statistics.pdf"), "pdf");
+        Files.setLastModifiedTime(report, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        MockMultipartFile file = new MockMultipartFile("file", "employees.csv", "text/csv",
+                ("Jan,Kowalski,jan@techcorp.com,TechCorp,INVALID,15000\n" +
+                        "Anna,Nowak,anna-bad-email,TechCorp,MANAGER,9000\n").getBytes());
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Error file retention",
+                () -> assertNotNull(summary.getErrorFile()),
+                () -> assertTrue(Files.exists(tempDir.resolve(summary.getErrorFile()))),
+                () -> assertFalse(Files.exists(expired)),
+                () -> assertTrue(Files.exists(recent)),
+                () -> assertTrue(Files.exists(report))
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep all errors in summary without error file when under the cap")
+    void importCsvFile_WithFewErrors_ShouldNotCreateErrorFile() {
+        // Arrange
+        String csvContent = "Jan,Kowalski,jan@techcorp.com,TechCorp,INVALID,15000\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv", csvContent.getBytes()
+        );
+
+        // Act
+        ImportSummary summary = importService.importCsvFile(file);
+
+        // Assert
+        assertAll("Small error summary",
+                () -> assertEquals(1, summary.getErrorCount()),
+                () -> assertFalse(summary.isErrorsTruncated()),
+                () -> assertNull(summary.getErrorFile()),
+                () -> assertTrue(summary.getErrors().get(0).startsWith("Line 1: Invalid position"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject error file names outside the import error pattern")
+    void loadErrorFile_WithInvalidName_ShouldThrow() {
+        assertThrows(InvalidFileException.class, () -> importService.loadErrorFile("../application.properties"));
+    }
+
     // ===== TESTOWANIE WYJĄTKÓW DLA IMPORTU XML =====
 
     @Test
@@ -427,6 +1026,42 @@ class ImportServiceTest {
         assertTrue(summary.getErrors().get(0).contains("Missing required element"));
     }
 
+    @Test
+    @DisplayName("Should stream XML employees in chunks keeping element numbers")
+    void importXmlFile_WithMultipleChunks_ShouldKeepElementNumbers() throws InvalidDataException {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String xmlContent = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<employeesList>\n" +
+                "  <employee><firstName>Jan</firstName><lastName>Kowalski</lastName>" +
+                "<email>jan@techcorp.com</email><company>Tech &amp; Corp</company>" +
+                "<position>MANAGER</position><salary>15000</salary></employee>\n" +
+                "  <employee><firstName>Anna</firstName><lastName>Nowak</lastName>" +
+                "<email>anna@techcorp.com</email><company>TechCorp</company>" +
+                "<position>MANAGER</position></employee>\n" +
+                "  <employee><firstName>Piotr</firstName><lastName>Lis</lastName>" +
+                "<email>piotr@techcorp.com</email><company>TechCorp</company>" +
+                "<position>PROGRAMMER</position><salary><![CDATA[8000]]></salary></employee>\n" +
+                "</employeesList>";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.xml", "application/xml", xmlContent.getBytes()
+        );
+
+        // Act
+        ImportSummary summary = importService.importXmlFile(file);
+
+        // Assert
+        assertAll("Streaming XML import",
+                () -> assertEquals(2, summary.getImportedCount()),
+                () -> assertEquals(1, summary.getErrors().size()),
+                () -> assertEquals("Employee element 2: Missing required element: salary", summary.getErrors().get(0))
+        );
+        verify(employeeService).addEmployee(argThat(e -> "Tech & Corp".equals(e.getCompany())));
+        verify(employeeService, times(2)).addEmployee(any(Employee.class));
+    }
+
     // ===== TESTOWANIE WALIDACJI DANYCH =====
 
     @Test
@@ -0,0 +1,161 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.dto.SalaryBatchResult;
+import com.techcorp.employee.dto.SalaryChangeRequest;
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.EmploymentStatus;
+import com.techcorp.employee.model.Position;
+import com.techcorp.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paczki są zatwierdzane przez SalaryService, więc testy działają na zatwierdzonych danych i sprzątają po sobie.
+ */
+@SpringBootTest
+@DisplayName("SalaryBatchService Tests")
+class SalaryBatchServiceTest {
+
+    private static final int EMPLOYEES = 20;
+
+    @Autowired
+    private SalaryBatchService salaryBatchService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long lastAuditId;
+
+    @BeforeEach
+    void setUp() {
+        lastAuditId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM audit_log", Long.class);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employeeRepository.save(new Employee("Batch Employee" + i, email(i), "BatchCorp",
+                    Position.PROGRAMMER, new BigDecimal("5000.00"), EmploymentStatus.ACTIVE));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees WHERE company = 'BatchCorp'");
+        jdbcTemplate.update("DELETE FROM audit_log WHERE id > ?", lastAuditId);
+        ReflectionTestUtils.setField(salaryBatchService, "chunkSize", 200);
+    }
+
+    @Test
+    @DisplayName("Should report a result for every row in request order")
+    void updateSalaries_ShouldReturnPerRowResults() {
+        // Arrange
+        ReflectionTestUtils.setField(salaryBatchService, "chunkSize", 2);
+        List<SalaryChangeRequest> changes = List.of(
+                new SalaryChangeRequest(email(3), new BigDecimal("6000.00")),
+                new SalaryChangeRequest(" " + email(1).toUpperCase() + " ", new BigDecimal("5500.00")),
+                new SalaryChangeRequest(email(2), new BigDecimal("20000.00")),
+                new SalaryChangeRequest("missing.batch@techcorp.com", new BigDecimal("5000.00")),
+                new SalaryChangeRequest(email(3), new BigDecimal("7000.00")));
+
+        // Act
+        SalaryBatchResult result = salaryBatchService.updateSalaries(changes);
+
+        // Assert
+        assertAll("Per-row results",
+                () -> assertEquals(List.of(SalaryBatchResult.RowStatus.UPDATED, SalaryBatchResult.RowStatus.UPDATED,
+                                SalaryBatchResult.RowStatus.REJECTED, SalaryBatchResult.RowStatus.NOT_FOUND,
+                                SalaryBatchResult.RowStatus.REJECTED),
+                        result.rows().stream().map(SalaryBatchResult.RowResult::status).toList()),
+                () -> assertEquals(List.of(0, 1, 2, 3, 4),
+                        result.rows().stream().map(SalaryBatchResult.RowResult::row).toList()),
+                () -> assertTrue(result.rows().get(2).message().contains("increase too large")),
+                () -> assertTrue(result.rows().get(4).message().contains("more than once")),
+                () -> assertEquals(0, new BigDecimal("5000.00").compareTo(result.rows().get(0).oldSalary())),
+                () -> assertEquals(2, result.updatedCount()),
+                () -> assertEquals(2, result.rejectedCount()),
+                () -> assertEquals(1, result.notFoundCount()),
+                () -> assertTrue(result.rowsPerSecond() > 0),
+                () -> assertEquals(0, new BigDecimal("6000.00").compareTo(salaryOf(3))),
+                () -> assertEquals(0, new BigDecimal("5500.00").compareTo(salaryOf(1))),
+                () -> assertEquals(0, new BigDecimal("5000.00").compareTo(salaryOf(2)))
+        );
+    }
+
+    @Test
+    @DisplayName("Should write audit rows with the same event types as the single update")
+    void updateSalaries_ShouldWriteAuditTrail() {
+        // Act
+        salaryBatchService.updateSalaries(List.of(
+                new SalaryChangeRequest(email(0), new BigDecimal("5200.00")),
+                new SalaryChangeRequest(email(1), new BigDecimal("1000.00"))));
+
+        // Assert
+        assertAll("Audit trail",
+                () -> assertEquals(1, countAudit("SALARY_UPDATE_SUCCESS")),
+                () -> assertEquals(1, countAudit("SALARY_UPDATE_FAILURE")),
+                () -> assertEquals(1, countAudit("GENERAL"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should complete overlapping batches submitted concurrently in opposite order")
+    void updateSalaries_ConcurrentOverlappingBatches_ShouldNotDeadlock() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(salaryBatchService, "chunkSize", 5);
+        List<SalaryChangeRequest> forward = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            forward.add(new SalaryChangeRequest(email(i), new BigDecimal("5100.00")));
+        }
+        List<SalaryChangeRequest> backward = new ArrayList<>(forward);
+        Collections.reverse(backward);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            List<SalaryBatchResult> results = new ArrayList<>();
+            for (int round = 0; round < 5; round++) {
+                CompletableFuture<SalaryBatchResult> first =
+                        CompletableFuture.supplyAsync(() -> salaryBatchService.updateSalaries(forward), executor);
+                CompletableFuture<SalaryBatchResult> second =
+                        CompletableFuture.supplyAsync(() -> salaryBatchService.updateSalaries(backward), executor);
+                results.add(first.get(60, TimeUnit.SECONDS));
+                results.add(second.get(60, TimeUnit.SECONDS));
+            }
+
+            // Assert
+            assertTrue(results.stream().allMatch(result -> result.failedCount() == 0 && result.updatedCount() == EMPLOYEES));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String email(int i) {
+        return "batch" + i + "@techcorp.com";
+    }
+
+    private BigDecimal salaryOf(int i) {
+        return jdbcTemplate.queryForObject("SELECT salary FROM employees WHERE email = ?", BigDecimal.class, email(i));
+    }
+
+    private long countAudit(String eventType) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE id > ? AND event_type = ?",
+                Long.class, lastAuditId, eventType);
+    }
+}
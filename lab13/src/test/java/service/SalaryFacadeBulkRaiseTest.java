@@ -0,0 +1,167 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.dto.CompanyRaiseSummary;
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.EmploymentStatus;
+import com.techcorp.employee.model.Position;
+import com.techcorp.employee.repository.AuditLogRepository;
+import com.techcorp.employee.repository.CompanyStatsRepository;
+import com.techcorp.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@DisplayName("SalaryFacade bulk raise Tests")
+class SalaryFacadeBulkRaiseTest {
+
+    @Autowired
+    private SalaryFacade salaryFacade;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompanyStatsRepository companyStatsRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private long lastAuditId;
+
+    @BeforeTransaction
+    void rememberLastAuditEntry() {
+        lastAuditId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM audit_log", Long.class);
+    }
+
+    // Wpisy GENERAL z AuditService (REQUIRES_NEW) są zatwierdzane niezależnie od wycofywanej transakcji testu
+    @AfterTransaction
+    void deleteCommittedAuditEntries() {
+        jdbcTemplate.update("DELETE FROM audit_log WHERE id > ?", lastAuditId);
+    }
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository.deleteAll();
+        employeeRepository.deleteAll();
+        save("Jan Kowalski", "jan.raise@techcorp.com", "TechCorp", "5000.00");
+        save("Anna Nowak", "anna.raise@techcorp.com", "TechCorp", "7000.00");
+        save("Piotr Zieliński", "piotr.raise@techcorp.com", "TechCorp", "950000.00");
+        save("Ewa Lis", "ewa.raise@techcorp.com", "DataSoft", "6000.00");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should raise valid salaries and report employees rejected by the salary cap")
+    void applyCompanyWideRaiseBulk_ShouldApplyRaiseAndReportRejections() {
+        // Act
+        CompanyRaiseSummary summary = salaryFacade.applyCompanyWideRaiseBulk("TechCorp", new BigDecimal("10.00"));
+
+        // Assert
+        assertAll("Bulk raise",
+                () -> assertEquals(2, summary.updatedCount()),
+                () -> assertEquals(1, summary.rejectedCount()),
+                () -> assertEquals(3, summary.totalCount()),
+                () -> assertEquals(Map.of("Salary exceeds maximum allowed limit (1000000.00)", 1L),
+                        summary.rejectionReasons()),
+                () -> assertEquals(0, new BigDecimal("5500.00").compareTo(salaryOf("jan.raise@techcorp.com"))),
+                () -> assertEquals(0, new BigDecimal("7700.00").compareTo(salaryOf("anna.raise@techcorp.com"))),
+                () -> assertEquals(0, new BigDecimal("950000.00").compareTo(salaryOf("piotr.raise@techcorp.com"))),
+                () -> assertEquals(0, new BigDecimal("6000.00").compareTo(salaryOf("ewa.raise@techcorp.com"))),
+                () -> assertEquals(0, new BigDecimal("321066.67").compareTo(companyStatsRepository.findByCompany("TechCorp")
+                        .orElseThrow().getAverageSalary().setScale(2, RoundingMode.HALF_UP))),
+                () -> assertEquals("Piotr Zieliński", companyStatsRepository.findByCompany("TechCorp")
+                        .orElseThrow().getTopEarnerName())
+        );
+    }
+
+    @Test
+    @DisplayName("Should write audit rows per employee with the same event types as the per-employee mode")
+    void applyCompanyWideRaiseBulk_ShouldWriteAuditTrail() {
+        // Act
+        salaryFacade.applyCompanyWideRaiseBulk("TechCorp", new BigDecimal("10.00"));
+
+        // Assert
+        assertAll("Audit trail",
+                () -> assertEquals(2, countAudit("SALARY_UPDATE_SUCCESS")),
+                () -> assertEquals(1, countAudit("SALARY_UPDATE_FAILURE")),
+                () -> assertEquals(2, countAudit("GENERAL")),
+                () -> assertEquals("Salary updated successfully - Employee: Jan Kowalski (ID: " + idOf("jan.raise@techcorp.com")
+                                + "), Old: 5000.00, New: 5500.00",
+                        jdbcTemplate.queryForObject("SELECT message FROM audit_log WHERE entity_id = ? " +
+                                "AND event_type = 'SALARY_UPDATE_SUCCESS'", String.class, idOf("jan.raise@techcorp.com")))
+        );
+    }
+
+    @Test
+    @DisplayName("Should apply the SalaryService change limits and clear content hashes of updated rows")
+    void applyCompanyWideRaiseBulk_ShouldRejectTooLargeChangeAndSpanChunks() {
+        // Arrange
+        ReflectionTestUtils.setField(salaryFacade, "raiseChunkSize", 1);
+
+        try {
+            // Act
+            CompanyRaiseSummary tooLarge = salaryFacade.applyCompanyWideRaiseBulk("TechCorp", new BigDecimal("150"));
+            CompanyRaiseSummary cut = salaryFacade.applyCompanyWideRaiseBulk("TechCorp", new BigDecimal("-20"));
+
+            // Assert
+            assertAll("Change limits",
+                    () -> assertEquals(0, tooLarge.updatedCount()),
+                    // kolejność reguł jak w SalaryService: limit kwoty przed limitem procentowym
+                    () -> assertEquals(Map.of("Salary increase too large. Max 100.0% increase allowed.", 2L,
+                            "Salary exceeds maximum allowed limit (1000000.00)", 1L), tooLarge.rejectionReasons()),
+                    // wpis audytu z pensjami, jak przy odrzuceniu w SalaryService.validateSalary
+                    () -> assertEquals("Salary update failed - Employee: Jan Kowalski (ID: " + idOf("jan.raise@techcorp.com")
+                                    + "), Error: Salary increase too large (5000.00 -> 12500.00). Max 100.0% increase allowed.",
+                            jdbcTemplate.queryForObject("SELECT message FROM audit_log WHERE entity_id = ? " +
+                                    "AND event_type = 'SALARY_UPDATE_FAILURE'", String.class, idOf("jan.raise@techcorp.com"))),
+                    () -> assertEquals(3, cut.updatedCount()),
+                    () -> assertEquals(0, new BigDecimal("4000.00").compareTo(salaryOf("jan.raise@techcorp.com"))),
+                    () -> assertNull(jdbcTemplate.queryForObject("SELECT content_hash FROM employees WHERE email = ?",
+                            String.class, "jan.raise@techcorp.com"))
+            );
+        } finally {
+            ReflectionTestUtils.setField(salaryFacade, "raiseChunkSize", 1000);
+        }
+    }
+
+    private void save(String name, String email, String company, String salary) {
+        employeeRepository.save(new Employee(name, email, company, Position.PROGRAMMER,
+                new BigDecimal(salary), EmploymentStatus.ACTIVE));
+    }
+
+    private BigDecimal salaryOf(String email) {
+        return jdbcTemplate.queryForObject("SELECT salary FROM employees WHERE email = ?", BigDecimal.class, email);
+    }
+
+    private Long idOf(String email) {
+        return jdbcTemplate.queryForObject("SELECT id FROM employees WHERE email = ?", Long.class, email);
+    }
+
+    private long countAudit(String eventType) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE event_type = ?", Long.class, eventType);
+    }
+}
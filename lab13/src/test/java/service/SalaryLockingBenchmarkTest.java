@@ -0,0 +1,157 @@
+package com.techcorp.employee.service;
+
+import com.techcorp.employee.model.Employee;
+import com.techcorp.employee.model.EmploymentStatus;
+import com.techcorp.employee.model.Position;
+import com.techcorp.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Porównanie trybów blokowania przy zmianach pensji kilku "gorących" pracowników z wielu wątków.
+ * Czasy są tylko logowane; asercje sprawdzają, że w obu trybach żadna zatwierdzona zmiana nie ginie.
+ * Tryb pesymistyczny działa w REPEATABLE_READ, w którym H2 odrzuca część kolidujących zmian (błąd 40001)
+ * zamiast na nie czekać - dlatego pełnej liczby zmian wymaga tylko tryb optymistyczny z ponawianiem.
+ */
+@SpringBootTest
+@DisplayName("Salary locking mode benchmark")
+class SalaryLockingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaryLockingBenchmarkTest.class);
+
+    private static final String COMPANY = "LockBenchCorp";
+    private static final int HOT_EMPLOYEES = 4;
+    private static final int THREADS = 6;
+    private static final int UPDATES_PER_THREAD = 15;
+
+    @Autowired
+    private SalaryFacade salaryFacade;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long lastAuditId;
+    private List<Long> employeeIds;
+
+    @BeforeEach
+    void setUp() {
+        lastAuditId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM audit_log", Long.class);
+        employeeIds = new ArrayList<>();
+        for (int i = 0; i < HOT_EMPLOYEES; i++) {
+            Employee employee = employeeRepository.save(new Employee("Lock Bench" + i, "lock.bench" + i + "@techcorp.com",
+                    COMPANY, Position.PROGRAMMER, new BigDecimal("5000.00"), EmploymentStatus.ACTIVE));
+            employeeIds.add(employee.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employees WHERE company = ?", COMPANY);
+        jdbcTemplate.update("DELETE FROM company_stats WHERE company = ?", COMPANY);
+        jdbcTemplate.update("DELETE FROM audit_log WHERE id > ?", lastAuditId);
+        ReflectionTestUtils.setField(salaryFacade, "lockingMode", SalaryFacade.LockingMode.PESSIMISTIC);
+        ReflectionTestUtils.setField(salaryFacade, "optimisticMaxAttempts", 5);
+    }
+
+    @Test
+    @DisplayName("Pessimistic mode should not lose committed concurrent updates")
+    void pessimisticMode_UnderContention_ShouldNotLoseUpdates() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(salaryFacade, "lockingMode", SalaryFacade.LockingMode.PESSIMISTIC);
+
+        // When
+        int succeeded = runContendedUpdates(SalaryFacade.LockingMode.PESSIMISTIC);
+
+        // Then
+        assertTrue(succeeded > 0);
+    }
+
+    @Test
+    @DisplayName("Optimistic mode should apply every concurrent update after retrying conflicts")
+    void optimisticMode_UnderContention_ShouldRetryAndNotLoseUpdates() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(salaryFacade, "lockingMode", SalaryFacade.LockingMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(salaryFacade, "optimisticMaxAttempts", 100);
+        long retriesBefore = salaryFacade.getOptimisticRetryCount();
+
+        // When
+        int succeeded = runContendedUpdates(SalaryFacade.LockingMode.OPTIMISTIC);
+
+        // Then
+        logger.info("OPTIMISTIC retries: {}", salaryFacade.getOptimisticRetryCount() - retriesBefore);
+        assertEquals(THREADS * UPDATES_PER_THREAD, succeeded);
+    }
+
+    /**
+     * @return liczba zatwierdzonych zmian; sprawdza, że każda podbiła wersję i ma wpis audytu
+     */
+    private int runContendedUpdates(SalaryFacade.LockingMode mode) throws Exception {
+        long versionsBefore = sumOfVersions();
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        long start = System.nanoTime();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        int n = sequence.incrementAndGet();
+                        // każda zmiana inna, żeby każda podbijała wersję wiersza
+                        BigDecimal salary = new BigDecimal("5000.00").add(BigDecimal.valueOf(n, 2));
+                        try {
+                            salaryFacade.updateSalary(employeeIds.get(n % HOT_EMPLOYEES), salary);
+                            succeeded.incrementAndGet();
+                        } catch (Exception e) {
+                            logger.warn("{} update failed: {}", mode, e.getMessage());
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        int total = THREADS * UPDATES_PER_THREAD;
+        logger.info("{}: {} of {} updates committed in {} ms ({} updates/s)",
+                mode, succeeded.get(), total, elapsedMillis, succeeded.get() * 1000L / elapsedMillis);
+
+        assertEquals(succeeded.get(), sumOfVersions() - versionsBefore);
+        assertEquals(succeeded.get(), countAudit("SALARY_UPDATE_SUCCESS"));
+        return succeeded.get();
+    }
+
+    private long sumOfVersions() {
+        return jdbcTemplate.queryForObject("SELECT SUM(version) FROM employees WHERE company = ?", Long.class, COMPANY);
+    }
+
+    private long countAudit(String eventType) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE id > ? AND event_type = ?",
+                Long.class, lastAuditId, eventType);
+    }
+}
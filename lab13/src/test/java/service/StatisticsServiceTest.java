@@ -2,6 +2,7 @@ package com.techcorp.employee.service;
 
 import com.techcorp.employee.dto.CompanyStatisticsDTO;
 import com.techcorp.employee.model.*;
+import com.techcorp.employee.repository.CompanyStatsRepository;
 import com.techcorp.employee.repository.EmployeeRepository;
 import com.techcorp.employee.repository.DepartmentRepository;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,9 @@ class StatisticsServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private CompanyStatsRepository companyStatsRepository;
+
     @InjectMocks
     private StatisticsService statisticsService;
 
@@ -44,7 +48,7 @@ class StatisticsServiceTest {
         when(employeeRepository.findMaxSalary()).thenReturn(0.0);
         when(employeeRepository.findMinSalary()).thenReturn(0.0);
         when(employeeRepository.findTotalSalaryCost()).thenReturn(0.0);
-        when(employeeRepository.getCompanyStatisticsDTO()).thenReturn(List.of());
+        when(companyStatsRepository.findAll()).thenReturn(List.of());
         when(employeeRepository.getPositionStatistics()).thenReturn(List.of());
         when(employeeRepository.getStatusStatistics()).thenReturn(List.of());
         when(departmentRepository.count()).thenReturn(0L);
@@ -88,7 +92,7 @@ class StatisticsServiceTest {
                 "TechCorp", 10L, 7000.0, 10000.0, "Jan Manager"
         );
 
-        when(employeeRepository.getCompanyStatisticsDTO("TechCorp"))
+        when(companyStatsRepository.findByCompany("TechCorp"))
                 .thenReturn(Optional.of(dto));
 
         // When
@@ -110,7 +114,7 @@ class StatisticsServiceTest {
     @Test
     void getCompanyStatistics_WithNonExistingCompany_ShouldReturnEmpty() {
         // Given
-        when(employeeRepository.getCompanyStatisticsDTO("NonExisting"))
+        when(companyStatsRepository.findByCompany("NonExisting"))
                 .thenReturn(Optional.empty());
 
         // When
@@ -208,7 +212,7 @@ class StatisticsServiceTest {
                 "TechCorp", 5L, 8000.0, 12000.0, "Jan Manager"
         );
 
-        when(employeeRepository.getCompanyStatisticsDTO("TechCorp"))
+        when(companyStatsRepository.findByCompany("TechCorp"))
                 .thenReturn(Optional.of(dto));
 
         // When
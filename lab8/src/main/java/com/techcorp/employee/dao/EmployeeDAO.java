@@ -5,15 +5,21 @@ import com.techcorp.employee.model.CompanyStatistics;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface EmployeeDAO {
     List<Employee> findAll();
     Optional<Employee> findById(Long id);
     Optional<Employee> findByEmail(String email);
     Employee save(Employee employee);
+    List<Employee> saveAll(List<Employee> employees);
     void deleteByEmail(String email);
     void deleteAll();
     List<Employee> findByCompany(String company);
+    Stream<Employee> streamAll();
+    Stream<Employee> streamByCompany(String company);
+    void forEachEmployee(Consumer<Employee> action);
     List<Employee> findByDepartmentId(Long departmentId);
     List<Employee> findEmployeesWithoutDepartment();
     List<CompanyStatistics> getCompanyStatistics();
@@ -6,14 +6,21 @@ import com.techcorp.employee.model.EmploymentStatus;
 import com.techcorp.employee.model.CompanyStatistics;
 import com.techcorp.employee.exception.DuplicateEmailException;
 import com.techcorp.employee.exception.DataAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,8 +28,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class JdbcEmployeeDAO implements EmployeeDAO {
@@ -30,6 +40,46 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
     private final JdbcTemplate jdbcTemplate;
     private static final Logger logger = LoggerFactory.getLogger(JdbcEmployeeDAO.class);
 
+    private static final String SELECT_EMPLOYEES = "SELECT id, first_name, last_name, email, salary, position, " +
+            "company, status, department_id, photo_file_name FROM employees";
+    private static final String INSERT_SQL = "INSERT INTO employees (first_name, last_name, email, salary, position, " +
+            "company, status, department_id, photo_file_name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, salary = ?, " +
+            "position = ?, company = ?, status = ?, department_id = ?, photo_file_name = ? " +
+            "WHERE id = ?";
+
+    // Jedno zapytanie: agregaty i najlepiej opłacany pracownik (ranga 1, remis rozstrzyga id) z funkcji okna
+    static final String WINDOW_STATISTICS_SQL = "SELECT company, employee_count, average_salary, max_salary, " +
+            "first_name, last_name FROM (" +
+            "SELECT company, first_name, last_name, " +
+            "COUNT(*) OVER (PARTITION BY company) AS employee_count, " +
+            "AVG(salary) OVER (PARTITION BY company) AS average_salary, " +
+            "MAX(salary) OVER (PARTITION BY company) AS max_salary, " +
+            "ROW_NUMBER() OVER (PARTITION BY company ORDER BY salary DESC, id) AS salary_rank " +
+            "FROM employees) ranked " +
+            "WHERE salary_rank = 1 " +
+            "ORDER BY company";
+
+    // Odpowiednik bez funkcji okna: GROUP BY i pracownik o najmniejszym id wśród zarabiających max_salary
+    static final String GROUP_BY_STATISTICS_SQL = "SELECT s.company, s.employee_count, s.average_salary, s.max_salary, " +
+            "e.first_name, e.last_name FROM (" +
+            "SELECT company, COUNT(*) AS employee_count, AVG(salary) AS average_salary, MAX(salary) AS max_salary " +
+            "FROM employees GROUP BY company) s " +
+            "JOIN employees e ON e.id = (SELECT MIN(top.id) FROM employees top " +
+            "WHERE top.company = s.company AND top.salary = s.max_salary) " +
+            "ORDER BY s.company";
+
+    // Minimalne zapytanie z funkcją okna - odróżnia brak wsparcia w bazie od błędu w samym zapytaniu statystyk
+    static final String WINDOW_FUNCTION_PROBE_SQL = "SELECT COUNT(*) OVER () FROM employees WHERE 1 = 0";
+
+    static final int BATCH_SIZE = 500;
+    static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+
+    @Value("${app.jdbc.stream-fetch-size:" + DEFAULT_STREAM_FETCH_SIZE + "}")
+    private int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
+
+    private volatile boolean windowFunctionsSupported = true;
+
     public JdbcEmployeeDAO(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
@@ -39,10 +89,7 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
         employee.setId(rs.getLong("id"));
 
         // Transformacja: first_name + last_name → name
-        String firstName = rs.getString("first_name");
-        String lastName = rs.getString("last_name");
-        String fullName = firstName + (lastName != null && !lastName.isEmpty() ? " " + lastName : "");
-        employee.setName(fullName);
+        employee.setName(fullName(rs));
 
         employee.setEmail(rs.getString("email"));
         employee.setSalary(rs.getDouble("salary"));
@@ -76,11 +123,27 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
         return employee;
     };
 
+    private final RowMapper<CompanyStatistics> companyStatisticsRowMapper = (rs, rowNum) -> {
+        CompanyStatistics stats = new CompanyStatistics(
+                rs.getString("company"),
+                rs.getInt("employee_count"),
+                rs.getDouble("average_salary"),
+                rs.getDouble("max_salary"));
+        stats.setHighestPaidEmployee(fullName(rs));
+        return stats;
+    };
+
+    private static String fullName(ResultSet rs) throws SQLException {
+        String firstName = rs.getString("first_name");
+        String lastName = rs.getString("last_name");
+        return firstName + (lastName != null && !lastName.isEmpty() ? " " + lastName : "");
+    }
+
     @Override
     public List<Employee> findAll() {
         try {
             logger.debug("Fetching all employees from database");
-            String sql = "SELECT * FROM employees";
+            String sql = SELECT_EMPLOYEES;
             return jdbcTemplate.query(sql, employeeRowMapper);
         } catch (Exception e) {
             logger.error("Error fetching all employees from database", e);
@@ -92,7 +155,7 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
     public Optional<Employee> findById(Long id) {
         try {
             logger.debug("Finding employee by ID: {}", id);
-            String sql = "SELECT * FROM employees WHERE id = ?";
+            String sql = SELECT_EMPLOYEES + " WHERE id = ?";
             List<Employee> employees = jdbcTemplate.query(sql, employeeRowMapper, id);
             return employees.stream().findFirst();
         } catch (Exception e) {
@@ -105,7 +168,7 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
     public Optional<Employee> findByEmail(String email) {
         try {
             logger.debug("Finding employee by email: {}", email);
-            String sql = "SELECT * FROM employees WHERE email = ?";
+            String sql = SELECT_EMPLOYEES + " WHERE email = ?";
             List<Employee> employees = jdbcTemplate.query(sql, employeeRowMapper, email);
             return employees.stream().findFirst();
         } catch (Exception e) {
@@ -140,26 +203,11 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
     private Employee insertEmployee(Employee employee) {
         logger.debug("Inserting new employee with email: {}", employee.getEmail());
 
-        String sql = "INSERT INTO employees (first_name, last_name, email, salary, position, company, status, department_id, photo_file_name) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
         jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, employee.getFirstName());
-            ps.setString(2, employee.getLastName());
-            ps.setString(3, employee.getEmail());
-            ps.setDouble(4, employee.getSalary());
-            ps.setString(5, employee.getPosition().name());
-            ps.setString(6, employee.getCompany());
-            ps.setString(7, employee.getStatus().name());
-            if (employee.getDepartmentId() != null) {
-                ps.setLong(8, employee.getDepartmentId());
-            } else {
-                ps.setNull(8, java.sql.Types.BIGINT);
-            }
-            ps.setString(9, employee.getPhotoFileName());
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            setInsertParameters(ps, employee);
             return ps;
         }, keyHolder);
 
@@ -175,11 +223,33 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
     private Employee updateEmployee(Employee employee) {
         logger.debug("Updating employee with ID: {}", employee.getId());
 
-        String sql = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, salary = ?, " +
-                "position = ?, company = ?, status = ?, department_id = ?, photo_file_name = ? " +
-                "WHERE id = ?";
+        int affectedRows = jdbcTemplate.update(UPDATE_SQL, updateParameters(employee));
+
+        if (affectedRows == 0) {
+            throw new DataAccessException("No employee found with ID: " + employee.getId());
+        }
+
+        return employee;
+    }
 
-        int affectedRows = jdbcTemplate.update(sql,
+    private static void setInsertParameters(PreparedStatement ps, Employee employee) throws SQLException {
+        ps.setString(1, employee.getFirstName());
+        ps.setString(2, employee.getLastName());
+        ps.setString(3, employee.getEmail());
+        ps.setDouble(4, employee.getSalary());
+        ps.setString(5, employee.getPosition().name());
+        ps.setString(6, employee.getCompany());
+        ps.setString(7, employee.getStatus().name());
+        if (employee.getDepartmentId() != null) {
+            ps.setLong(8, employee.getDepartmentId());
+        } else {
+            ps.setNull(8, java.sql.Types.BIGINT);
+        }
+        ps.setString(9, employee.getPhotoFileName());
+    }
+
+    private static Object[] updateParameters(Employee employee) {
+        return new Object[]{
                 employee.getFirstName(),
                 employee.getLastName(),
                 employee.getEmail(),
@@ -189,13 +259,81 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
                 employee.getStatus().name(),
                 employee.getDepartmentId(),
                 employee.getPhotoFileName(),
-                employee.getId());
+                employee.getId()};
+    }
 
-        if (affectedRows == 0) {
-            throw new DataAccessException("No employee found with ID: " + employee.getId());
+    /**
+     * Zapis wielu pracowników paczkami po BATCH_SIZE: nowi (id == null) jednym batchUpdate z odczytem
+     * wygenerowanych kluczy, istniejący jednym batchUpdate UPDATE - zamiast osobnego wywołania na wiersz.
+     */
+    @Override
+    @Transactional
+    public List<Employee> saveAll(List<Employee> employees) {
+        List<Employee> toInsert = new ArrayList<>();
+        List<Employee> toUpdate = new ArrayList<>();
+        for (Employee employee : employees) {
+            (employee.getId() == null ? toInsert : toUpdate).add(employee);
         }
 
-        return employee;
+        try {
+            logger.debug("Batch saving {} new and {} existing employees", toInsert.size(), toUpdate.size());
+            List<Long> generatedIds = new ArrayList<>(toInsert.size());
+            for (int from = 0; from < toInsert.size(); from += BATCH_SIZE) {
+                generatedIds.addAll(insertBatch(toInsert.subList(from, Math.min(from + BATCH_SIZE, toInsert.size()))));
+            }
+            for (int from = 0; from < toUpdate.size(); from += BATCH_SIZE) {
+                updateBatch(toUpdate.subList(from, Math.min(from + BATCH_SIZE, toUpdate.size())));
+            }
+            // Id dopiero po sukcesie wszystkich paczek - po wycofaniu transakcji obiekty nie wskazują na nieistniejące wiersze
+            for (int i = 0; i < toInsert.size() && i < generatedIds.size(); i++) {
+                toInsert.get(i).setId(generatedIds.get(i));
+            }
+            return employees;
+        } catch (DuplicateKeyException e) {
+            String errorMsg = "Email already exists in batch of " + employees.size() + " employees";
+            logger.warn(errorMsg);
+            throw new DuplicateEmailException(errorMsg, e);
+        } catch (DataAccessException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Data integrity violation in batch save", e);
+            throw new DataAccessException("Database constraint violation", e);
+        } catch (Exception e) {
+            logger.error("Unexpected error while batch saving employees", e);
+            throw new DataAccessException("Failed to save employees in batch", e);
+        }
+    }
+
+    private List<Long> insertBatch(List<Employee> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setInsertParameters(ps, batch.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+
+        return keyHolder.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private void updateBatch(List<Employee> batch) {
+        int[] affectedRows = jdbcTemplate.batchUpdate(UPDATE_SQL,
+                batch.stream().map(JdbcEmployeeDAO::updateParameters).toList());
+        for (int i = 0; i < affectedRows.length; i++) {
+            if (affectedRows[i] == 0) {
+                throw new DataAccessException("No employee found with ID: " + batch.get(i).getId());
+            }
+        }
     }
 
     @Override
@@ -230,7 +368,7 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
     public List<Employee> findByCompany(String company) {
         try {
             logger.debug("Finding employees by company: {}", company);
-            String sql = "SELECT * FROM employees WHERE company = ?";
+            String sql = SELECT_EMPLOYEES + " WHERE company = ?";
             return jdbcTemplate.query(sql, employeeRowMapper, company);
         } catch (Exception e) {
             logger.error("Error finding employees by company: {}", company, e);
@@ -238,11 +376,63 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
         }
     }
 
+    /**
+     * Strumień wszystkich pracowników czytany kursorem (fetch size z app.jdbc.stream-fetch-size),
+     * bez budowania listy. Trzyma połączenie do zamknięcia - używać w try-with-resources.
+     */
+    @Override
+    public Stream<Employee> streamAll() {
+        try {
+            logger.debug("Streaming all employees with fetch size {}", streamFetchSize);
+            return jdbcTemplate.queryForStream(streamingStatement(SELECT_EMPLOYEES + " ORDER BY id"), employeeRowMapper);
+        } catch (Exception e) {
+            logger.error("Error streaming employees from database", e);
+            throw new DataAccessException("Failed to stream employees from database", e);
+        }
+    }
+
+    @Override
+    public Stream<Employee> streamByCompany(String company) {
+        try {
+            logger.debug("Streaming employees by company: {}", company);
+            return jdbcTemplate.queryForStream(
+                    streamingStatement(SELECT_EMPLOYEES + " WHERE company = ? ORDER BY id", company), employeeRowMapper);
+        } catch (Exception e) {
+            logger.error("Error streaming employees by company: {}", company, e);
+            throw new DataAccessException("Failed to stream employees for company: " + company, e);
+        }
+    }
+
+    /**
+     * Przekazuje kolejnych pracowników do {@code action} w trakcie czytania wyników (RowCallbackHandler);
+     * połączenie jest zwalniane po ostatnim wierszu.
+     */
+    @Override
+    public void forEachEmployee(Consumer<Employee> action) {
+        try {
+            logger.debug("Processing all employees with fetch size {}", streamFetchSize);
+            jdbcTemplate.query(streamingStatement(SELECT_EMPLOYEES + " ORDER BY id"),
+                    (RowCallbackHandler) rs -> action.accept(employeeRowMapper.mapRow(rs, rs.getRow())));
+        } catch (Exception e) {
+            logger.error("Error processing employees from database", e);
+            throw new DataAccessException("Failed to process employees from database", e);
+        }
+    }
+
+    private PreparedStatementCreator streamingStatement(String sql, Object... args) {
+        return connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        };
+    }
+
     @Override
     public List<Employee> findByDepartmentId(Long departmentId) {
         try {
             logger.debug("Finding employees by department ID: {}", departmentId);
-            String sql = "SELECT * FROM employees WHERE department_id = ?";
+            String sql = SELECT_EMPLOYEES + " WHERE department_id = ?";
             return jdbcTemplate.query(sql, employeeRowMapper, departmentId);
         } catch (Exception e) {
             logger.error("Error finding employees by department ID: {}", departmentId, e);
@@ -254,7 +444,7 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
     public List<Employee> findEmployeesWithoutDepartment() {
         try {
             logger.debug("Finding employees without department");
-            String sql = "SELECT * FROM employees WHERE department_id IS NULL";
+            String sql = SELECT_EMPLOYEES + " WHERE department_id IS NULL";
             return jdbcTemplate.query(sql, employeeRowMapper);
         } catch (Exception e) {
             logger.error("Error finding employees without department", e);
@@ -262,49 +452,42 @@ public class JdbcEmployeeDAO implements EmployeeDAO {
         }
     }
 
+    /**
+     * Statystyki wszystkich firm jednym zapytaniem zamiast GROUP BY i osobnego zapytania o najlepiej
+     * opłacanego pracownika dla każdej firmy. Gdy baza odrzuci zapytanie, DAO sprawdza funkcje okna
+     * minimalnym zapytaniem i tylko przy ich braku przechodzi na stałe na równoważne zapytanie z GROUP BY.
+     */
     @Override
     public List<CompanyStatistics> getCompanyStatistics() {
         try {
             logger.debug("Generating company statistics");
-            String sql = "SELECT company, " +
-                    "COUNT(*) as employee_count, " +
-                    "AVG(salary) as average_salary, " +
-                    "MAX(salary) as max_salary " +
-                    "FROM employees " +
-                    "GROUP BY company " +
-                    "ORDER BY company";
-
-            return jdbcTemplate.query(sql, (rs, rowNum) -> {
-                String companyName = rs.getString("company");
-                int employeeCount = rs.getInt("employee_count");
-                double averageSalary = rs.getDouble("average_salary");
-                double maxSalary = rs.getDouble("max_salary");
-
+            if (windowFunctionsSupported) {
                 try {
-                    String highestPaidEmployeeSql = "SELECT first_name, last_name FROM employees " +
-                            "WHERE company = ? AND salary = ? LIMIT 1";
-                    List<String> highestPaid = jdbcTemplate.query(highestPaidEmployeeSql,
-                            (rs2, rowNum2) -> rs2.getString("first_name") + " " + rs2.getString("last_name"),
-                            companyName, maxSalary);
-
-                    String highestPaidEmployeeName = highestPaid.isEmpty() ? "None" : highestPaid.get(0);
-
-                    CompanyStatistics stats = new CompanyStatistics(companyName, employeeCount, averageSalary, maxSalary);
-                    stats.setHighestPaidEmployee(highestPaidEmployeeName);
-                    return stats;
-                } catch (Exception e) {
-                    logger.warn("Error finding highest paid employee for company: {}", companyName, e);
-                    CompanyStatistics stats = new CompanyStatistics(companyName, employeeCount, averageSalary, maxSalary);
-                    stats.setHighestPaidEmployee("Unknown");
-                    return stats;
+                    return jdbcTemplate.query(WINDOW_STATISTICS_SQL, companyStatisticsRowMapper);
+                } catch (BadSqlGrammarException e) {
+                    if (windowFunctionsWork()) {
+                        throw e;
+                    }
+                    logger.warn("Window functions not supported, falling back to GROUP BY statistics query", e);
+                    windowFunctionsSupported = false;
                 }
-            });
+            }
+            return jdbcTemplate.query(GROUP_BY_STATISTICS_SQL, companyStatisticsRowMapper);
         } catch (Exception e) {
             logger.error("Error generating company statistics", e);
             throw new DataAccessException("Failed to generate company statistics", e);
         }
     }
 
+    private boolean windowFunctionsWork() {
+        try {
+            jdbcTemplate.execute(WINDOW_FUNCTION_PROBE_SQL);
+            return true;
+        } catch (BadSqlGrammarException e) {
+            return false;
+        }
+    }
+
     @Override
     public boolean existsByEmail(String email) {
         try {
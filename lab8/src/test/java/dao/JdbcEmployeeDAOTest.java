@@ -8,21 +8,40 @@ import com.techcorp.employee.model.EmploymentStatus;
 import com.techcorp.employee.model.CompanyStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @JdbcTest
 @Sql(scripts = "/schema.sql")
 class JdbcEmployeeDAOTest {
 
+    private static final Logger logger = LoggerFactory.getLogger(JdbcEmployeeDAOTest.class);
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -522,4 +541,218 @@ class JdbcEmployeeDAOTest {
         assertThat(found.getPhotoFileName()).isEqualTo("photo with spaces and (special) characters.jpg");
     }
 
+    @Test
+    void shouldSaveAllNewEmployeesAndAssignIds() {
+        List<Employee> employees = createBatch("batch", 3);
+
+        employeeDAO.saveAll(employees);
+
+        assertThat(employees).allSatisfy(employee -> assertThat(employee.getId()).isNotNull());
+        assertThat(employees).extracting(Employee::getId).doesNotHaveDuplicates();
+        assertThat(employeeDAO.findById(employees.get(1).getId()))
+                .get()
+                .extracting(Employee::getEmail)
+                .isEqualTo("batch1@techcorp.com");
+    }
+
+    @Test
+    void shouldSaveAllAcrossMultipleBatches() {
+        List<Employee> employees = createBatch("many", JdbcEmployeeDAO.BATCH_SIZE + 7);
+
+        employeeDAO.saveAll(employees);
+
+        assertThat(employeeDAO.findAll()).hasSize(JdbcEmployeeDAO.BATCH_SIZE + 7);
+        Employee last = employees.get(employees.size() - 1);
+        assertThat(employeeDAO.findById(last.getId())).get().extracting(Employee::getEmail).isEqualTo(last.getEmail());
+    }
+
+    @Test
+    void shouldUpdateExistingEmployeesInSaveAll() {
+        Employee existing = employeeDAO.save(createTestEmployee("jan@techcorp.com", "Jan Kowalski"));
+        existing.setSalary(6500.0);
+        existing.setDepartmentId(2L);
+        Employee added = createTestEmployee("anna@techcorp.com", "Anna Nowak");
+
+        employeeDAO.saveAll(List.of(existing, added));
+
+        assertThat(employeeDAO.findAll()).hasSize(2);
+        Employee updated = employeeDAO.findByEmail("jan@techcorp.com").get();
+        assertThat(updated.getSalary()).isEqualTo(6500.0);
+        assertThat(updated.getDepartmentId()).isEqualTo(2L);
+        assertThat(added.getId()).isNotNull();
+    }
+
+    @Test
+    void shouldThrowDuplicateEmailExceptionWhenBatchContainsExistingEmail() {
+        employeeDAO.save(createTestEmployee("jan@techcorp.com", "Jan Kowalski"));
+        List<Employee> employees = List.of(
+                createTestEmployee("anna@techcorp.com", "Anna Nowak"),
+                createTestEmployee("jan@techcorp.com", "Jan Nowak"));
+
+        assertThatThrownBy(() -> employeeDAO.saveAll(employees))
+                .isInstanceOf(DuplicateEmailException.class);
+    }
+
+    @Test
+    void shouldNotAssignIdsWhenLaterBatchHitsDuplicateEmail() {
+        List<Employee> employees = createBatch("dup", JdbcEmployeeDAO.BATCH_SIZE + 1);
+        employees.add(createTestEmployee("dup0@techcorp.com", "Duplicate Employee"));
+
+        assertThatThrownBy(() -> employeeDAO.saveAll(employees))
+                .isInstanceOf(DuplicateEmailException.class);
+
+        assertThat(employees).allSatisfy(employee -> assertThat(employee.getId()).isNull());
+    }
+
+    @Test
+    void shouldThrowDataAccessExceptionWhenUpdatingMissingEmployeeInSaveAll() {
+        Employee missing = createTestEmployee("missing@techcorp.com", "Missing Employee");
+        missing.setId(999L);
+
+        assertThatThrownBy(() -> employeeDAO.saveAll(List.of(missing)))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("No employee found with ID: 999");
+    }
+
+    @Test
+    void shouldHandleEmptyListInSaveAll() {
+        List<Employee> saved = employeeDAO.saveAll(List.of());
+
+        assertThat(saved).isEmpty();
+        assertThat(employeeDAO.findAll()).isEmpty();
+    }
+
+    @Test
+    void shouldStreamAllEmployeesInIdOrder() {
+        List<Employee> employees = employeeDAO.saveAll(createBatch("stream", 5));
+
+        try (Stream<Employee> stream = employeeDAO.streamAll()) {
+            assertThat(stream.map(Employee::getId).toList())
+                    .containsExactlyElementsOf(employees.stream().map(Employee::getId).toList());
+        }
+    }
+
+    @Test
+    void shouldStreamEmployeesByCompany() {
+        createTestEmployees();
+
+        try (Stream<Employee> stream = employeeDAO.streamByCompany("TechCorp")) {
+            assertThat(stream.map(Employee::getEmail).toList())
+                    .containsExactly("anna@techcorp.com", "jan@techcorp.com");
+        }
+    }
+
+    @Test
+    void shouldVisitEveryEmployeeInForEachEmployee() {
+        createTestEmployees();
+        List<String> visited = new ArrayList<>();
+
+        employeeDAO.forEachEmployee(employee -> visited.add(employee.getName()));
+
+        assertThat(visited).containsExactly("Anna Nowak", "Jan Kowalski", "Piotr Wiśniewski");
+    }
+
+    @Test
+    void shouldSaveSameRowsWithSaveAllAsWithSingleSaves() {
+        int rows = 2_000;
+
+        long start = System.nanoTime();
+        for (Employee employee : createBatch("single", rows)) {
+            employeeDAO.save(employee);
+        }
+        long singleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        employeeDAO.saveAll(createBatch("batch", rows));
+        long batchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        logger.info("{} rows: save() one by one {} ms, saveAll() {} ms", rows, singleMillis, batchMillis);
+        assertThat(employeeDAO.findByCompany("TechCorp")).hasSize(2 * rows);
+    }
+
+    @Test
+    void shouldReturnHighestPaidEmployeePerCompanyInStatistics() {
+        createTestEmployees();
+
+        List<CompanyStatistics> statistics = employeeDAO.getCompanyStatistics();
+
+        assertThat(statistics).extracting(CompanyStatistics::getCompanyName).containsExactly("OtherCorp", "TechCorp");
+        assertThat(statistics).extracting(CompanyStatistics::getHighestPaidEmployee)
+                .containsExactly("Piotr Wiśniewski", "Anna Nowak");
+        assertThat(statistics.get(1).getAverageSalary()).isEqualTo(6000.0);
+    }
+
+    @Test
+    void shouldPickFirstInsertedEmployeeWhenHighestSalaryIsTied() {
+        jdbcTemplate.update("INSERT INTO employees (first_name, last_name, email, salary, position, company, status) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                "Anna", "Nowak", "anna1@techcorp.com", 7000.0, "MANAGER", "TechCorp", "ACTIVE");
+        jdbcTemplate.update("INSERT INTO employees (first_name, last_name, email, salary, position, company, status) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                "Jan", "Kowalski", "anna2@techcorp.com", 7000.0, "MANAGER", "TechCorp", "ACTIVE");
+
+        List<CompanyStatistics> statistics = employeeDAO.getCompanyStatistics();
+
+        assertThat(statistics.get(0).getHighestPaidEmployee()).isEqualTo("Anna Nowak");
+    }
+
+    @Test
+    void shouldReturnSameStatisticsFromWindowAndGroupByQueries() {
+        createTestEmployees();
+        employeeDAO.saveAll(createBatch("stats", 20));
+        Employee tied = createTestEmployee("tied@othercorp.com", "Tied Employee");
+        tied.setCompany("OtherCorp");
+        tied.setSalary(4000.0);
+        employeeDAO.save(tied);
+
+        List<CompanyStatistics> window = employeeDAO.getCompanyStatistics();
+        ReflectionTestUtils.setField(employeeDAO, "windowFunctionsSupported", false);
+        List<CompanyStatistics> groupBy = employeeDAO.getCompanyStatistics();
+
+        assertThat(groupBy).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(window);
+    }
+
+    @Test
+    void shouldFallBackToGroupByQueryWhenWindowQueryIsRejected() {
+        JdbcTemplate failingWindowQuery = spy(jdbcTemplate);
+        doThrow(new BadSqlGrammarException("statistics", JdbcEmployeeDAO.WINDOW_STATISTICS_SQL, new SQLException()))
+                .when(failingWindowQuery).query(eq(JdbcEmployeeDAO.WINDOW_STATISTICS_SQL), ArgumentMatchers.<RowMapper<CompanyStatistics>>any());
+        doThrow(new BadSqlGrammarException("probe", JdbcEmployeeDAO.WINDOW_FUNCTION_PROBE_SQL, new SQLException()))
+                .when(failingWindowQuery).execute(JdbcEmployeeDAO.WINDOW_FUNCTION_PROBE_SQL);
+        JdbcEmployeeDAO dao = new JdbcEmployeeDAO(failingWindowQuery);
+        createTestEmployees();
+
+        List<CompanyStatistics> first = dao.getCompanyStatistics();
+        List<CompanyStatistics> second = dao.getCompanyStatistics();
+
+        assertThat(first).extracting(CompanyStatistics::getHighestPaidEmployee)
+                .containsExactly("Piotr Wiśniewski", "Anna Nowak");
+        assertThat(second).hasSize(2);
+        verify(failingWindowQuery, times(1)).query(eq(JdbcEmployeeDAO.WINDOW_STATISTICS_SQL), ArgumentMatchers.<RowMapper<CompanyStatistics>>any());
+        verify(failingWindowQuery, times(2)).query(eq(JdbcEmployeeDAO.GROUP_BY_STATISTICS_SQL), ArgumentMatchers.<RowMapper<CompanyStatistics>>any());
+    }
+
+    @Test
+    void shouldKeepWindowQueryWhenStatisticsFailForOtherGrammarReason() {
+        JdbcTemplate failingWindowQuery = spy(jdbcTemplate);
+        doThrow(new BadSqlGrammarException("statistics", JdbcEmployeeDAO.WINDOW_STATISTICS_SQL, new SQLException()))
+                .when(failingWindowQuery).query(eq(JdbcEmployeeDAO.WINDOW_STATISTICS_SQL), ArgumentMatchers.<RowMapper<CompanyStatistics>>any());
+        JdbcEmployeeDAO dao = new JdbcEmployeeDAO(failingWindowQuery);
+        createTestEmployees();
+
+        assertThatThrownBy(dao::getCompanyStatistics).isInstanceOf(DataAccessException.class);
+        assertThatThrownBy(dao::getCompanyStatistics).isInstanceOf(DataAccessException.class);
+
+        verify(failingWindowQuery, times(2)).query(eq(JdbcEmployeeDAO.WINDOW_STATISTICS_SQL), ArgumentMatchers.<RowMapper<CompanyStatistics>>any());
+        verify(failingWindowQuery, never()).query(eq(JdbcEmployeeDAO.GROUP_BY_STATISTICS_SQL), ArgumentMatchers.<RowMapper<CompanyStatistics>>any());
+    }
+
+    private List<Employee> createBatch(String prefix, int size) {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee employee = createTestEmployee(prefix + i + "@techcorp.com", "Employee " + prefix + i);
+            employee.setSalary(4000.0 + i);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
 }
\ No newline at end of file